@@ -0,0 +1,13 @@
+package com.skillmetrics.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // This enables processing of @Scheduled methods such as the
+    // nightly skill target sweep and the notification stream heartbeat.
+    // The scheduler pool is sized by spring.task.scheduling.pool.size; long
+    // cluster-wide jobs run on the pool owned by ScheduledJobs instead
+}
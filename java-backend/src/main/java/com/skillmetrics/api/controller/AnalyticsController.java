@@ -1,14 +1,26 @@
 package com.skillmetrics.api.controller;
 
+import com.skillmetrics.api.dto.SkillCubeResultDto;
 import com.skillmetrics.api.security.CurrentUser;
 import com.skillmetrics.api.security.UserPrincipal;
 import com.skillmetrics.api.service.AnalyticsService;
+import com.skillmetrics.api.service.ProjectAllocationStatsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -17,6 +29,7 @@ import java.util.Map;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final ProjectAllocationStatsService projectAllocationStatsService;
 
     /**
      * Get overview of system analytics
@@ -32,8 +45,9 @@ public class AnalyticsController {
      */
     @GetMapping("/skills/categories")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<Map<String, Object>> getSkillDistributionByCategory() {
-        return ResponseEntity.ok(analyticsService.getSkillDistributionByCategory());
+    public ResponseEntity<Map<String, Object>> getSkillDistributionByCategory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(analyticsService.getSkillDistributionByCategory(asOf));
     }
 
     /**
@@ -41,8 +55,9 @@ public class AnalyticsController {
      */
     @GetMapping("/skills/levels")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<Map<String, Object>> getSkillDistributionByLevel() {
-        return ResponseEntity.ok(analyticsService.getSkillDistributionByLevel());
+    public ResponseEntity<Map<String, Object>> getSkillDistributionByLevel(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(analyticsService.getSkillDistributionByLevel(asOf));
     }
 
     /**
@@ -52,8 +67,21 @@ public class AnalyticsController {
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<Map<String, Object>> getSkillGrowthOverTime(
             @RequestParam(required = false) LocalDate startDate,
-            @RequestParam(required = false) LocalDate endDate) {
-        return ResponseEntity.ok(analyticsService.getSkillGrowthOverTime(startDate, endDate));
+            @RequestParam(required = false) LocalDate endDate,
+            @RequestParam(defaultValue = "month") String granularity,
+            @RequestParam(required = false) String category) {
+        return ResponseEntity.ok(analyticsService.getSkillGrowthOverTime(startDate, endDate, granularity, category));
+    }
+
+    /**
+     * Recompute the skill growth rollup for a range of days
+     */
+    @PostMapping("/skills/growth/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> backfillSkillGrowth(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(analyticsService.backfillSkillGrowth(from, to));
     }
 
     /**
@@ -62,8 +90,9 @@ public class AnalyticsController {
     @GetMapping("/skills/top")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<Map<String, Object>> getTopSkills(
-            @RequestParam(defaultValue = "10") int limit) {
-        return ResponseEntity.ok(analyticsService.getTopSkills(limit));
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(analyticsService.getTopSkills(limit, asOf));
     }
 
     /**
@@ -71,8 +100,22 @@ public class AnalyticsController {
      */
     @GetMapping("/skills/gaps")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<Map<String, Object>> getSkillGapAnalysis() {
-        return ResponseEntity.ok(analyticsService.getSkillGapAnalysis());
+    public ResponseEntity<Map<String, Object>> getSkillGapAnalysis(
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(analyticsService.getSkillGapAnalysis(category, limit));
+    }
+
+    /**
+     * Drill into one skill: supply and demand, requiring projects and holders
+     */
+    @GetMapping("/skills/gaps/detail")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<Map<String, Object>> getSkillGapDetail(
+            @RequestParam String name,
+            @RequestParam String category,
+            @RequestParam(defaultValue = "50") int holderLimit) {
+        return ResponseEntity.ok(analyticsService.getSkillGapDetail(name, category, holderLimit));
     }
 
     /**
@@ -80,8 +123,30 @@ public class AnalyticsController {
      */
     @GetMapping("/projects/allocation")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<Map<String, Object>> getProjectAllocationStats() {
-        return ResponseEntity.ok(analyticsService.getProjectAllocationStats());
+    public ResponseEntity<Map<String, Object>> getProjectAllocationStats(
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(analyticsService.getProjectAllocationStats(status, page, size));
+    }
+
+    /**
+     * Export project resource allocation statistics as CSV
+     */
+    @GetMapping("/projects/allocation/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportProjectAllocationStats(
+            @RequestParam(required = false) String status) {
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            projectAllocationStatsService.exportCsv(status, writer);
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"project_allocation_"
+                        + LocalDate.now() + ".csv\"")
+                .contentType(MediaType.valueOf("text/csv"))
+                .body(body);
     }
 
     /**
@@ -103,6 +168,34 @@ public class AnalyticsController {
         return ResponseEntity.ok(analyticsService.getUserDevelopmentAnalytics(currentUser.getId()));
     }
 
+    /**
+     * Slice the skill cube by category, level, department and location
+     */
+    @GetMapping("/cube")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<SkillCubeResultDto> querySkillCube(
+            @RequestParam(required = false) List<String> groupBy,
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> level,
+            @RequestParam(required = false) List<String> department,
+            @RequestParam(required = false) List<String> location) {
+        Map<String, List<String>> filters = new HashMap<>();
+        filters.put("category", category);
+        filters.put("level", level);
+        filters.put("department", department);
+        filters.put("location", location);
+        return ResponseEntity.ok(analyticsService.querySkillCube(groupBy, filters));
+    }
+
+    /**
+     * Get the values present in each skill cube dimension
+     */
+    @GetMapping("/cube/dimensions")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<Map<String, List<String>>> getSkillCubeDimensions() {
+        return ResponseEntity.ok(analyticsService.getSkillCubeDimensions());
+    }
+
     /**
      * Get skill endorsement statistics
      */
@@ -1,6 +1,7 @@
 package com.skillmetrics.api.controller;
 
 import com.skillmetrics.api.dto.*;
+import com.skillmetrics.api.event.UserAccountChangedEvent;
 import com.skillmetrics.api.exception.ResourceNotFoundException;
 import com.skillmetrics.api.model.User;
 import com.skillmetrics.api.repository.UserRepository;
@@ -8,9 +9,11 @@ import com.skillmetrics.api.security.CurrentUser;
 import com.skillmetrics.api.security.JwtTokenProvider;
 import com.skillmetrics.api.security.UserPrincipal;
 import com.skillmetrics.api.service.EmailService;
+import com.skillmetrics.api.service.TokenRevocationService;
 import com.skillmetrics.api.service.TokenService;
 import com.skillmetrics.api.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -37,6 +40,8 @@ public class AuthController {
     private final JwtTokenProvider tokenProvider;
     private final TokenService tokenService;
     private final EmailService emailService;
+    private final TokenRevocationService tokenRevocationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PostMapping("/login")
     public ResponseEntity<JwtAuthenticationResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
@@ -135,6 +140,7 @@ public class AuthController {
         User user = tokenService.consumeToken(request.getToken(), "PASSWORD_RESET");
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId(), user.getUsername(), user.getEmail()));
         
         return ResponseEntity.ok(Map.of("message", "Password reset successful"));
     }
@@ -156,10 +162,29 @@ public class AuthController {
         // Update password
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId(), user.getUsername(), user.getEmail()));
         
         return ResponseEntity.ok(Map.of("message", "Password changed successfully"));
     }
 
+    @PostMapping("/logout")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Map<String, String>> logout(
+            @RequestHeader("Authorization") String authorization,
+            @RequestBody(required = false) Map<String, String> request,
+            @CurrentUser UserPrincipal currentUser) {
+        
+        Long userId = currentUser != null ? currentUser.getId() : null;
+        tokenRevocationService.revokeToken(authorization.replaceFirst("^Bearer ", ""), userId, "LOGOUT");
+        
+        // Revoke the refresh token too when the client hands it over
+        if (request != null && request.get("refreshToken") != null) {
+            tokenRevocationService.revokeToken(request.get("refreshToken"), userId, "LOGOUT");
+        }
+        
+        return ResponseEntity.ok(Map.of("message", "Logged out successfully"));
+    }
+
     @GetMapping("/me")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<UserDto> getCurrentUser(@CurrentUser UserPrincipal currentUser) {
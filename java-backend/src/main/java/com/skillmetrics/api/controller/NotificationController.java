@@ -7,13 +7,16 @@ import com.skillmetrics.api.repository.NotificationRepository;
 import com.skillmetrics.api.security.CurrentUser;
 import com.skillmetrics.api.security.UserPrincipal;
 import com.skillmetrics.api.service.NotificationService;
+import com.skillmetrics.api.service.NotificationStreamService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
@@ -28,6 +31,7 @@ public class NotificationController {
 
     private final NotificationRepository notificationRepository;
     private final NotificationService notificationService;
+    private final NotificationStreamService notificationStreamService;
 
     /**
      * Get all notifications for the current user with pagination
@@ -71,6 +75,21 @@ public class NotificationController {
         return ResponseEntity.ok(Map.of("unreadCount", count));
     }
 
+    /**
+     * Stream notification and unread-count events for the current user (Server-Sent Events).
+     * Reconnecting clients send Last-Event-ID to resume where they left off.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter streamNotifications(
+            @CurrentUser UserPrincipal currentUser,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        
+        long unreadCount = notificationService.countUnreadNotifications(currentUser.getId());
+        
+        return notificationStreamService.subscribe(currentUser.getId(), lastEventId, unreadCount);
+    }
+
     /**
      * Get notifications for a specific user (admin only)
      */
@@ -1,6 +1,9 @@
 package com.skillmetrics.api.controller;
 
+import com.skillmetrics.api.dto.BulkReviewRequest;
+import com.skillmetrics.api.dto.BulkReviewResultDto;
 import com.skillmetrics.api.dto.PendingSkillUpdateDto;
+import com.skillmetrics.api.dto.ReviewQueuePageDto;
 import com.skillmetrics.api.security.CurrentUser;
 import com.skillmetrics.api.security.UserPrincipal;
 import com.skillmetrics.api.service.PendingSkillUpdateService;
@@ -38,6 +41,25 @@ public class PendingSkillUpdateController {
         return ResponseEntity.ok(pendingSkillUpdateService.getPendingSkillUpdatesByStatus(status));
     }
 
+    /**
+     * Reviewer work queue with filters and cursor-based paging
+     */
+    @GetMapping("/queue")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<ReviewQueuePageDto> getReviewQueue(
+            @RequestParam(required = false, defaultValue = "PENDING") String status,
+            @RequestParam(required = false) Long reviewerId,
+            @RequestParam(required = false, defaultValue = "false") boolean unassigned,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Integer minAgeDays,
+            @RequestParam(required = false) Integer maxAgeDays,
+            @RequestParam(required = false, defaultValue = "false") boolean newestFirst,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false, defaultValue = "50") int size) {
+        return ResponseEntity.ok(pendingSkillUpdateService.getReviewQueue(status, reviewerId, unassigned,
+                category, minAgeDays, maxAgeDays, newestFirst, after, size));
+    }
+
     /**
      * Get pending skill updates by user ID
      */
@@ -170,6 +192,18 @@ public class PendingSkillUpdateController {
         return ResponseEntity.ok(pendingSkillUpdateService.rejectPendingSkillUpdate(id, comments, currentUser.getId()));
     }
 
+    /**
+     * Approve or reject several pending skill updates at once
+     */
+    @PostMapping("/bulk-review")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<BulkReviewResultDto> bulkReview(
+            @Valid @RequestBody BulkReviewRequest request,
+            @CurrentUser UserPrincipal currentUser) {
+        return ResponseEntity.ok(pendingSkillUpdateService.bulkReview(
+                request.getIds(), request.getAction(), request.getComments(), currentUser.getId()));
+    }
+
     /**
      * Delete a pending skill update
      */
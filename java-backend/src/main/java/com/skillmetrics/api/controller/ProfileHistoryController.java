@@ -1,5 +1,6 @@
 package com.skillmetrics.api.controller;
 
+import com.skillmetrics.api.dto.HistoryPageDto;
 import com.skillmetrics.api.dto.ProfileHistoryDto;
 import com.skillmetrics.api.exception.ResourceNotFoundException;
 import com.skillmetrics.api.model.ProfileHistory;
@@ -8,7 +9,9 @@ import com.skillmetrics.api.repository.ProfileHistoryRepository;
 import com.skillmetrics.api.repository.UserRepository;
 import com.skillmetrics.api.security.CurrentUser;
 import com.skillmetrics.api.security.UserPrincipal;
+import com.skillmetrics.api.service.ProfileHistoryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +27,7 @@ public class ProfileHistoryController {
 
     private final ProfileHistoryRepository profileHistoryRepository;
     private final UserRepository userRepository;
+    private final ProfileHistoryService profileHistoryService;
 
     /**
      * Get profile history for a specific user
@@ -101,6 +105,19 @@ public class ProfileHistoryController {
                 .collect(Collectors.toList()));
     }
 
+    /**
+     * History in {@code [from, to)}, newest first. Pass the returned cursor as {@code after} for the next page.
+     */
+    @GetMapping("/range")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<HistoryPageDto<ProfileHistoryDto>> getHistoryRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(profileHistoryService.getProfileHistoryPage(from, to, after, limit));
+    }
+
     /**
      * Get recent profile changes
      */
@@ -1,10 +1,13 @@
 package com.skillmetrics.api.controller;
 
 import com.skillmetrics.api.exception.BadRequestException;
+import com.skillmetrics.api.dto.SkillHeatmapDto;
 import com.skillmetrics.api.service.ReportService;
+import com.skillmetrics.api.service.SkillHeatmapService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @RestController
@@ -22,6 +26,7 @@ import java.util.Map;
 public class ReportController {
 
     private final ReportService reportService;
+    private final SkillHeatmapService skillHeatmapService;
 
     /**
      * Generate and return skill matrix report
@@ -31,9 +36,48 @@ public class ReportController {
     public ResponseEntity<Map<String, Object>> generateSkillMatrixReport(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String level,
-            @RequestParam(required = false) Long projectId) {
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        
+        return ResponseEntity.ok(reportService.generateSkillMatrixReport(category, level, projectId, asOf));
+    }
+
+    /**
+     * Skill matrix heatmap as compact JSON: one string of level-code digits per user
+     */
+    @GetMapping(value = "/skill-matrix/heatmap", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<SkillHeatmapDto> getSkillMatrixHeatmap(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(defaultValue = "0") int rowOffset,
+            @RequestParam(defaultValue = "500") int rowLimit,
+            @RequestParam(defaultValue = "0") int columnOffset,
+            @RequestParam(defaultValue = "500") int columnLimit) {
+        
+        SkillHeatmapService.Heatmap heatmap = skillHeatmapService.getHeatmap(
+                category, projectId, rowOffset, rowLimit, columnOffset, columnLimit);
+        return ResponseEntity.ok(skillHeatmapService.toDto(heatmap));
+    }
+
+    /**
+     * Skill matrix heatmap in the binary layout described on {@link SkillHeatmapService#toBinary}
+     */
+    @GetMapping(value = "/skill-matrix/heatmap", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<byte[]> getSkillMatrixHeatmapBinary(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(defaultValue = "0") int rowOffset,
+            @RequestParam(defaultValue = "500") int rowLimit,
+            @RequestParam(defaultValue = "0") int columnOffset,
+            @RequestParam(defaultValue = "500") int columnLimit) {
         
-        return ResponseEntity.ok(reportService.generateSkillMatrixReport(category, level, projectId));
+        SkillHeatmapService.Heatmap heatmap = skillHeatmapService.getHeatmap(
+                category, projectId, rowOffset, rowLimit, columnOffset, columnLimit);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(skillHeatmapService.toBinary(heatmap));
     }
 
     /**
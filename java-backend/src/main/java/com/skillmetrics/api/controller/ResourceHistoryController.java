@@ -1,12 +1,15 @@
 package com.skillmetrics.api.controller;
 
+import com.skillmetrics.api.dto.HistoryPageDto;
 import com.skillmetrics.api.dto.ResourceHistoryDto;
 import com.skillmetrics.api.service.ResourceHistoryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -50,4 +53,17 @@ public class ResourceHistoryController {
     public ResponseEntity<List<ResourceHistoryDto>> getAllHistory() {
         return ResponseEntity.ok(resourceHistoryService.getAllHistory());
     }
+    
+    /**
+     * History in {@code [from, to)}, newest first. Pass the returned cursor as {@code after} for the next page.
+     */
+    @GetMapping("/range")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<HistoryPageDto<ResourceHistoryDto>> getHistoryRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(resourceHistoryService.getHistoryPageByDateRange(from, to, after, limit));
+    }
 }
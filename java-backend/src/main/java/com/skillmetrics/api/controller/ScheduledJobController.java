@@ -0,0 +1,33 @@
+package com.skillmetrics.api.controller;
+
+import com.skillmetrics.api.model.ScheduledJobRun;
+import com.skillmetrics.api.service.ScheduledJobRunner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/scheduled-jobs")
+@RequiredArgsConstructor
+public class ScheduledJobController {
+
+    private final ScheduledJobRunner scheduledJobRunner;
+
+    /**
+     * Run history of cluster-wide scheduled jobs, most recent first
+     */
+    @GetMapping("/runs")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Page<ScheduledJobRun>> getRuns(
+            @RequestParam(required = false) String jobName,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(scheduledJobRunner.getRuns(jobName, PageRequest.of(page, Math.min(size, 200))));
+    }
+}
@@ -1,7 +1,11 @@
 package com.skillmetrics.api.controller;
 
 import com.skillmetrics.api.dto.*;
+import com.skillmetrics.api.service.AvailabilitySearchService;
+import com.skillmetrics.api.service.ProjectSkillGapService;
 import com.skillmetrics.api.service.SearchService;
+import com.skillmetrics.api.service.StaffingOptimizerService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,6 +20,9 @@ import java.util.Map;
 public class SearchController {
 
     private final SearchService searchService;
+    private final AvailabilitySearchService availabilitySearchService;
+    private final ProjectSkillGapService projectSkillGapService;
+    private final StaffingOptimizerService staffingOptimizerService;
 
     /**
      * Search for skills
@@ -87,6 +94,15 @@ public class SearchController {
         return ResponseEntity.ok(searchService.findProjectSkillGaps(projectId));
     }
 
+    /**
+     * Skill gap summaries of all active projects, for the portfolio dashboard
+     */
+    @GetMapping("/projects/skill-gaps")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<List<ProjectSkillGapDto>> getActiveProjectSkillGaps() {
+        return ResponseEntity.ok(projectSkillGapService.getActiveProjectGaps());
+    }
+
     /**
      * Find users with skills matching project requirements
      */
@@ -100,6 +116,30 @@ public class SearchController {
         return ResponseEntity.ok(searchService.findUsersMatchingProjectSkills(projectId, page, size));
     }
 
+    /**
+     * Find people with the given skills and enough free capacity in a date window,
+     * best matches first
+     */
+    @PostMapping("/availability")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<List<AvailabilityCandidateDto>> searchAvailability(
+            @Valid @RequestBody AvailabilitySearchRequest request) {
+        
+        return ResponseEntity.ok(availabilitySearchService.search(request));
+    }
+
+    /**
+     * Propose ranked teams of available people covering a project's open skill requirements
+     */
+    @PostMapping("/projects/{projectId}/staffing")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<StaffingPlanDto> proposeStaffing(
+            @PathVariable Long projectId,
+            @Valid @RequestBody(required = false) StaffingRequest request) {
+        
+        return ResponseEntity.ok(staffingOptimizerService.propose(projectId, request));
+    }
+
     /**
      * Search for all entities (skills, users, projects)
      */
@@ -1,9 +1,12 @@
 package com.skillmetrics.api.controller;
 
 import com.skillmetrics.api.dto.EndorsementDto;
+import com.skillmetrics.api.dto.SkillCanonicalMatchDto;
 import com.skillmetrics.api.dto.SkillDto;
+import com.skillmetrics.api.dto.SkillRecommendationDto;
 import com.skillmetrics.api.security.CurrentUser;
 import com.skillmetrics.api.security.UserPrincipal;
+import com.skillmetrics.api.service.SkillRecommendationService;
 import com.skillmetrics.api.service.SkillService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +23,7 @@ import java.util.List;
 public class SkillController {
 
     private final SkillService skillService;
+    private final SkillRecommendationService skillRecommendationService;
 
     @GetMapping
     public ResponseEntity<List<SkillDto>> getAllSkills() {
@@ -77,6 +81,42 @@ public class SkillController {
         return ResponseEntity.ok(skillService.getTopEndorsedSkills());
     }
     
+    @GetMapping("/template-suggestions")
+    public ResponseEntity<List<SkillCanonicalMatchDto>> suggestTemplates(
+            @RequestParam String name,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(skillService.suggestTemplates(name, category, limit));
+    }
+    
+    @GetMapping("/related")
+    public ResponseEntity<List<SkillRecommendationDto>> getRelatedSkills(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String metric) {
+        return ResponseEntity.ok(skillRecommendationService.getRelatedSkills(
+                name, limit, SkillRecommendationService.Metric.parse(metric)));
+    }
+    
+    @GetMapping("/recommendations/user/{userId}")
+    public ResponseEntity<List<SkillRecommendationDto>> getRecommendedSkills(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String metric) {
+        return ResponseEntity.ok(skillRecommendationService.recommendForUser(
+                userId, limit, SkillRecommendationService.Metric.parse(metric), List.of()));
+    }
+    
+    @GetMapping("/recommendations/me")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<SkillRecommendationDto>> getCurrentUserRecommendedSkills(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String metric,
+            @CurrentUser UserPrincipal currentUser) {
+        return ResponseEntity.ok(skillRecommendationService.recommendForUser(
+                currentUser.getId(), limit, SkillRecommendationService.Metric.parse(metric), List.of()));
+    }
+    
     @PostMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<SkillDto> createSkill(
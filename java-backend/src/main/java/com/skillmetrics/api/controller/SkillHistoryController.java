@@ -1,5 +1,6 @@
 package com.skillmetrics.api.controller;
 
+import com.skillmetrics.api.dto.HistoryPageDto;
 import com.skillmetrics.api.dto.SkillHistoryDto;
 import com.skillmetrics.api.exception.ResourceNotFoundException;
 import com.skillmetrics.api.model.SkillHistory;
@@ -7,7 +8,9 @@ import com.skillmetrics.api.repository.SkillHistoryRepository;
 import com.skillmetrics.api.repository.SkillRepository;
 import com.skillmetrics.api.security.CurrentUser;
 import com.skillmetrics.api.security.UserPrincipal;
+import com.skillmetrics.api.service.SkillHistoryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -23,6 +26,7 @@ public class SkillHistoryController {
 
     private final SkillHistoryRepository skillHistoryRepository;
     private final SkillRepository skillRepository;
+    private final SkillHistoryService skillHistoryService;
 
     /**
      * Get history for a specific skill
@@ -106,6 +110,19 @@ public class SkillHistoryController {
         return ResponseEntity.ok(history.stream().map(this::convertToDto).collect(Collectors.toList()));
     }
 
+    /**
+     * History in {@code [from, to)}, newest first. Pass the returned cursor as {@code after} for the next page.
+     */
+    @GetMapping("/range")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<HistoryPageDto<SkillHistoryDto>> getHistoryRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(skillHistoryService.getHistoryPage(from, to, after, limit));
+    }
+
     /**
      * Get recent history entries
      */
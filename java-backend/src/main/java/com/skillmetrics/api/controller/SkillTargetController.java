@@ -1,5 +1,6 @@
 package com.skillmetrics.api.controller;
 
+import com.skillmetrics.api.dto.SkillRecommendationDto;
 import com.skillmetrics.api.dto.SkillTargetDto;
 import com.skillmetrics.api.security.CurrentUser;
 import com.skillmetrics.api.security.UserPrincipal;
@@ -78,6 +79,26 @@ public class SkillTargetController {
         return ResponseEntity.ok(skillTargetService.getSkillTargetsByUserIdAndStatus(currentUser.getId(), status));
     }
 
+    /**
+     * Suggest skills to target next for a user
+     */
+    @GetMapping("/user/{userId}/suggestions")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER') or #userId == authentication.principal.id")
+    public ResponseEntity<List<SkillRecommendationDto>> getSuggestedTargets(
+            @PathVariable Long userId, @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(skillTargetService.getSuggestedTargets(userId, limit));
+    }
+
+    /**
+     * Suggest skills to target next for the current user
+     */
+    @GetMapping("/me/suggestions")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<SkillRecommendationDto>> getCurrentUserSuggestedTargets(
+            @RequestParam(defaultValue = "10") int limit, @CurrentUser UserPrincipal currentUser) {
+        return ResponseEntity.ok(skillTargetService.getSuggestedTargets(currentUser.getId(), limit));
+    }
+
     /**
      * Get a skill target by ID
      */
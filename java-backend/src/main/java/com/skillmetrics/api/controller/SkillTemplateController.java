@@ -1,16 +1,23 @@
 package com.skillmetrics.api.controller;
 
 import com.skillmetrics.api.dto.SkillTemplateDto;
+import com.skillmetrics.api.event.SkillTemplateChangedEvent;
 import com.skillmetrics.api.exception.BadRequestException;
 import com.skillmetrics.api.exception.ResourceNotFoundException;
 import com.skillmetrics.api.model.SkillTemplate;
 import com.skillmetrics.api.model.User;
-import com.skillmetrics.api.repository.SkillRepository;
 import com.skillmetrics.api.repository.SkillTemplateRepository;
 import com.skillmetrics.api.repository.UserRepository;
 import com.skillmetrics.api.security.CurrentUser;
 import com.skillmetrics.api.security.UserPrincipal;
+import com.skillmetrics.api.service.SkillCanonicalizationService;
+import com.skillmetrics.api.service.SkillTemplateStatisticsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -19,9 +26,12 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import javax.validation.Valid;
 import java.net.URI;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
@@ -29,9 +39,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SkillTemplateController {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private static final List<String> CATALOG_SORTS = List.of("name", "category", "createdAt", "usage");
+
     private final SkillTemplateRepository skillTemplateRepository;
-    private final SkillRepository skillRepository;
     private final UserRepository userRepository;
+    private final SkillCanonicalizationService skillCanonicalizationService;
+    private final SkillTemplateStatisticsService skillTemplateStatisticsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get all skill templates
@@ -55,9 +71,63 @@ public class SkillTemplateController {
             templates = skillTemplateRepository.findAll();
         }
         
-        return ResponseEntity.ok(templates.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList()));
+        return ResponseEntity.ok(convertToDtos(templates));
+    }
+
+    /**
+     * One page of templates with their usage statistics, for the admin catalog.
+     * Sorts by name, category, createdAt or usage (most used first).
+     */
+    @GetMapping("/with-statistics")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'HR')")
+    public ResponseEntity<Page<SkillTemplateDto>> getTemplatesWithStatistics(
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page must be non-negative and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!CATALOG_SORTS.contains(sort)) {
+            throw new BadRequestException("Sort must be one of " + CATALOG_SORTS);
+        }
+        
+        if (!"usage".equals(sort)) {
+            PageRequest pageable = PageRequest.of(page, size, Sort.by(sort, "id"));
+            Page<SkillTemplate> templates;
+            if (active != null && active) {
+                templates = skillTemplateRepository.findByIsActiveTrue(pageable);
+            } else if (category != null && !category.isEmpty()) {
+                templates = skillTemplateRepository.findByCategory(category, pageable);
+            } else {
+                templates = skillTemplateRepository.findAll(pageable);
+            }
+            return ResponseEntity.ok(new PageImpl<>(convertToDtos(templates.getContent()), pageable,
+                    templates.getTotalElements()));
+        }
+        
+        // Usage lives in the statistics cache, so order the (small) template catalog in memory
+        List<SkillTemplate> templates;
+        if (active != null && active) {
+            templates = skillTemplateRepository.findByIsActiveTrue();
+        } else if (category != null && !category.isEmpty()) {
+            templates = skillTemplateRepository.findByCategory(category);
+        } else {
+            templates = skillTemplateRepository.findAll();
+        }
+        Map<Long, SkillTemplateStatisticsService.TemplateStats> stats = skillTemplateStatisticsService.getAllStats();
+        List<SkillTemplate> sorted = templates.stream()
+                .sorted(Comparator.comparingLong((SkillTemplate t) -> stats.getOrDefault(t.getId(),
+                                SkillTemplateStatisticsService.TemplateStats.EMPTY).usageCount()).reversed()
+                        .thenComparing(SkillTemplate::getName)
+                        .thenComparing(SkillTemplate::getId))
+                .collect(Collectors.toList());
+        
+        int from = (int) Math.min((long) page * size, sorted.size());
+        List<SkillTemplate> content = sorted.subList(from, Math.min(from + size, sorted.size()));
+        return ResponseEntity.ok(new PageImpl<>(convertToDtos(content), PageRequest.of(page, size), sorted.size()));
     }
 
     /**
@@ -91,6 +161,7 @@ public class SkillTemplateController {
         template.setName(templateDto.getName());
         template.setCategory(templateDto.getCategory());
         template.setDescription(templateDto.getDescription());
+        template.setAliases(templateDto.getAliases());
         template.setDefaultLevel(templateDto.getDefaultLevel());
         template.setCreationSource(templateDto.getCreationSource());
         template.setIsActive(templateDto.getIsActive() != null ? templateDto.getIsActive() : true);
@@ -101,6 +172,7 @@ public class SkillTemplateController {
         template.setCreatedAt(LocalDateTime.now());
         
         SkillTemplate savedTemplate = skillTemplateRepository.save(template);
+        eventPublisher.publishEvent(new SkillTemplateChangedEvent(savedTemplate.getId()));
         
         URI location = ServletUriComponentsBuilder
                 .fromCurrentRequest()
@@ -135,6 +207,7 @@ public class SkillTemplateController {
         template.setName(templateDto.getName());
         template.setCategory(templateDto.getCategory());
         template.setDescription(templateDto.getDescription());
+        template.setAliases(templateDto.getAliases());
         template.setDefaultLevel(templateDto.getDefaultLevel());
         template.setIsActive(templateDto.getIsActive());
         template.setIsCertificationRequired(templateDto.getIsCertificationRequired());
@@ -142,6 +215,7 @@ public class SkillTemplateController {
         template.setUpdatedAt(LocalDateTime.now());
         
         SkillTemplate updatedTemplate = skillTemplateRepository.save(template);
+        eventPublisher.publishEvent(new SkillTemplateChangedEvent(id));
         
         return ResponseEntity.ok(convertToDto(updatedTemplate));
     }
@@ -159,6 +233,7 @@ public class SkillTemplateController {
         template.setIsActive(false);
         template.setUpdatedAt(LocalDateTime.now());
         skillTemplateRepository.save(template);
+        eventPublisher.publishEvent(new SkillTemplateChangedEvent(id));
         
         return ResponseEntity.ok().build();
     }
@@ -180,9 +255,7 @@ public class SkillTemplateController {
     public ResponseEntity<List<SkillTemplateDto>> searchTemplates(@RequestParam String query) {
         List<SkillTemplate> templates = skillTemplateRepository.searchTemplates(query);
         
-        return ResponseEntity.ok(templates.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList()));
+        return ResponseEntity.ok(convertToDtos(templates));
     }
 
     /**
@@ -193,9 +266,7 @@ public class SkillTemplateController {
     public ResponseEntity<List<SkillTemplateDto>> getTemplatesRequiringCertification() {
         List<SkillTemplate> templates = skillTemplateRepository.findByIsCertificationRequiredTrue();
         
-        return ResponseEntity.ok(templates.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList()));
+        return ResponseEntity.ok(convertToDtos(templates));
     }
 
     /**
@@ -204,75 +275,69 @@ public class SkillTemplateController {
     @GetMapping("/{id}/statistics")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'HR')")
     public ResponseEntity<Map<String, Object>> getTemplateStatistics(@PathVariable Long id) {
-        SkillTemplate template = skillTemplateRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Skill template not found with id: " + id));
+        if (!skillTemplateRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Skill template not found with id: " + id);
+        }
         
+        SkillTemplateStatisticsService.TemplateStats stats = skillTemplateStatisticsService.getStats(id);
         Map<String, Object> statistics = new HashMap<>();
-        
-        // Count skills using this template (matching name and category)
-        long skillCount = skillRepository.countByNameAndCategory(template.getName(), template.getCategory());
-        statistics.put("usageCount", skillCount);
-        
-        // Count how many of those skills have certifications
-        long certifiedCount = skillRepository.countByNameAndCategoryAndCertificationIsNotNull(
-                template.getName(), template.getCategory());
-        statistics.put("certifiedCount", certifiedCount);
-        
-        // Calculate certification rate
-        double certificationRate = skillCount > 0 ? (double) certifiedCount / skillCount * 100 : 0;
-        statistics.put("certificationRate", certificationRate);
-        
-        // Get distribution by level
-        Map<String, Long> levelDistribution = skillRepository.findByNameAndCategory(
-                template.getName(), template.getCategory())
-                .stream()
-                .collect(Collectors.groupingBy(s -> s.getLevel(), Collectors.counting()));
-        statistics.put("levelDistribution", levelDistribution);
+        statistics.put("usageCount", stats.usageCount());
+        statistics.put("certifiedCount", stats.certifiedCount());
+        statistics.put("certificationRate", stats.certificationRate());
+        statistics.put("levelDistribution", stats.levelDistribution());
         
         return ResponseEntity.ok(statistics);
     }
 
+    /**
+     * Link skills without a template to their canonical template by name
+     */
+    @PostMapping("/canonicalization/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> backfillSkillTemplates() {
+        return ResponseEntity.ok(skillCanonicalizationService.backfill());
+    }
+
     /**
      * Get system-level statistics for all templates
      */
     @GetMapping("/statistics")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'HR')")
     public ResponseEntity<Map<String, Object>> getOverallStatistics() {
-        Map<String, Object> statistics = new HashMap<>();
-        
-        // Count total templates
-        long totalTemplates = skillTemplateRepository.count();
-        statistics.put("totalTemplates", totalTemplates);
-        
-        // Count active templates
-        long activeTemplates = skillTemplateRepository.findByIsActiveTrue().size();
-        statistics.put("activeTemplates", activeTemplates);
-        
-        // Count by category
-        Map<String, Long> templatesByCategory = skillTemplateRepository.findAll().stream()
-                .collect(Collectors.groupingBy(SkillTemplate::getCategory, Collectors.counting()));
-        statistics.put("templatesByCategory", templatesByCategory);
-        
-        // Count by creation source
-        Map<String, Long> templatesBySource = skillTemplateRepository.findAll().stream()
-                .collect(Collectors.groupingBy(t -> t.getCreationSource() != null ? 
-                        t.getCreationSource() : "UNKNOWN", Collectors.counting()));
-        statistics.put("templatesBySource", templatesBySource);
-        
-        // Count requiring certification
-        long requiresCertification = skillTemplateRepository.findByIsCertificationRequiredTrue().size();
-        statistics.put("requiresCertification", requiresCertification);
-        
-        return ResponseEntity.ok(statistics);
+        return ResponseEntity.ok(skillTemplateStatisticsService.getOverallStatistics());
     }
 
-    // Helper method to convert entity to DTO
+    // Helper methods to convert entities to DTOs
+    
+    private List<SkillTemplateDto> convertToDtos(List<SkillTemplate> templates) {
+        Map<Long, User> creators = userRepository.findAllById(templates.stream()
+                        .map(SkillTemplate::getCreatedBy)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        
+        return templates.stream()
+                .map(template -> convertToDto(template,
+                        template.getCreatedBy() != null ? creators.get(template.getCreatedBy()) : null))
+                .collect(Collectors.toList());
+    }
+    
     private SkillTemplateDto convertToDto(SkillTemplate template) {
+        User creator = template.getCreatedBy() != null
+                ? userRepository.findById(template.getCreatedBy()).orElse(null)
+                : null;
+        return convertToDto(template, creator);
+    }
+    
+    private SkillTemplateDto convertToDto(SkillTemplate template, User creator) {
         SkillTemplateDto dto = new SkillTemplateDto();
         dto.setId(template.getId());
         dto.setName(template.getName());
         dto.setCategory(template.getCategory());
         dto.setDescription(template.getDescription());
+        dto.setAliases(template.getAliases());
         dto.setDefaultLevel(template.getDefaultLevel());
         dto.setCreationSource(template.getCreationSource());
         dto.setIsActive(template.getIsActive());
@@ -282,25 +347,17 @@ public class SkillTemplateController {
         dto.setCreatedAt(template.getCreatedAt());
         dto.setUpdatedAt(template.getUpdatedAt());
         
-        // Add creator name if available
-        if (template.getCreatedBy() != null) {
-            userRepository.findById(template.getCreatedBy()).ifPresent(user -> {
-                dto.setCreatedByName(user.getFirstName() + " " + user.getLastName());
-            });
+        if (creator != null) {
+            dto.setCreatedByName(creator.getFirstName() + " " + creator.getLastName());
         }
         
-        // Add usage statistics
-        long skillCount = skillRepository.countByNameAndCategory(template.getName(), template.getCategory());
-        dto.setUsageCount((int) skillCount);
-        
-        if (skillCount > 0) {
-            long certifiedCount = skillRepository.countByNameAndCategoryAndCertificationIsNotNull(
-                    template.getName(), template.getCategory());
-            dto.setCertificationRate(skillCount > 0 ? (double) certifiedCount / skillCount * 100 : 0);
-        } else {
-            dto.setCertificationRate(0.0);
-        }
+        // Usage statistics come from the shared statistics cache
+        SkillTemplateStatisticsService.TemplateStats stats = skillTemplateStatisticsService.getStats(template.getId());
+        dto.setUsageCount((int) stats.usageCount());
+        dto.setCertifiedCount(stats.certifiedCount());
+        dto.setCertificationRate(stats.certificationRate());
+        dto.setLevelDistribution(stats.levelDistribution());
         
         return dto;
     }
-}
\ No newline at end of file
+}
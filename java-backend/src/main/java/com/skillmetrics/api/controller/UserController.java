@@ -1,6 +1,9 @@
 package com.skillmetrics.api.controller;
 
 import com.skillmetrics.api.dto.UserDto;
+import com.skillmetrics.api.security.CurrentUser;
+import com.skillmetrics.api.security.UserPrincipal;
+import com.skillmetrics.api.service.TokenRevocationService;
 import com.skillmetrics.api.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +20,7 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
+    private final TokenRevocationService tokenRevocationService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
@@ -76,6 +80,16 @@ public class UserController {
         return ResponseEntity.ok(userService.updatePassword(id, currentPassword, newPassword));
     }
     
+    @PostMapping("/{id}/force-logout")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, String>> forceLogout(
+            @PathVariable Long id,
+            @CurrentUser UserPrincipal currentUser) {
+        
+        tokenRevocationService.revokeAllForUser(id, currentUser != null ? currentUser.getId() : null, "ADMIN");
+        return ResponseEntity.ok(Map.of("message", "User has been signed out of all sessions"));
+    }
+    
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
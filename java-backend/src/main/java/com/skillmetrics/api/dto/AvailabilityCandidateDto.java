@@ -0,0 +1,47 @@
+package com.skillmetrics.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityCandidateDto {
+
+    private Long userId;
+
+    private String name;
+
+    private String email;
+
+    private String jobTitle;
+
+    private Map<String, String> skillLevels; // requested skill name -> best level held
+
+    private double coverage; // share of the window with the requested free capacity
+
+    private double averageFreeCapacity;
+
+    private int minFreeCapacity;
+
+    private List<FreeWindow> freeWindows;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FreeWindow {
+
+        private LocalDate startDate;
+
+        private LocalDate endDate;
+
+        private int freeCapacity; // lowest free capacity within the window
+    }
+}
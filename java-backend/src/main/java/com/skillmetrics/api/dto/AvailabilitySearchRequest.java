@@ -0,0 +1,63 @@
+package com.skillmetrics.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilitySearchRequest {
+
+    @Valid
+    @NotEmpty(message = "At least one skill requirement is required")
+    @Size(max = 10, message = "At most 10 skill requirements are supported")
+    private List<SkillRequirement> skills;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @Builder.Default
+    @Min(value = 1, message = "Free capacity must be between 1 and 100")
+    @Max(value = 100, message = "Free capacity must be between 1 and 100")
+    private Integer minFreeCapacity = 50;
+
+    // Share of the window in which the free capacity must be available; 1.0 means throughout
+    @Builder.Default
+    @DecimalMin(value = "0.0", inclusive = false, message = "Coverage must be greater than 0")
+    @DecimalMax(value = "1.0", message = "Coverage must be at most 1")
+    private Double minCoverage = 1.0;
+
+    @Builder.Default
+    @Min(value = 1, message = "Limit must be between 1 and 200")
+    @Max(value = 200, message = "Limit must be between 1 and 200")
+    private Integer limit = 20;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SkillRequirement {
+
+        @NotBlank(message = "Skill name is required")
+        private String name;
+
+        private String minLevel; // BEGINNER, INTERMEDIATE, ADVANCED or EXPERT; any level if omitted
+    }
+}
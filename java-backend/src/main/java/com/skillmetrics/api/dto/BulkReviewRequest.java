@@ -0,0 +1,29 @@
+package com.skillmetrics.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReviewRequest {
+
+    @NotEmpty(message = "At least one update id is required")
+    @Size(max = 1000, message = "At most 1000 updates can be reviewed at once")
+    private List<Long> ids;
+
+    @NotNull(message = "Action is required")
+    @Pattern(regexp = "APPROVE|REJECT", message = "Action must be APPROVE or REJECT")
+    private String action;
+
+    private String comments;
+}
@@ -0,0 +1,26 @@
+package com.skillmetrics.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReviewResultDto {
+
+    private String action;
+
+    private int processed;
+
+    private List<Long> processedIds;
+
+    private Map<Long, String> skipped; // update id -> reason it was not processed
+
+    private int notifiedUsers;
+}
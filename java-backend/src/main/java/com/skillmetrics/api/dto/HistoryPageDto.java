@@ -0,0 +1,21 @@
+package com.skillmetrics.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoryPageDto<T> {
+
+    private List<T> items;
+
+    private String nextCursor; // pass as 'after' to fetch the next page; null on the last page
+
+    private boolean hasMore;
+}
@@ -0,0 +1,57 @@
+package com.skillmetrics.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectSkillGapDto {
+
+    private Long projectId;
+
+    private String projectName;
+
+    private String status;
+
+    private int memberCount;
+
+    private int requiredSkillCount;
+
+    private int coveredSkillCount;
+
+    private double coveragePercentage;
+
+    private List<SkillRequirementStatus> requiredSkills;
+
+    private List<SkillRequirementStatus> gaps; // requirements no member meets
+
+    private Map<String, Long> requiredByCategory;
+
+    private Map<String, Long> availableByCategory; // skills held by members, per category
+
+    private LocalDateTime computedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SkillRequirementStatus {
+
+        private String skillName;
+
+        private String category;
+
+        private String requiredLevel;
+
+        private String currentLevel; // best level held by a member, null if nobody has the skill
+
+        private String gapType; // COVERED, UPGRADE_NEEDED or MISSING
+    }
+}
@@ -0,0 +1,25 @@
+package com.skillmetrics.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewQueuePageDto {
+
+    private List<PendingSkillUpdateDto> items;
+
+    private String nextCursor; // pass as 'after' to fetch the next page; null on the last page
+
+    private boolean hasMore;
+
+    private Long totalCount; // only computed for the first page
+
+    private boolean totalIsApproximate; // true when the count stopped at the cap
+}
@@ -0,0 +1,25 @@
+package com.skillmetrics.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillCanonicalMatchDto {
+
+    private Long templateId;
+
+    private String templateName;
+
+    private String category;
+
+    private String matchedName; // the template name or alias that matched
+
+    private double similarity; // 1.0 for an exact match after normalization
+
+    private boolean autoLinked; // similar enough to be linked without asking
+}
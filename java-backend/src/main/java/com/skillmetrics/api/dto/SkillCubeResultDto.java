@@ -0,0 +1,37 @@
+package com.skillmetrics.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillCubeResultDto {
+
+    private List<String> groupBy; // dimensions kept; all others are rolled up
+
+    private Map<String, List<String>> filters;
+
+    private List<Cell> cells; // largest count first
+
+    private long total;
+
+    private LocalDateTime builtAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Cell {
+
+        private Map<String, String> coordinates; // dimension -> value, for the grouped dimensions
+
+        private long count;
+    }
+}
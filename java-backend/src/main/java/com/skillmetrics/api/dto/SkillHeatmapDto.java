@@ -0,0 +1,35 @@
+package com.skillmetrics.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillHeatmapDto {
+
+    private int totalRows; // users in the whole matrix
+
+    private int totalColumns; // skills in the whole matrix
+
+    private int rowOffset;
+
+    private int columnOffset;
+
+    private List<String> levels; // level code 1..n -> level name; 0 means the skill is not held
+
+    private List<Long> userIds; // row axis
+
+    private List<String> userNames;
+
+    private List<String> skillNames; // column axis
+
+    private List<String> skillCategories;
+
+    private List<String> rows; // one string per user, one level code digit per skill
+}
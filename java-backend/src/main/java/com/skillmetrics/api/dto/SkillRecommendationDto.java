@@ -0,0 +1,27 @@
+package com.skillmetrics.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillRecommendationDto {
+
+    private String name;
+
+    private String category;
+
+    private double score; // jaccard, lift or confidence; summed over the held skills for user recommendations
+
+    private int holders; // users holding the recommended skill
+
+    private int coOccurrences; // users holding both it and the source skill(s)
+
+    private List<String> basedOn; // held skills contributing most to a user recommendation
+}
@@ -0,0 +1,31 @@
+package com.skillmetrics.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillSupplyDemandDto {
+
+    private String name;
+
+    private String category;
+
+    private long requiredCount; // project skill requirements
+
+    private long projectCount;
+
+    private long availableCount; // skill entries held by employees
+
+    private long holderCount;
+
+    private long gap; // available minus required; negative is a deficit
+
+    private Map<String, Long> availableByLevel;
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -23,6 +24,8 @@ public class SkillTemplateDto {
     
     private String description;
     
+    private String aliases; // comma-separated
+    
     private String defaultLevel;
     
     private String creationSource;
@@ -43,5 +46,7 @@ public class SkillTemplateDto {
     
     // Statistics fields - not stored in database but used for API responses
     private Integer usageCount;
+    private Long certifiedCount;
     private Double certificationRate;
+    private Map<String, Long> levelDistribution;
 }
\ No newline at end of file
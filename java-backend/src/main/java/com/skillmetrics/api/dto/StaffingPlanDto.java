@@ -0,0 +1,79 @@
+package com.skillmetrics.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffingPlanDto {
+
+    private Long projectId;
+
+    private String projectName;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private int allocation; // capacity each proposed person takes on
+
+    private int requiredSkillCount;
+
+    private List<String> coveredByCurrentTeam;
+
+    private List<String> uncoverable; // requirements no available person meets
+
+    private int candidatePoolSize; // available people meeting at least one open requirement
+
+    private boolean searchComplete; // false if the time budget ran out before every start was tried
+
+    private long elapsedMs;
+
+    private List<Proposal> proposals; // best first
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Proposal {
+
+        private int rank;
+
+        private int teamSize;
+
+        private double coverage; // share of required skills met, current team included
+
+        private List<String> uncoveredSkills;
+
+        private int addedAllocation; // total capacity taken from the proposed people
+
+        private double averageProjectedPeak; // mean peak allocation of the proposed people once staffed
+
+        private List<Member> members;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Member {
+
+        private Long userId;
+
+        private String name;
+
+        private String jobTitle;
+
+        private int currentPeakAllocation;
+
+        private int projectedPeakAllocation;
+
+        private Map<String, String> contributedSkills; // open requirement -> level held
+    }
+}
@@ -0,0 +1,45 @@
+package com.skillmetrics.api.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffingRequest {
+
+    private LocalDate startDate; // defaults to the later of today and the project start
+
+    private LocalDate endDate; // defaults to the project end, or 90 days after the start
+
+    // Capacity each proposed person must have free throughout the window
+    @Builder.Default
+    @Min(value = 1, message = "Allocation must be between 1 and 100")
+    @Max(value = 100, message = "Allocation must be between 1 and 100")
+    private Integer allocation = 50;
+
+    @Builder.Default
+    @Min(value = 1, message = "Team size must be between 1 and 50")
+    @Max(value = 50, message = "Team size must be between 1 and 50")
+    private Integer maxTeamSize = 10;
+
+    @Builder.Default
+    @Min(value = 1, message = "Proposals must be between 1 and 10")
+    @Max(value = 10, message = "Proposals must be between 1 and 10")
+    private Integer proposals = 3;
+
+    // Requirements current members already meet need no new people
+    @Builder.Default
+    private Boolean includeCurrentTeam = true;
+
+    @Min(value = 10, message = "Time budget must be between 10 and 2000 ms")
+    @Max(value = 2000, message = "Time budget must be between 10 and 2000 ms")
+    private Integer timeBudgetMs; // app.staffing.time-budget-ms if omitted
+}
@@ -45,6 +45,8 @@ public class UserDto {
     
     private String profileImageUrl;
     
+    private Boolean immediateNotificationEmails;
+    
     private List<SkillDto> skills;
     
     private LocalDateTime createdAt;
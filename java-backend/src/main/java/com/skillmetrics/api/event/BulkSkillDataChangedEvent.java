@@ -0,0 +1,15 @@
+package com.skillmetrics.api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published after a bulk write to skills or project skill requirements (imports,
+ * migrations, bulk reviews), so that aggregates over them can be refreshed once.
+ */
+@Getter
+@AllArgsConstructor
+public class BulkSkillDataChangedEvent {
+
+    private final String source;
+}
@@ -0,0 +1,16 @@
+package com.skillmetrics.api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when an endorsement is created, changed or deleted. Carries the owner of
+ * the endorsed skill, whose profile statistics are affected.
+ */
+@Getter
+@AllArgsConstructor
+public class EndorsementChangedEvent {
+
+    private final Long endorsementId;
+    private final Long skillOwnerId;
+}
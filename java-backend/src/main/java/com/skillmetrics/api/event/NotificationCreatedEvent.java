@@ -0,0 +1,16 @@
+package com.skillmetrics.api.event;
+
+import com.skillmetrics.api.dto.NotificationDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a notification has been persisted for a user.
+ * Listeners that push to clients should react after the transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class NotificationCreatedEvent {
+
+    private final NotificationDto notification;
+}
@@ -0,0 +1,15 @@
+package com.skillmetrics.api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when one or all of a user's notifications have been marked as read,
+ * so that live clients can refresh their unread count.
+ */
+@Getter
+@AllArgsConstructor
+public class NotificationsReadEvent {
+
+    private final Long userId;
+}
@@ -0,0 +1,18 @@
+package com.skillmetrics.api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a project resource assignment is created, changed or removed,
+ * so that in-memory allocation state can reload just that assignment. Carries the
+ * project and user of the assignment, which are gone from the database after a removal.
+ */
+@Getter
+@AllArgsConstructor
+public class ProjectResourceChangedEvent {
+
+    private final Long resourceId;
+    private final Long projectId;
+    private final Long userId;
+}
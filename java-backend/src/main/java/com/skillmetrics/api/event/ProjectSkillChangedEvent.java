@@ -0,0 +1,14 @@
+package com.skillmetrics.api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a skill requirement is added to, changed on or removed from a project.
+ */
+@Getter
+@AllArgsConstructor
+public class ProjectSkillChangedEvent {
+
+    private final Long projectId;
+}
@@ -0,0 +1,16 @@
+package com.skillmetrics.api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a user's skill is created, changed or deleted, so that in-memory
+ * skill indexes can reload just that skill and caches covering the user can be dropped.
+ */
+@Getter
+@AllArgsConstructor
+public class SkillChangedEvent {
+
+    private final Long skillId;
+    private final Long userId;
+}
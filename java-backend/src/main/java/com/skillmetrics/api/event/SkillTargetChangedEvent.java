@@ -0,0 +1,15 @@
+package com.skillmetrics.api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a user's skill target is created, changed, expired or deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class SkillTargetChangedEvent {
+
+    private final Long targetId;
+    private final Long userId;
+}
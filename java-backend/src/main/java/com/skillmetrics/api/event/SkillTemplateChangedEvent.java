@@ -0,0 +1,14 @@
+package com.skillmetrics.api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a skill template is created, changed or deactivated.
+ */
+@Getter
+@AllArgsConstructor
+public class SkillTemplateChangedEvent {
+
+    private final Long templateId;
+}
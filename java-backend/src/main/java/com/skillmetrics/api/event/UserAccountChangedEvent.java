@@ -0,0 +1,18 @@
+package com.skillmetrics.api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a user's identity, role or account state changes. Carries the
+ * username and email the user had before the change, since those are what
+ * cached authentication state is keyed by.
+ */
+@Getter
+@AllArgsConstructor
+public class UserAccountChangedEvent {
+
+    private final Long userId;
+    private final String username;
+    private final String email;
+}
@@ -0,0 +1,46 @@
+package com.skillmetrics.api.model;
+
+import com.skillmetrics.api.model.enums.AuditHistoryKind;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An audit-history record waiting to be copied into its history table.
+ * Entries are written in the same transaction as the change they describe and
+ * removed in the same transaction that inserts the history row, so none is lost or doubled.
+ */
+@Entity
+@Table(name = "audit_outbox", indexes = {
+        @Index(name = "idx_audit_outbox_failed_at", columnList = "failed_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AuditHistoryKind kind;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "failed_at")
+    private LocalDateTime failedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
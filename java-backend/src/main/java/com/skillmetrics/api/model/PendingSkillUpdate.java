@@ -13,7 +13,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "pending_skill_updates")
+@Table(name = "pending_skill_updates", indexes = {
+        // Keyset order (created_at, id) behind each reviewer queue filter
+        @Index(name = "idx_pending_skill_updates_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_pending_skill_updates_reviewer_status_created", columnList = "reviewer_id, status, created_at, id"),
+        @Index(name = "idx_pending_skill_updates_category_status_created", columnList = "skill_category, status, created_at, id")
+})
 public class PendingSkillUpdate {
     
     @Id
@@ -21,8 +21,9 @@ public class ResourceHistory {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    // No foreign key: history is written behind the change, and may land after the assignment is removed
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "project_resource_id", nullable = false)
+    @JoinColumn(name = "project_resource_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private ProjectResource projectResource;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,54 @@
+package com.skillmetrics.api.model;
+
+import com.skillmetrics.api.model.enums.ScheduledJobStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One execution of a cluster-wide scheduled job
+ */
+@Entity
+@Table(name = "scheduled_job_runs", indexes = {
+        @Index(name = "idx_scheduled_job_runs_job_started", columnList = "job_name, started_at"),
+        @Index(name = "idx_scheduled_job_runs_job_slot", columnList = "job_name, scheduled_for")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledJobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "instance_id", nullable = false)
+    private String instanceId;
+
+    @Column(name = "scheduled_for")
+    private LocalDateTime scheduledFor; // cron slot, null for interval jobs
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ScheduledJobStatus status;
+
+    @Column(length = 1000)
+    private String error;
+}
@@ -13,7 +13,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "skills")
+@Table(name = "skills", indexes = {
+        @Index(name = "idx_skills_created_at", columnList = "created_at"),
+        @Index(name = "idx_skills_template_id", columnList = "template_id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,47 @@
+package com.skillmetrics.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Skills created, level changes and endorsements for one day, category and level.
+ * Maintained from skill history as it is drained from the audit outbox, and kept after
+ * the history partitions it was computed from have been archived.
+ */
+@Entity
+@Table(name = "skill_growth_daily", uniqueConstraints = {
+        @UniqueConstraint(name = "ux_skill_growth_daily_bucket", columnNames = {"day", "category", "level"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillGrowthDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Column(nullable = false)
+    private String level;
+
+    @Column(name = "skills_created", nullable = false)
+    private long skillsCreated;
+
+    @Column(name = "level_changes", nullable = false)
+    private long levelChanges;
+
+    @Column(nullable = false)
+    private long endorsements;
+}
@@ -10,7 +10,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "skill_history")
+@Table(name = "skill_history", indexes = {
+        @Index(name = "idx_skill_history_skill_timestamp", columnList = "skill_id, timestamp")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -21,8 +23,9 @@ public class SkillHistory {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    // No foreign key: history is written behind the change, and may land after the skill is deleted
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "skill_id", nullable = false)
+    @JoinColumn(name = "skill_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Skill skill;
     
     @ManyToOne(fetch = FetchType.LAZY)
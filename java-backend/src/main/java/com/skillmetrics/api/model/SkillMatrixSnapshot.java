@@ -0,0 +1,38 @@
+package com.skillmetrics.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The whole skill matrix at one point in time, stored as a single compressed blob of
+ * (skill, user, name, category, level) rows. Point-in-time queries start from the
+ * nearest snapshot and replay skill history forward from it.
+ */
+@Entity
+@Table(name = "skill_matrix_snapshots", indexes = {
+        @Index(name = "idx_skill_matrix_snapshots_taken_at", columnList = "taken_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillMatrixSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+
+    @Column(name = "skill_count", nullable = false)
+    private int skillCount;
+
+    @Column(nullable = false)
+    private byte[] payload;
+}
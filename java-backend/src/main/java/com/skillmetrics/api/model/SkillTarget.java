@@ -14,7 +14,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "skill_targets")
+@Table(name = "skill_targets", indexes = {
+        @Index(name = "idx_skill_targets_status_target_date", columnList = "status, target_date")
+})
 public class SkillTarget {
     
     @Id
@@ -26,6 +26,9 @@ public class SkillTemplate {
 
     private String description;
 
+    @Column(columnDefinition = "TEXT")
+    private String aliases;  // comma-separated alternative names, e.g. "k8s, kube"
+
     @Column(name = "default_level")
     private String defaultLevel;
 
@@ -0,0 +1,45 @@
+package com.skillmetrics.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Every token issued to the user at or before {@code issuedBefore} is rejected.
+ * Rows are only ever inserted, so other instances can pick them up incrementally
+ * by {@code issuedBefore}.
+ */
+@Entity
+@Table(name = "token_revocation_cutoffs", indexes = {
+        @Index(name = "idx_token_revocation_cutoffs_issued_before", columnList = "issued_before")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocationCutoff {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String username;
+
+    private String email;
+
+    @Column(name = "issued_before", nullable = false)
+    private LocalDateTime issuedBefore;
+
+    @Column(name = "revoked_by")
+    private Long revokedBy;
+
+    private String reason;
+}
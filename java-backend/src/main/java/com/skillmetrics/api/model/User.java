@@ -62,6 +62,8 @@ public class User {
     
     private LocalDateTime lastLogin;
     
+    private Boolean immediateNotificationEmails; // true to skip the notification digest
+    
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Skill> skills = new ArrayList<>();
     
@@ -0,0 +1,32 @@
+package com.skillmetrics.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's precomputed development analytics (skills by category and level, growth,
+ * level changes, targets and endorsements), stored as JSON and served on profile views.
+ */
+@Entity
+@Table(name = "user_development_snapshots")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDevelopmentSnapshot {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,7 @@
+package com.skillmetrics.api.model.enums;
+
+public enum AuditHistoryKind {
+    SKILL,
+    RESOURCE,
+    PROFILE
+}
@@ -0,0 +1,8 @@
+package com.skillmetrics.api.model.enums;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
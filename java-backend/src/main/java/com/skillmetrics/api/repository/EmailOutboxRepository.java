@@ -0,0 +1,84 @@
+package com.skillmetrics.api.repository;
+
+import com.skillmetrics.api.model.EmailOutboxMessage;
+import com.skillmetrics.api.model.enums.EmailOutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Lock a batch of due messages. SKIP LOCKED lets several workers (and instances)
+     * claim disjoint batches without waiting on each other.
+     */
+    @Query(value = """
+            SELECT id FROM email_outbox
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> lockDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("""
+            UPDATE EmailOutboxMessage m
+            SET m.status = com.skillmetrics.api.model.enums.EmailOutboxStatus.SENDING, m.lockedAt = :now
+            WHERE m.id IN :ids
+            """)
+    int markSending(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            UPDATE EmailOutboxMessage m
+            SET m.status = com.skillmetrics.api.model.enums.EmailOutboxStatus.SENT, m.sentAt = :now,
+                m.lockedAt = null, m.lastError = null
+            WHERE m.id IN :ids
+            """)
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            UPDATE EmailOutboxMessage m
+            SET m.status = com.skillmetrics.api.model.enums.EmailOutboxStatus.PENDING,
+                m.nextAttemptAt = :nextAttemptAt, m.lockedAt = null
+            WHERE m.id IN :ids
+            """)
+    int release(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    /**
+     * Return messages whose worker died mid-send to the queue
+     */
+    @Modifying
+    @Query("""
+            UPDATE EmailOutboxMessage m
+            SET m.status = com.skillmetrics.api.model.enums.EmailOutboxStatus.PENDING, m.lockedAt = null
+            WHERE m.status = com.skillmetrics.api.model.enums.EmailOutboxStatus.SENDING
+            AND m.lockedAt < :cutoff
+            """)
+    int releaseStale(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("""
+            DELETE FROM EmailOutboxMessage m
+            WHERE m.status = com.skillmetrics.api.model.enums.EmailOutboxStatus.SENT
+            AND m.sentAt < :cutoff
+            """)
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    long countByStatus(EmailOutboxStatus status);
+
+    @Query("""
+            SELECT MIN(m.createdAt) FROM EmailOutboxMessage m
+            WHERE m.status = com.skillmetrics.api.model.enums.EmailOutboxStatus.PENDING
+            """)
+    LocalDateTime findOldestPendingCreatedAt();
+}
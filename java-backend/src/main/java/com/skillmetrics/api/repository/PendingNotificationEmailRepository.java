@@ -0,0 +1,39 @@
+package com.skillmetrics.api.repository;
+
+import com.skillmetrics.api.model.PendingNotificationEmail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PendingNotificationEmailRepository extends JpaRepository<PendingNotificationEmail, Long> {
+
+    /**
+     * Users whose oldest held email has been waiting for at least the digest window
+     */
+    @Query(value = """
+            SELECT user_id FROM pending_notification_emails
+            GROUP BY user_id
+            HAVING MIN(created_at) <= :cutoff
+            ORDER BY MIN(created_at)
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findUserIdsDueForDigest(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Lock the held emails of the given users. Rows already locked by another
+     * instance are skipped and picked up on a later run.
+     */
+    @Query(value = """
+            SELECT * FROM pending_notification_emails
+            WHERE user_id IN (:userIds)
+            ORDER BY user_id, created_at
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<PendingNotificationEmail> lockByUserIds(@Param("userIds") Collection<Long> userIds);
+}
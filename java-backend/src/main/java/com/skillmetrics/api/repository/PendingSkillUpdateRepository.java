@@ -1,10 +1,14 @@
 package com.skillmetrics.api.repository;
 
 import com.skillmetrics.api.model.PendingSkillUpdate;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +27,13 @@ public interface PendingSkillUpdateRepository extends JpaRepository<PendingSkill
     
     List<PendingSkillUpdate> findByReviewerIdAndStatus(Long reviewerId, String status);
     
+    /**
+     * Load and lock a set of updates so concurrent reviewers cannot process the same item twice
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM PendingSkillUpdate p WHERE p.id IN :ids ORDER BY p.id")
+    List<PendingSkillUpdate> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+    
     @Query("SELECT COUNT(p) FROM PendingSkillUpdate p WHERE p.status = 'PENDING'")
     long countPendingUpdates();
     
@@ -1,7 +1,9 @@
 package com.skillmetrics.api.repository;
 
 import com.skillmetrics.api.model.ProfileHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -17,4 +19,18 @@ public interface ProfileHistoryRepository extends JpaRepository<ProfileHistory,
     List<ProfileHistory> findByCreatedAtBetweenOrderByCreatedAtDesc(LocalDateTime startDate, LocalDateTime endDate);
     
     List<ProfileHistory> findAllByOrderByCreatedAtDesc();
+
+    /**
+     * One keyset page of {@code [from, before)}, newest first. The redundant upper bound
+     * on {@code createdAt} lets Postgres prune partitions outside the range.
+     */
+    @Query("""
+           SELECT h FROM ProfileHistory h
+           JOIN FETCH h.user
+           WHERE h.createdAt >= :from
+           AND h.createdAt <= :beforeTimestamp
+           AND (h.createdAt < :beforeTimestamp OR (h.createdAt = :beforeTimestamp AND h.id < :beforeId))
+           ORDER BY h.createdAt DESC, h.id DESC
+           """)
+    List<ProfileHistory> findPageBetween(LocalDateTime from, LocalDateTime beforeTimestamp, Long beforeId, Pageable pageable);
 }
\ No newline at end of file
@@ -19,6 +19,8 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     
     List<Project> findByStatus(String status);
     
+    List<Project> findByStatusIgnoreCase(String status);
+    
     List<Project> findByLocation(String location);
     
     @Query("""
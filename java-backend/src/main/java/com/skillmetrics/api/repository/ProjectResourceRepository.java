@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -62,4 +64,36 @@ public interface ProjectResourceRepository extends JpaRepository<ProjectResource
            ORDER BY r.project.id
            """)
     List<ProjectResource> findActiveResourcesByUserId(Long userId);
+
+    /**
+     * Allocation rows as [id, userId, projectId, role, allocation, startDate, endDate]
+     */
+    @Query("""
+           SELECT r.id, r.user.id, r.project.id, r.role, r.allocation, r.startDate, r.endDate
+           FROM ProjectResource r
+           """)
+    List<Object[]> findAllocationRows();
+
+    @Query("""
+           SELECT r.id, r.user.id, r.project.id, r.role, r.allocation, r.startDate, r.endDate
+           FROM ProjectResource r
+           WHERE r.id = :id
+           """)
+    List<Object[]> findAllocationRowById(Long id);
+
+    @Query("""
+           SELECT r.id, r.user.id, r.project.id, r.role, r.allocation, r.startDate, r.endDate
+           FROM ProjectResource r
+           WHERE r.updatedAt > :since
+           """)
+    List<Object[]> findAllocationRowsUpdatedAfter(LocalDateTime since);
+
+    /**
+     * Distinct members of the given projects as [projectId, userId]
+     */
+    @Query("""
+           SELECT DISTINCT r.project.id, r.user.id FROM ProjectResource r
+           WHERE r.project.id IN :projectIds
+           """)
+    List<Object[]> findMemberRows(Collection<Long> projectIds);
 }
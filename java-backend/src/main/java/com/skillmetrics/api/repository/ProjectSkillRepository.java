@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,4 +42,15 @@ public interface ProjectSkillRepository extends JpaRepository<ProjectSkill, Long
            WHERE ps.requiredLevel = :level
            """)
     Long countByRequiredLevel(String level);
+
+    /**
+     * Requirements of the given projects as [projectId, skillName, category, requiredLevel, skillId]
+     */
+    @Query("""
+           SELECT ps.project.id, s.name, s.category, ps.requiredLevel, s.id FROM ProjectSkill ps
+           JOIN ps.skill s
+           WHERE ps.project.id IN :projectIds
+           ORDER BY s.name
+           """)
+    List<Object[]> findRequirementRows(Collection<Long> projectIds);
 }
@@ -1,6 +1,7 @@
 package com.skillmetrics.api.repository;
 
 import com.skillmetrics.api.model.ResourceHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -39,4 +40,17 @@ public interface ResourceHistoryRepository extends JpaRepository<ResourceHistory
            ORDER BY h.date DESC
            """)
     List<ResourceHistory> findHistoryBetweenDates(LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * One keyset page of {@code [from, before)}, newest first. The redundant upper bound
+     * on {@code date} lets Postgres prune partitions outside the range.
+     */
+    @Query("""
+           SELECT h FROM ResourceHistory h
+           WHERE h.date >= :from
+           AND h.date <= :beforeTimestamp
+           AND (h.date < :beforeTimestamp OR (h.date = :beforeTimestamp AND h.id < :beforeId))
+           ORDER BY h.date DESC, h.id DESC
+           """)
+    List<ResourceHistory> findPageBetween(LocalDateTime from, LocalDateTime beforeTimestamp, Long beforeId, Pageable pageable);
 }
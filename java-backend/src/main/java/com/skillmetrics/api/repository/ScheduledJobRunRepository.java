@@ -0,0 +1,32 @@
+package com.skillmetrics.api.repository;
+
+import com.skillmetrics.api.model.ScheduledJobRun;
+import com.skillmetrics.api.model.enums.ScheduledJobStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ScheduledJobRunRepository extends JpaRepository<ScheduledJobRun, Long> {
+
+    boolean existsByJobNameAndScheduledForAndStatus(String jobName, LocalDateTime scheduledFor, ScheduledJobStatus status);
+
+    Optional<ScheduledJobRun> findTopByJobNameAndStatusOrderByStartedAtDesc(String jobName, ScheduledJobStatus status);
+
+    Page<ScheduledJobRun> findByJobNameOrderByStartedAtDesc(String jobName, Pageable pageable);
+
+    Page<ScheduledJobRun> findAllByOrderByStartedAtDesc(Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ScheduledJobRun r WHERE r.startedAt < :before")
+    int deleteStartedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,11 +1,13 @@
 package com.skillmetrics.api.repository;
 
 import com.skillmetrics.api.model.SkillHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -35,6 +37,21 @@ public interface SkillHistoryRepository extends JpaRepository<SkillHistory, Long
            ORDER BY h.timestamp DESC
            """)
     List<SkillHistory> findHistoryBetweenDates(LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * One keyset page of {@code [from, before)}, newest first. The redundant upper bound
+     * on {@code timestamp} lets Postgres prune partitions outside the range.
+     */
+    @Query("""
+           SELECT h FROM SkillHistory h
+           JOIN FETCH h.skill
+           JOIN FETCH h.user
+           WHERE h.timestamp >= :from
+           AND h.timestamp <= :beforeTimestamp
+           AND (h.timestamp < :beforeTimestamp OR (h.timestamp = :beforeTimestamp AND h.id < :beforeId))
+           ORDER BY h.timestamp DESC, h.id DESC
+           """)
+    List<SkillHistory> findPageBetween(LocalDateTime from, LocalDateTime beforeTimestamp, Long beforeId, Pageable pageable);
     
     @Query("""
            SELECT h FROM SkillHistory h
@@ -43,4 +60,28 @@ public interface SkillHistoryRepository extends JpaRepository<SkillHistory, Long
            ORDER BY h.timestamp DESC
            """)
     List<SkillHistory> findByUserIdAndAction(Long userId, String action);
+    
+    /**
+     * Level-affecting entries in {@code (after, until]} as (skillId, action, previousValue, newValue), oldest first
+     */
+    @Query("""
+           SELECT h.skill.id, h.action, h.previousValue, h.newValue FROM SkillHistory h
+           WHERE h.timestamp > :after
+           AND h.timestamp <= :until
+           AND h.action IN ('created', 'level_changed')
+           ORDER BY h.timestamp, h.id
+           """)
+    List<Object[]> findLevelChangesBetween(LocalDateTime after, LocalDateTime until);
+    
+    /**
+     * Level changes of the given skills after a point in time as (skillId, previousValue), oldest first
+     */
+    @Query("""
+           SELECT h.skill.id, h.previousValue FROM SkillHistory h
+           WHERE h.skill.id IN :skillIds
+           AND h.timestamp > :after
+           AND h.action = 'level_changed'
+           ORDER BY h.skill.id, h.timestamp, h.id
+           """)
+    List<Object[]> findLevelChangesOfSkillsAfter(Collection<Long> skillIds, LocalDateTime after);
 }
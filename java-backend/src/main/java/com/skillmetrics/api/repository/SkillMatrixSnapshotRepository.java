@@ -0,0 +1,26 @@
+package com.skillmetrics.api.repository;
+
+import com.skillmetrics.api.model.SkillMatrixSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SkillMatrixSnapshotRepository extends JpaRepository<SkillMatrixSnapshot, Long> {
+
+    Optional<SkillMatrixSnapshot> findTopByTakenAtLessThanEqualOrderByTakenAtDesc(LocalDateTime asOf);
+
+    /**
+     * (id, takenAt) of snapshots taken before a point in time, oldest first, without their payloads
+     */
+    @Query("""
+           SELECT s.id, s.takenAt FROM SkillMatrixSnapshot s
+           WHERE s.takenAt < :before
+           ORDER BY s.takenAt
+           """)
+    List<Object[]> findHeadersTakenBefore(LocalDateTime before);
+}
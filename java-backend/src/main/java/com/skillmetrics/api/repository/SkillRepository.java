@@ -5,6 +5,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -70,4 +72,76 @@ public interface SkillRepository extends JpaRepository<Skill, Long> {
            ORDER BY SIZE(s.endorsements) DESC
            """)
     List<Skill> findTopEndorsedSkills();
+    
+    /**
+     * Rows of the current skill matrix, without loading entities
+     */
+    @Query("""
+           SELECT s.id, s.user.id, s.name, s.category, s.level FROM Skill s
+           """)
+    List<Object[]> findMatrixRows();
+    
+    @Query("""
+           SELECT s FROM Skill s
+           WHERE s.createdAt > :after
+           AND s.createdAt <= :until
+           """)
+    List<Skill> findCreatedBetween(LocalDateTime after, LocalDateTime until);
+
+    /**
+     * Skill rows as [id, userId, name, level]
+     */
+    @Query("""
+           SELECT s.id, s.user.id, s.name, s.level FROM Skill s
+           """)
+    List<Object[]> findPostingRows();
+
+    @Query("""
+           SELECT s.id, s.user.id, s.name, s.level FROM Skill s
+           WHERE s.id = :id
+           """)
+    List<Object[]> findPostingRowById(Long id);
+
+    @Query("""
+           SELECT s.id, s.user.id, s.name, s.level FROM Skill s
+           WHERE s.updatedAt > :since
+           """)
+    List<Object[]> findPostingRowsUpdatedAfter(LocalDateTime since);
+
+    /**
+     * Skills of the given users as [userId, name, category, level]
+     */
+    @Query("""
+           SELECT s.user.id, s.name, s.category, s.level FROM Skill s
+           WHERE s.user.id IN :userIds
+           """)
+    List<Object[]> findLevelRowsByUserIds(Collection<Long> userIds);
+
+    /**
+     * Skill rows as [userId, name, category]
+     */
+    @Query("""
+           SELECT s.user.id, s.name, s.category FROM Skill s
+           """)
+    List<Object[]> findHolderRows();
+
+    /**
+     * Skill rows as [id, userId, category, level]
+     */
+    @Query("""
+           SELECT s.id, s.user.id, s.category, s.level FROM Skill s
+           """)
+    List<Object[]> findCubeRows();
+
+    @Query("""
+           SELECT s.id, s.user.id, s.category, s.level FROM Skill s
+           WHERE s.id = :id
+           """)
+    List<Object[]> findCubeRowById(Long id);
+
+    @Query("""
+           SELECT s.id, s.user.id, s.category, s.level FROM Skill s
+           WHERE s.updatedAt > :since
+           """)
+    List<Object[]> findCubeRowsUpdatedAfter(LocalDateTime since);
 }
@@ -3,9 +3,12 @@ package com.skillmetrics.api.repository;
 import com.skillmetrics.api.model.SkillTarget;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +28,36 @@ public interface SkillTargetRepository extends JpaRepository<SkillTarget, Long>
     @Query("SELECT st FROM SkillTarget st WHERE st.targetDate <= ?1 AND st.status = 'IN_PROGRESS'")
     List<SkillTarget> findExpiredTargets(LocalDate currentDate);
     
+    /**
+     * Expire up to {@code chunkSize} overdue targets and insert their notifications in a
+     * single statement. Rows locked by concurrent user edits are skipped and picked up by
+     * the next chunk or run. Returns the inserted notifications as
+     * (id, user_id, entity_id, message, link).
+     */
+    @Transactional
+    @Query(value = """
+            WITH expired AS (
+                UPDATE skill_targets SET status = 'EXPIRED', updated_at = :now
+                WHERE id IN (
+                    SELECT id FROM skill_targets
+                    WHERE status = 'IN_PROGRESS' AND target_date <= :today
+                    ORDER BY id
+                    LIMIT :chunkSize
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING id, user_id, skill_name, target_level
+            )
+            INSERT INTO notifications (user_id, type, title, message, entity_type, entity_id, link, is_read, created_at)
+            SELECT user_id, 'SKILL_TARGET_EXPIRED', 'Skill Target Expired',
+                   'Your skill target for ' || skill_name || ' at ' || target_level || ' level has expired.',
+                   'SKILL_TARGET', id, '/skill-targets/' || id, false, :now
+            FROM expired
+            RETURNING id, user_id, entity_id, message, link
+            """, nativeQuery = true)
+    List<Object[]> expireTargetsAndNotify(@Param("today") LocalDate today,
+                                          @Param("now") LocalDateTime now,
+                                          @Param("chunkSize") int chunkSize);
+    
     @Query("SELECT st FROM SkillTarget st WHERE st.userId = ?1 AND st.targetDate <= ?2 AND st.status = 'IN_PROGRESS'")
     List<SkillTarget> findExpiredTargetsForUser(Long userId, LocalDate currentDate);
     
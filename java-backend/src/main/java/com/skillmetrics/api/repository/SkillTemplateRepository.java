@@ -1,6 +1,8 @@
 package com.skillmetrics.api.repository;
 
 import com.skillmetrics.api.model.SkillTemplate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -13,8 +15,12 @@ public interface SkillTemplateRepository extends JpaRepository<SkillTemplate, Lo
     
     List<SkillTemplate> findByCategory(String category);
     
+    Page<SkillTemplate> findByCategory(String category, Pageable pageable);
+    
     List<SkillTemplate> findByIsActiveTrue();
     
+    Page<SkillTemplate> findByIsActiveTrue(Pageable pageable);
+    
     Optional<SkillTemplate> findByNameAndCategory(String name, String category);
     
     @Query("SELECT DISTINCT s.category FROM SkillTemplate s ORDER BY s.category")
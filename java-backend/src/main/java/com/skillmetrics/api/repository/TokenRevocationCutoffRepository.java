@@ -0,0 +1,24 @@
+package com.skillmetrics.api.repository;
+
+import com.skillmetrics.api.model.TokenRevocationCutoff;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationCutoffRepository extends JpaRepository<TokenRevocationCutoff, Long> {
+
+    List<TokenRevocationCutoff> findByIssuedBeforeAfter(LocalDateTime since);
+
+    /**
+     * Cutoffs older than the longest token lifetime no longer reject anything
+     */
+    @Modifying
+    @Query("DELETE FROM TokenRevocationCutoff c WHERE c.issuedBefore < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -46,4 +47,30 @@ public interface UserRepository extends JpaRepository<User, Long> {
            WHERE u.department = :department
            """)
     Long countByDepartment(String department);
+
+    /**
+     * User rows as [id, department, location]
+     */
+    @Query("""
+           SELECT u.id, u.department, u.location FROM User u
+           """)
+    List<Object[]> findCubeRows();
+
+    @Query("""
+           SELECT u.id, u.department, u.location FROM User u
+           WHERE u.id = :id
+           """)
+    List<Object[]> findCubeRowById(Long id);
+
+    @Query("""
+           SELECT u.id, u.department, u.location FROM User u
+           WHERE u.updatedAt > :since
+           """)
+    List<Object[]> findCubeRowsUpdatedAfter(LocalDateTime since);
+
+    @Query("""
+           SELECT u.id FROM User u
+           WHERE u.isActive = false
+           """)
+    List<Long> findInactiveUserIds();
 }
@@ -0,0 +1,77 @@
+package com.skillmetrics.api.security;
+
+import com.skillmetrics.api.event.UserAccountChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of authenticated principals keyed by token subject, so that
+ * authenticating a request does not hit the users table every time.
+ *
+ * Entries are dropped as soon as the user changes on this instance; on other
+ * instances they expire after the TTL.
+ */
+@Component
+public class PrincipalCache {
+
+    @Value("${app.security.principal-cache.ttl:60000}")
+    private long ttl;
+
+    @Value("${app.security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    private final Map<String, CachedPrincipal> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Return the cached principal for a subject, loading it on a miss or after expiry
+     */
+    public UserDetails get(String subject, Function<String, UserDetails> loader) {
+        long now = System.currentTimeMillis();
+
+        CachedPrincipal cached = entries.get(subject);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.details();
+        }
+
+        UserDetails details = loader.apply(subject);
+        if (entries.size() >= maxSize) {
+            evictExpired(now);
+            if (entries.size() >= maxSize) {
+                // Still full of live entries: start over rather than grow without bound
+                entries.clear();
+            }
+        }
+        entries.put(subject, new CachedPrincipal(details, now + ttl));
+        return details;
+    }
+
+    public void evictAll() {
+        entries.clear();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        // Tokens may carry either the username or the email as subject
+        entries.entrySet().removeIf(entry ->
+                matches(entry.getKey(), event)
+                        || matches(entry.getValue().details().getUsername(), event));
+    }
+
+    private boolean matches(String value, UserAccountChangedEvent event) {
+        return value != null && (value.equals(event.getUsername()) || value.equalsIgnoreCase(event.getEmail()));
+    }
+
+    private void evictExpired(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+    }
+
+    private record CachedPrincipal(UserDetails details, long expiresAt) {
+    }
+}
@@ -0,0 +1,386 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.event.ProjectResourceChangedEvent;
+import com.skillmetrics.api.repository.ProjectResourceRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory allocation timelines for every user, built from project resource assignments.
+ *
+ * Each user's assignments are kept sorted by start date together with a step function of
+ * their total allocation, computed by sweeping over assignment start and end dates. Window
+ * queries binary-search that step function, so reports never touch the database for
+ * allocations. Assignments changed on this instance are applied after commit; changes made
+ * elsewhere are picked up by polling {@code updated_at}, and a periodic rebuild catches
+ * assignments deleted on other instances.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AllocationEngine {
+
+    public static final int FULL_ALLOCATION = 100;
+
+    private static final long OPEN_START = Long.MIN_VALUE;
+
+    private final ProjectResourceRepository resourceRepository;
+
+    @Value("${app.allocation.refresh-lookback:60000}")
+    private long refreshLookback;
+
+    private volatile AllocationState state = AllocationState.empty();
+
+    // Local deletions are recorded so a rebuild that raced them cannot resurrect rows
+    private final PollingIndexSync sync = new PollingIndexSync(this);
+
+    @PostConstruct
+    void init() {
+        rebuild();
+    }
+
+    /**
+     * Assignments overlapping the window, optionally restricted to one project
+     */
+    public List<Assignment> getAssignments(LocalDate from, LocalDate to, Long projectId) {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+
+        List<Assignment> result = new ArrayList<>();
+        for (UserTimeline timeline : state.timelines().values()) {
+            for (Assignment assignment : timeline.assignments) {
+                if ((projectId == null || projectId.equals(assignment.projectId())) && assignment.overlaps(fromDay, toDay)) {
+                    result.add(assignment);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A user's total allocation across the window as contiguous steps; days without
+     * any assignment appear as steps with zero allocation
+     */
+    public List<AllocationWindow> getAllocationProfile(Long userId, LocalDate from, LocalDate to) {
+        UserTimeline timeline = state.timelines().getOrDefault(userId, UserTimeline.EMPTY);
+
+        List<AllocationWindow> profile = new ArrayList<>();
+        timeline.forEachStep(from.toEpochDay(), to.toEpochDay(), (stepFrom, stepTo, allocation) ->
+                profile.add(new AllocationWindow(LocalDate.ofEpochDay(stepFrom), LocalDate.ofEpochDay(stepTo), allocation)));
+        return profile;
+    }
+
+    /**
+     * Peak and time-weighted average allocation of a user over the window, and the exact
+     * date ranges in which they are allocated above {@link #FULL_ALLOCATION}
+     */
+    public UserAllocation summarize(Long userId, LocalDate from, LocalDate to) {
+        return summarize(userId, state.timelines().getOrDefault(userId, UserTimeline.EMPTY),
+                from.toEpochDay(), to.toEpochDay());
+    }
+
+    /**
+     * Summaries for every user with an assignment overlapping the window. With a project,
+     * only that project's members are included, but their allocation still counts all
+     * of their assignments, since over-allocation is a property of the person.
+     */
+    public Map<Long, UserAllocation> summarizeAll(LocalDate from, LocalDate to, Long projectId) {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+
+        Map<Long, UserAllocation> result = new HashMap<>();
+        state.timelines().forEach((userId, timeline) -> {
+            boolean included = false;
+            for (Assignment assignment : timeline.assignments) {
+                if ((projectId == null || projectId.equals(assignment.projectId())) && assignment.overlaps(fromDay, toDay)) {
+                    included = true;
+                    break;
+                }
+            }
+            if (included) {
+                result.put(userId, summarize(userId, timeline, fromDay, toDay));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Reload a single assignment once the transaction that changed it has committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onResourceChanged(ProjectResourceChangedEvent event) {
+        Long resourceId = event.getResourceId();
+        if (resourceId == null) {
+            return;
+        }
+
+        List<Object[]> rows = resourceRepository.findAllocationRowById(resourceId);
+        if (rows.isEmpty()) {
+            sync.recordLocalChange(resourceId);
+            remove(state, resourceId);
+        } else {
+            apply(state, toAssignment(rows.get(0)));
+        }
+    }
+
+    /**
+     * Pick up assignments created or changed on other instances
+     */
+    @Scheduled(fixedDelayString = "${app.allocation.refresh-interval:5000}")
+    public void refresh() {
+        sync.refresh(refreshLookback, since -> {
+            AllocationState current = state;
+            resourceRepository.findAllocationRowsUpdatedAfter(since)
+                    .forEach(row -> apply(current, toAssignment(row)));
+        }, this::rebuild);
+    }
+
+    /**
+     * Rebuild this instance's timelines from scratch, dropping assignments deleted elsewhere
+     */
+    @Scheduled(cron = "${app.allocation.rebuild-cron:0 */10 * * * ?}")
+    public void rebuildCache() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        sync.rebuild(this::load, this::remove, rebuilt -> state = rebuilt);
+    }
+
+    private AllocationState load() {
+        long start = System.nanoTime();
+        List<Object[]> rows = resourceRepository.findAllocationRows();
+
+        Map<Long, List<Assignment>> byUser = new HashMap<>();
+        for (Object[] row : rows) {
+            Assignment assignment = toAssignment(row);
+            byUser.computeIfAbsent(assignment.userId(), id -> new ArrayList<>()).add(assignment);
+        }
+
+        AllocationState rebuilt = AllocationState.empty();
+        byUser.forEach((userId, assignments) -> {
+            rebuilt.timelines().put(userId, new UserTimeline(assignments.toArray(Assignment[]::new)));
+            assignments.forEach(assignment -> rebuilt.userByResource().put(assignment.resourceId(), userId));
+        });
+
+        log.debug("Loaded {} assignments for {} users into allocation timelines in {} ms",
+                rows.size(), byUser.size(), (System.nanoTime() - start) / 1_000_000);
+        return rebuilt;
+    }
+
+    private synchronized void apply(AllocationState target, Assignment assignment) {
+        Long previousUser = target.userByResource().put(assignment.resourceId(), assignment.userId());
+        if (previousUser != null && !previousUser.equals(assignment.userId())) {
+            target.timelines().computeIfPresent(previousUser, (id, timeline) -> timeline.without(assignment.resourceId()));
+        }
+        target.timelines().compute(assignment.userId(), (id, timeline) ->
+                (timeline != null ? timeline : UserTimeline.EMPTY).with(assignment));
+    }
+
+    private synchronized void remove(AllocationState target, Long resourceId) {
+        Long userId = target.userByResource().remove(resourceId);
+        if (userId != null) {
+            target.timelines().computeIfPresent(userId, (id, timeline) -> timeline.without(resourceId));
+        }
+    }
+
+    private UserAllocation summarize(Long userId, UserTimeline timeline, long fromDay, long toDay) {
+        int[] peak = {0};
+        long[] weighted = {0};
+        List<long[]> overRanges = new ArrayList<>();
+        List<Integer> overPeaks = new ArrayList<>();
+
+        timeline.forEachStep(fromDay, toDay, (stepFrom, stepTo, allocation) -> {
+            peak[0] = Math.max(peak[0], allocation);
+            weighted[0] += (long) allocation * (stepTo - stepFrom + 1);
+
+            if (allocation > FULL_ALLOCATION) {
+                int last = overRanges.size() - 1;
+                if (last >= 0 && overRanges.get(last)[1] == stepFrom - 1) {
+                    overRanges.get(last)[1] = stepTo;
+                    overPeaks.set(last, Math.max(overPeaks.get(last), allocation));
+                } else {
+                    overRanges.add(new long[]{stepFrom, stepTo});
+                    overPeaks.add(allocation);
+                }
+            }
+        });
+
+        List<OverAllocation> overAllocations = new ArrayList<>(overRanges.size());
+        for (int i = 0; i < overRanges.size(); i++) {
+            long[] range = overRanges.get(i);
+            overAllocations.add(new OverAllocation(LocalDate.ofEpochDay(range[0]), LocalDate.ofEpochDay(range[1]),
+                    overPeaks.get(i), timeline.overlapping(range[0], range[1])));
+        }
+
+        return new UserAllocation(userId, peak[0], (double) weighted[0] / (toDay - fromDay + 1),
+                timeline.overlapping(fromDay, toDay), overAllocations);
+    }
+
+    private static Assignment toAssignment(Object[] row) {
+        Number allocation = (Number) row[4];
+        return new Assignment((Long) row[0], (Long) row[1], (Long) row[2], (String) row[3],
+                allocation != null ? allocation.intValue() : 0, (LocalDate) row[5], (LocalDate) row[6]);
+    }
+
+    public record Assignment(Long resourceId, Long userId, Long projectId, String role, int allocation,
+                             LocalDate startDate, LocalDate endDate) {
+
+        boolean overlaps(long fromDay, long toDay) {
+            return (startDate == null || startDate.toEpochDay() <= toDay)
+                    && (endDate == null || endDate.toEpochDay() >= fromDay);
+        }
+    }
+
+    /**
+     * A date range, both ends inclusive, over which a user's allocation is constant
+     */
+    public record AllocationWindow(LocalDate startDate, LocalDate endDate, int allocation) {
+    }
+
+    /**
+     * A maximal date range in which a user is allocated above 100%, with the assignments involved
+     */
+    public record OverAllocation(LocalDate startDate, LocalDate endDate, int peakAllocation,
+                                 List<Assignment> assignments) {
+    }
+
+    public record UserAllocation(Long userId, int peakAllocation, double averageAllocation,
+                                 List<Assignment> assignments, List<OverAllocation> overAllocations) {
+    }
+
+    private record AllocationState(Map<Long, UserTimeline> timelines, Map<Long, Long> userByResource) {
+
+        static AllocationState empty() {
+            return new AllocationState(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    @FunctionalInterface
+    private interface StepConsumer {
+        void accept(long fromDay, long toDay, int allocation);
+    }
+
+    /**
+     * Immutable timeline of one user. {@code stepStarts[i]} is the first day on which the
+     * total allocation is {@code stepLoads[i]}; it holds until the next step starts, and the
+     * last step never ends. Before the first step the user is unallocated.
+     */
+    private static final class UserTimeline {
+
+        static final UserTimeline EMPTY = new UserTimeline(new Assignment[0]);
+
+        final Assignment[] assignments;
+        final long[] stepStarts;
+        final int[] stepLoads;
+
+        UserTimeline(Assignment[] assignments) {
+            Arrays.sort(assignments, Comparator.comparingLong(UserTimeline::startDay));
+            this.assignments = assignments;
+
+            // Sweep: +allocation on the start day, -allocation on the day after the end
+            long[][] events = new long[assignments.length * 2][];
+            int eventCount = 0;
+            for (Assignment assignment : assignments) {
+                if (assignment.allocation() == 0) {
+                    continue;
+                }
+                events[eventCount++] = new long[]{startDay(assignment), assignment.allocation()};
+                if (assignment.endDate() != null) {
+                    events[eventCount++] = new long[]{assignment.endDate().toEpochDay() + 1, -assignment.allocation()};
+                }
+            }
+            Arrays.sort(events, 0, eventCount, Comparator.comparingLong(event -> event[0]));
+
+            long[] starts = new long[eventCount];
+            int[] loads = new int[eventCount];
+            int steps = 0;
+            int load = 0;
+            for (int i = 0; i < eventCount; i++) {
+                load += (int) events[i][1];
+                if (i + 1 < eventCount && events[i + 1][0] == events[i][0]) {
+                    continue;
+                }
+                if (steps > 0 && loads[steps - 1] == load) {
+                    continue;
+                }
+                starts[steps] = events[i][0];
+                loads[steps] = load;
+                steps++;
+            }
+            this.stepStarts = Arrays.copyOf(starts, steps);
+            this.stepLoads = Arrays.copyOf(loads, steps);
+        }
+
+        UserTimeline with(Assignment assignment) {
+            Assignment[] updated = Arrays.copyOf(assignments, assignments.length + 1);
+            int size = 0;
+            for (Assignment existing : assignments) {
+                if (!existing.resourceId().equals(assignment.resourceId())) {
+                    updated[size++] = existing;
+                }
+            }
+            updated[size++] = assignment;
+            return new UserTimeline(Arrays.copyOf(updated, size));
+        }
+
+        UserTimeline without(Long resourceId) {
+            Assignment[] remaining = Arrays.stream(assignments)
+                    .filter(existing -> !existing.resourceId().equals(resourceId))
+                    .toArray(Assignment[]::new);
+            return remaining.length == 0 ? null : new UserTimeline(remaining);
+        }
+
+        /**
+         * Emit the constant-allocation steps covering [fromDay, toDay], clipped to it
+         */
+        void forEachStep(long fromDay, long toDay, StepConsumer consumer) {
+            // Index of the step in effect on fromDay, or -1 if that is before the first step
+            int index = Arrays.binarySearch(stepStarts, fromDay);
+            if (index < 0) {
+                index = -index - 2;
+            }
+
+            long day = fromDay;
+            while (day <= toDay) {
+                int load = index >= 0 ? stepLoads[index] : 0;
+                long stepEnd = index + 1 < stepStarts.length ? Math.min(toDay, stepStarts[index + 1] - 1) : toDay;
+                consumer.accept(day, stepEnd, load);
+                day = stepEnd + 1;
+                index++;
+            }
+        }
+
+        List<Assignment> overlapping(long fromDay, long toDay) {
+            List<Assignment> result = new ArrayList<>();
+            for (Assignment assignment : assignments) {
+                if (startDay(assignment) > toDay) {
+                    break;
+                }
+                if (assignment.overlaps(fromDay, toDay)) {
+                    result.add(assignment);
+                }
+            }
+            return result;
+        }
+
+        private static long startDay(Assignment assignment) {
+            return assignment.startDate() != null ? assignment.startDate().toEpochDay() : OPEN_START;
+        }
+    }
+}
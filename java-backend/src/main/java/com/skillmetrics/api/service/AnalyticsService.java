@@ -1,5 +1,7 @@
 package com.skillmetrics.api.service;
 
+import com.skillmetrics.api.dto.ProjectSkillGapDto;
+import com.skillmetrics.api.dto.SkillCubeResultDto;
 import com.skillmetrics.api.model.*;
 import com.skillmetrics.api.repository.*;
 import lombok.RequiredArgsConstructor;
@@ -23,12 +25,17 @@ public class AnalyticsService {
     private final UserRepository userRepository;
     private final SkillRepository skillRepository;
     private final ProjectRepository projectRepository;
-    private final ProjectResourceRepository resourceRepository;
     private final ProjectSkillRepository projectSkillRepository;
-    private final SkillHistoryRepository skillHistoryRepository;
     private final EndorsementRepository endorsementRepository;
     private final SkillTargetRepository skillTargetRepository;
     private final PendingSkillUpdateRepository pendingSkillUpdateRepository;
+    private final SkillMatrixHistoryService skillMatrixHistoryService;
+    private final ProjectSkillGapService projectSkillGapService;
+    private final SkillSupplyDemandService skillSupplyDemandService;
+    private final ProjectAllocationStatsService projectAllocationStatsService;
+    private final SkillGrowthRollupService skillGrowthRollupService;
+    private final UserDevelopmentSnapshotService userDevelopmentSnapshotService;
+    private final SkillCubeService skillCubeService;
 
     /**
      * Get overview of system analytics
@@ -61,14 +68,14 @@ public class AnalyticsService {
     }
 
     /**
-     * Get skill distribution by category
+     * Get skill distribution by category, optionally as it was at {@code asOf}
      */
-    @Cacheable(value = "analyticsCache", key = "'skillsByCategory'")
+    @Cacheable(value = "analyticsCache", key = "'skillsByCategory:' + #asOf")
     @Transactional(readOnly = true)
-    public Map<String, Object> getSkillDistributionByCategory() {
+    public Map<String, Object> getSkillDistributionByCategory(LocalDateTime asOf) {
         Map<String, Object> result = new HashMap<>();
         
-        List<Skill> allSkills = skillRepository.findAll();
+        List<Skill> allSkills = skillsAsOf(asOf);
         
         // Get distribution by category
         Map<String, Long> distributionByCategory = allSkills.stream()
@@ -90,14 +97,14 @@ public class AnalyticsService {
     }
 
     /**
-     * Get skill distribution by level
+     * Get skill distribution by level, optionally as it was at {@code asOf}
      */
-    @Cacheable(value = "analyticsCache", key = "'skillsByLevel'")
+    @Cacheable(value = "analyticsCache", key = "'skillsByLevel:' + #asOf")
     @Transactional(readOnly = true)
-    public Map<String, Object> getSkillDistributionByLevel() {
+    public Map<String, Object> getSkillDistributionByLevel(LocalDateTime asOf) {
         Map<String, Object> result = new HashMap<>();
         
-        List<Skill> allSkills = skillRepository.findAll();
+        List<Skill> allSkills = skillsAsOf(asOf);
         
         // Get distribution by level
         Map<String, Long> distributionByLevel = allSkills.stream()
@@ -119,62 +126,29 @@ public class AnalyticsService {
     }
 
     /**
-     * Get skill growth over time
+     * Get skill growth over time, bucketed by day, week, month, quarter or year
      */
-    @Transactional(readOnly = true)
-    public Map<String, Object> getSkillGrowthOverTime(LocalDate startDate, LocalDate endDate) {
-        Map<String, Object> result = new HashMap<>();
-        
-        // Set default dates if not provided
-        LocalDateTime start = startDate != null 
-                ? startDate.atStartOfDay() 
-                : LocalDateTime.now().minusMonths(6);
-        
-        LocalDateTime end = endDate != null 
-                ? endDate.atTime(23, 59, 59) 
-                : LocalDateTime.now();
-        
-        // Get all skills created within date range
-        List<Skill> skills = skillRepository.findAll().stream()
-                .filter(skill -> skill.getCreatedAt().isAfter(start) && skill.getCreatedAt().isBefore(end))
-                .collect(Collectors.toList());
-        
-        // Group by month
-        Map<String, Long> skillsByMonth = skills.stream()
-                .collect(Collectors.groupingBy(
-                        skill -> skill.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM")),
-                        Collectors.counting()
-                ));
-        
-        // Get skill history for changes within date range
-        List<SkillHistory> history = skillHistoryRepository.findAll().stream()
-                .filter(h -> h.getCreatedAt().isAfter(start) && h.getCreatedAt().isBefore(end))
-                .collect(Collectors.toList());
-        
-        // Group history by month
-        Map<String, Long> changesByMonth = history.stream()
-                .collect(Collectors.groupingBy(
-                        h -> h.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM")),
-                        Collectors.counting()
-                ));
-        
-        result.put("startDate", start.toLocalDate());
-        result.put("endDate", end.toLocalDate());
-        result.put("skillsByMonth", skillsByMonth);
-        result.put("changesByMonth", changesByMonth);
-        
-        return result;
+    public Map<String, Object> getSkillGrowthOverTime(LocalDate startDate, LocalDate endDate,
+                                                      String granularity, String category) {
+        return skillGrowthRollupService.getGrowth(startDate, endDate, granularity, category);
+    }
+
+    /**
+     * Recompute the skill growth rollup for a range of days
+     */
+    public Map<String, Object> backfillSkillGrowth(LocalDate from, LocalDate to) {
+        return skillGrowthRollupService.backfill(from, to);
     }
 
     /**
-     * Get top skills by user count
+     * Get top skills by user count, optionally as they were at {@code asOf}
      */
-    @Cacheable(value = "analyticsCache", key = "'topSkills'")
+    @Cacheable(value = "analyticsCache", key = "'topSkills:' + #limit + ':' + #asOf")
     @Transactional(readOnly = true)
-    public Map<String, Object> getTopSkills(int limit) {
+    public Map<String, Object> getTopSkills(int limit, LocalDateTime asOf) {
         Map<String, Object> result = new HashMap<>();
         
-        List<Skill> allSkills = skillRepository.findAll();
+        List<Skill> allSkills = skillsAsOf(asOf);
         
         // Group skills by name and category
         Map<String, List<Skill>> skillGroups = allSkills.stream()
@@ -210,177 +184,47 @@ public class AnalyticsService {
     }
 
     /**
-     * Get skill gap analysis (skills needed vs. available)
+     * Get skill gap analysis (skills needed vs. available), read from the precomputed
+     * supply/demand view
      */
-    @Transactional(readOnly = true)
-    public Map<String, Object> getSkillGapAnalysis() {
-        Map<String, Object> result = new HashMap<>();
-        
-        // Get all project skills (required skills)
-        List<ProjectSkill> projectSkills = projectSkillRepository.findAll();
-        
-        // Group project skills by name and category
-        Map<String, List<ProjectSkill>> requiredSkills = projectSkills.stream()
-                .collect(Collectors.groupingBy(
-                        projectSkill -> projectSkill.getSkillName() + "|" + projectSkill.getCategory()
-                ));
-        
-        // Get all employee skills
-        List<Skill> employeeSkills = skillRepository.findAll();
-        
-        // Group employee skills by name and category
-        Map<String, List<Skill>> availableSkills = employeeSkills.stream()
-                .collect(Collectors.groupingBy(
-                        skill -> skill.getName() + "|" + skill.getCategory()
-                ));
-        
-        // Find gaps and overlaps
-        List<Map<String, Object>> gaps = new ArrayList<>();
-        List<Map<String, Object>> overlaps = new ArrayList<>();
-        
-        requiredSkills.forEach((key, required) -> {
-            String[] parts = key.split("\\|");
-            String name = parts[0];
-            String category = parts.length > 1 ? parts[1] : "";
-            
-            Map<String, Object> skillData = new HashMap<>();
-            skillData.put("name", name);
-            skillData.put("category", category);
-            skillData.put("requiredCount", required.size());
-            
-            List<Skill> available = availableSkills.getOrDefault(key, Collections.emptyList());
-            skillData.put("availableCount", available.size());
-            
-            int diff = available.size() - required.size();
-            skillData.put("gap", diff);
-            
-            if (diff < 0) {
-                gaps.add(skillData);
-            } else if (diff > 0) {
-                overlaps.add(skillData);
-            }
-        });
-        
-        // Sort gaps by largest deficit
-        gaps.sort(Comparator.comparingInt(gap -> (Integer) gap.get("gap")));
-        
-        // Sort overlaps by largest surplus
-        overlaps.sort(Comparator.comparingInt(overlap -> -((Integer) overlap.get("gap"))));
-        
-        result.put("gaps", gaps);
-        result.put("overlaps", overlaps);
-        
-        return result;
+    public Map<String, Object> getSkillGapAnalysis(String category, int limit) {
+        return skillSupplyDemandService.getGapAnalysis(category, limit);
     }
 
     /**
-     * Get project resource allocation statistics
+     * Drill into the supply and demand of a single skill
      */
-    @Transactional(readOnly = true)
-    public Map<String, Object> getProjectAllocationStats() {
-        Map<String, Object> result = new HashMap<>();
-        
-        List<Project> projects = projectRepository.findAll();
-        List<Map<String, Object>> projectStats = new ArrayList<>();
-        
-        for (Project project : projects) {
-            List<ProjectResource> resources = resourceRepository.findByProjectId(project.getId());
-            
-            if (resources.isEmpty()) {
-                continue;
-            }
-            
-            Map<String, Object> projectData = new HashMap<>();
-            projectData.put("projectId", project.getId());
-            projectData.put("projectName", project.getName());
-            projectData.put("status", project.getStatus());
-            projectData.put("resourceCount", resources.size());
-            
-            double totalAllocation = resources.stream()
-                    .mapToDouble(resource -> resource.getAllocation() != null ? resource.getAllocation() : 0)
-                    .sum();
-            
-            double averageAllocation = totalAllocation / resources.size();
-            
-            projectData.put("totalAllocation", totalAllocation);
-            projectData.put("averageAllocation", averageAllocation);
-            
-            // Role distribution
-            Map<String, Long> roleDistribution = resources.stream()
-                    .collect(Collectors.groupingBy(ProjectResource::getRole, Collectors.counting()));
-            
-            projectData.put("roleDistribution", roleDistribution);
-            
-            projectStats.add(projectData);
-        }
-        
-        // Sort by resource count in descending order
-        projectStats.sort(Comparator.comparingInt(stats -> -((Integer) stats.get("resourceCount"))));
-        
-        result.put("projectStats", projectStats);
-        result.put("totalProjects", projects.size());
-        result.put("totalProjectsWithResources", projectStats.size());
-        
-        return result;
+    public Map<String, Object> getSkillGapDetail(String name, String category, int holderLimit) {
+        return skillSupplyDemandService.getSkillDrillDown(name, category, holderLimit);
     }
 
     /**
-     * Get user skill development analytics
+     * Get project resource allocation statistics, one page at a time
+     */
+    public Map<String, Object> getProjectAllocationStats(String status, int page, int size) {
+        return projectAllocationStatsService.getStats(status, page, size);
+    }
+
+    /**
+     * Get user skill development analytics, served from the user's precomputed snapshot
      */
-    @Transactional(readOnly = true)
     public Map<String, Object> getUserDevelopmentAnalytics(Long userId) {
-        Map<String, Object> result = new HashMap<>();
-        
-        // Get user skills
-        List<Skill> userSkills = skillRepository.findByUserId(userId);
-        
-        // Get skill history for the user
-        List<SkillHistory> skillHistory = skillHistoryRepository.findByUserId(userId);
-        
-        // Get skill targets for the user
-        List<SkillTarget> skillTargets = skillTargetRepository.findByUserId(userId);
-        
-        // Group skills by category
-        Map<String, List<Skill>> skillsByCategory = userSkills.stream()
-                .collect(Collectors.groupingBy(Skill::getCategory));
-        
-        Map<String, Long> skillCountByCategory = skillsByCategory.entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, entry -> (long) entry.getValue().size()));
-        
-        // Group skills by level
-        Map<String, Long> skillCountByLevel = userSkills.stream()
-                .collect(Collectors.groupingBy(Skill::getLevel, Collectors.counting()));
-        
-        // Skill growth over time (last 12 months)
-        LocalDateTime twelveMonthsAgo = LocalDateTime.now().minusMonths(12);
-        
-        Map<String, Long> skillCreationByMonth = userSkills.stream()
-                .filter(skill -> skill.getCreatedAt().isAfter(twelveMonthsAgo))
-                .collect(Collectors.groupingBy(
-                        skill -> skill.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM")),
-                        Collectors.counting()
-                ));
-        
-        // Skill level changes over time
-        Map<String, List<SkillHistory>> levelChangesByMonth = skillHistory.stream()
-                .filter(history -> "level".equals(history.getField()) && history.getCreatedAt().isAfter(twelveMonthsAgo))
-                .collect(Collectors.groupingBy(
-                        history -> history.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM"))
-                ));
-        
-        // Skill target statistics
-        Map<String, Long> targetCountByStatus = skillTargets.stream()
-                .collect(Collectors.groupingBy(SkillTarget::getStatus, Collectors.counting()));
-        
-        result.put("userId", userId);
-        result.put("totalSkills", userSkills.size());
-        result.put("skillsByCategory", skillCountByCategory);
-        result.put("skillsByLevel", skillCountByLevel);
-        result.put("skillCreationByMonth", skillCreationByMonth);
-        result.put("skillLevelChangeCount", skillHistory.size());
-        result.put("targetsByStatus", targetCountByStatus);
-        
-        return result;
+        return userDevelopmentSnapshotService.getAnalytics(userId);
+    }
+
+    /**
+     * Slice the skill cube: group by any of category, level, department and location,
+     * filtered by values of any of them
+     */
+    public SkillCubeResultDto querySkillCube(List<String> groupBy, Map<String, List<String>> filters) {
+        return skillCubeService.query(groupBy, filters);
+    }
+
+    /**
+     * Get the values present in each skill cube dimension
+     */
+    public Map<String, List<String>> getSkillCubeDimensions() {
+        return skillCubeService.getDimensionValues();
     }
 
     /**
@@ -499,50 +343,18 @@ public class AnalyticsService {
     public Map<String, Object> getProjectSkillCategoryComparison(Long projectId) {
         Map<String, Object> result = new HashMap<>();
         
-        // Get project
-        Optional<Project> projectOpt = projectRepository.findById(projectId);
-        if (!projectOpt.isPresent()) {
-            result.put("error", "Project not found");
-            return result;
-        }
-        
-        Project project = projectOpt.get();
-        result.put("projectId", project.getId());
-        result.put("projectName", project.getName());
-        
-        // Get project skills
-        List<ProjectSkill> projectSkills = projectSkillRepository.findByProjectId(projectId);
-        
-        // Group by category
-        Map<String, Long> projectSkillsByCategory = projectSkills.stream()
-                .collect(Collectors.groupingBy(ProjectSkill::getCategory, Collectors.counting()));
-        
-        result.put("skillCategoryDistribution", projectSkillsByCategory);
-        
-        // Get project resources
-        List<ProjectResource> resources = resourceRepository.findByProjectId(projectId);
-        
-        // Get user skills
-        List<Long> userIds = resources.stream()
-                .map(ProjectResource::getUserId)
-                .collect(Collectors.toList());
-        
-        List<Skill> userSkills = new ArrayList<>();
-        for (Long userId : userIds) {
-            userSkills.addAll(skillRepository.findByUserId(userId));
-        }
-        
-        // Group user skills by category
-        Map<String, Long> userSkillsByCategory = userSkills.stream()
-                .collect(Collectors.groupingBy(Skill::getCategory, Collectors.counting()));
-        
-        result.put("resourceSkillCategoryDistribution", userSkillsByCategory);
+        // Category counts come with the cached project skill gaps
+        ProjectSkillGapDto gaps = projectSkillGapService.getProjectGaps(projectId);
+        result.put("projectId", gaps.getProjectId());
+        result.put("projectName", gaps.getProjectName());
+        result.put("skillCategoryDistribution", gaps.getRequiredByCategory());
+        result.put("resourceSkillCategoryDistribution", gaps.getAvailableByCategory());
         
         // Calculate skill match percentage by category
         Map<String, Object> categoryMatches = new HashMap<>();
         
-        projectSkillsByCategory.forEach((category, requiredCount) -> {
-            Long availableCount = userSkillsByCategory.getOrDefault(category, 0L);
+        gaps.getRequiredByCategory().forEach((category, requiredCount) -> {
+            Long availableCount = gaps.getAvailableByCategory().getOrDefault(category, 0L);
             double matchPercentage = (availableCount * 100.0) / requiredCount;
             
             Map<String, Object> matchData = new HashMap<>();
@@ -557,4 +369,8 @@ public class AnalyticsService {
         
         return result;
     }
+    
+    private List<Skill> skillsAsOf(LocalDateTime asOf) {
+        return asOf != null ? skillMatrixHistoryService.getSkillsAsOf(asOf) : skillRepository.findAll();
+    }
 }
\ No newline at end of file
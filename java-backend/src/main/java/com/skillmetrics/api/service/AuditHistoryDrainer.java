@@ -0,0 +1,179 @@
+package com.skillmetrics.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillmetrics.api.model.enums.AuditHistoryKind;
+import com.skillmetrics.api.service.AuditHistoryWriter.ProfileHistoryEntry;
+import com.skillmetrics.api.service.AuditHistoryWriter.ResourceHistoryEntry;
+import com.skillmetrics.api.service.AuditHistoryWriter.SkillHistoryEntry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Copies audit entries from {@code audit_outbox} into the history tables.
+ *
+ * Each batch is claimed with {@code FOR UPDATE SKIP LOCKED}, so every instance can drain
+ * concurrently, and is deleted in the same transaction that inserts its history rows.
+ * A batch that fails is retried one entry at a time; entries that still fail are
+ * parked with their error instead of blocking the queue. History rows have no foreign key
+ * to the skill or assignment they describe, so an entry drained after its subject was
+ * deleted still lands.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditHistoryDrainer {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final String CLAIM_SQL = """
+            DELETE FROM audit_outbox
+            WHERE id IN (
+                SELECT id FROM audit_outbox
+                WHERE failed_at IS NULL
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id, kind, payload
+            """;
+
+    private static final String CLAIM_ONE_SQL = """
+            DELETE FROM audit_outbox
+            WHERE id = ? AND failed_at IS NULL
+            RETURNING id, kind, payload
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final SkillGrowthRollupService skillGrowthRollupService;
+    private final UserDevelopmentSnapshotService userDevelopmentSnapshotService;
+
+    @Value("${app.audit.drain-batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.audit.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(fixedDelayString = "${app.audit.drain-interval:1000}")
+    public void drain() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int drained = drainBatch();
+            if (drained < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private int drainBatch() {
+        List<ClaimedEntry> claimed = new ArrayList<>();
+        try {
+            Set<Long> levelChangedUsers = transactionTemplate.execute(status -> {
+                claimed.addAll(jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) ->
+                        new ClaimedEntry(rs.getLong("id"), AuditHistoryKind.valueOf(rs.getString("kind")),
+                                rs.getString("payload")), batchSize));
+                return writeHistory(claimed);
+            });
+            userDevelopmentSnapshotService.onLevelHistoryDrained(levelChangedUsers);
+        } catch (RuntimeException e) {
+            log.warn("Audit history batch of {} entries failed, retrying individually: {}",
+                    claimed.size(), e.getMessage());
+            claimed.forEach(entry -> drainOne(entry.id()));
+        }
+
+        meterRegistry.counter("audit.history.drained").increment(claimed.size());
+        return claimed.size();
+    }
+
+    private void drainOne(long id) {
+        try {
+            Set<Long> levelChangedUsers = transactionTemplate.execute(status -> writeHistory(jdbcTemplate.query(CLAIM_ONE_SQL,
+                    (rs, rowNum) -> new ClaimedEntry(rs.getLong("id"), AuditHistoryKind.valueOf(rs.getString("kind")),
+                            rs.getString("payload")), id)));
+            userDevelopmentSnapshotService.onLevelHistoryDrained(levelChangedUsers);
+        } catch (RuntimeException e) {
+            log.error("Parking audit entry {}: {}", id, e.getMessage());
+            meterRegistry.counter("audit.history.failed").increment();
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            jdbcTemplate.update("UPDATE audit_outbox SET failed_at = ?, last_error = ? WHERE id = ?",
+                    Timestamp.valueOf(LocalDateTime.now()),
+                    error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error, id);
+        }
+    }
+
+    /**
+     * Insert the history rows of the entries and return the users whose level changes they record
+     */
+    private Set<Long> writeHistory(List<ClaimedEntry> entries) {
+        List<SkillHistoryEntry> skills = new ArrayList<>();
+        List<ResourceHistoryEntry> resources = new ArrayList<>();
+        List<ProfileHistoryEntry> profiles = new ArrayList<>();
+
+        for (ClaimedEntry entry : entries) {
+            switch (entry.kind()) {
+                case SKILL -> skills.add(parse(entry, SkillHistoryEntry.class));
+                case RESOURCE -> resources.add(parse(entry, ResourceHistoryEntry.class));
+                case PROFILE -> profiles.add(parse(entry, ProfileHistoryEntry.class));
+            }
+        }
+
+        MultiRowInsert.update(jdbcTemplate, """
+                INSERT INTO skill_history (skill_id, user_id, action, previous_value, new_value,
+                                           performed_by_id, timestamp)
+                VALUES
+                """, null, skills, e -> new Object[] {
+                e.skillId(), e.userId(), e.action(), e.previousValue(), e.newValue(),
+                e.performedById(), Timestamp.valueOf(e.occurredAt())});
+        skillGrowthRollupService.apply(skills);
+
+        MultiRowInsert.update(jdbcTemplate, """
+                INSERT INTO resource_history (project_resource_id, project_id, user_id, action,
+                                              previous_role, new_role, previous_allocation, new_allocation,
+                                              performed_by_id, note, date)
+                VALUES
+                """, null, resources, e -> new Object[] {
+                e.projectResourceId(), e.projectId(), e.userId(), e.action(),
+                e.previousRole(), e.newRole(), e.previousAllocation(), e.newAllocation(),
+                e.performedById(), e.note(), Timestamp.valueOf(e.occurredAt())});
+
+        MultiRowInsert.update(jdbcTemplate, """
+                INSERT INTO profile_history (user_id, changed_field, previous_value, new_value, created_at)
+                VALUES
+                """, null, profiles, e -> new Object[] {
+                e.userId(), e.changedField(), e.previousValue(), e.newValue(), Timestamp.valueOf(e.occurredAt())});
+
+        Set<Long> levelChangedUsers = new HashSet<>();
+        for (SkillHistoryEntry entry : skills) {
+            if ("level_changed".equals(entry.action()) && entry.userId() != null) {
+                levelChangedUsers.add(entry.userId());
+            }
+        }
+        return levelChangedUsers;
+    }
+
+    private <T> T parse(ClaimedEntry entry, Class<T> type) {
+        try {
+            return objectMapper.readValue(entry.payload(), type);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable audit entry " + entry.id(), e);
+        }
+    }
+
+    private record ClaimedEntry(long id, AuditHistoryKind kind, String payload) {
+    }
+}
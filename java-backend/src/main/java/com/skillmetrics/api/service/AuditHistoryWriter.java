@@ -0,0 +1,147 @@
+package com.skillmetrics.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillmetrics.api.model.ProfileHistory;
+import com.skillmetrics.api.model.ResourceHistory;
+import com.skillmetrics.api.model.SkillHistory;
+import com.skillmetrics.api.model.enums.AuditHistoryKind;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Write-behind recorder for skill, resource and profile history.
+ *
+ * Entries recorded during a transaction are buffered and written to {@code audit_outbox}
+ * with a single multi-row INSERT just before that transaction commits, so they commit or
+ * roll back together with the change they describe. {@link AuditHistoryDrainer} later
+ * copies them into the history tables in batches. History reads may therefore lag the
+ * change by up to one drain interval.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditHistoryWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void recordSkillHistory(Long skillId, Long userId, String action,
+                                   String previousValue, String newValue, Long performedById) {
+        enqueue(AuditHistoryKind.SKILL, new SkillHistoryEntry(skillId, userId, action,
+                previousValue, newValue, performedById, LocalDateTime.now()));
+    }
+
+    public void recordResourceHistory(Long projectResourceId, Long projectId, Long userId, String action,
+                                      String previousRole, String newRole,
+                                      Integer previousAllocation, Integer newAllocation,
+                                      Long performedById, String note) {
+        enqueue(AuditHistoryKind.RESOURCE, new ResourceHistoryEntry(projectResourceId, projectId, userId, action,
+                previousRole, newRole, previousAllocation, newAllocation, performedById, note, LocalDateTime.now()));
+    }
+
+    public void recordProfileChange(Long userId, String changedField, String previousValue, String newValue) {
+        enqueue(AuditHistoryKind.PROFILE, new ProfileHistoryEntry(userId, changedField,
+                previousValue, newValue, LocalDateTime.now()));
+    }
+
+    /**
+     * Record a history row that was built as an entity. Only the ids of its associations are kept.
+     */
+    public void record(SkillHistory history) {
+        enqueue(AuditHistoryKind.SKILL, new SkillHistoryEntry(
+                history.getSkill() != null ? history.getSkill().getId() : null,
+                history.getUser() != null ? history.getUser().getId() : null,
+                history.getAction(), history.getPreviousValue(), history.getNewValue(),
+                history.getPerformedBy() != null ? history.getPerformedBy().getId() : null,
+                history.getTimestamp() != null ? history.getTimestamp() : LocalDateTime.now()));
+    }
+
+    public void record(ResourceHistory history) {
+        enqueue(AuditHistoryKind.RESOURCE, new ResourceHistoryEntry(
+                history.getProjectResource() != null ? history.getProjectResource().getId() : null,
+                history.getProject() != null ? history.getProject().getId() : null,
+                history.getUser() != null ? history.getUser().getId() : null,
+                history.getAction(), history.getPreviousRole(), history.getNewRole(),
+                history.getPreviousAllocation(), history.getNewAllocation(),
+                history.getPerformedBy() != null ? history.getPerformedBy().getId() : null,
+                history.getNote(),
+                history.getDate() != null ? history.getDate() : LocalDateTime.now()));
+    }
+
+    public void record(ProfileHistory history) {
+        enqueue(AuditHistoryKind.PROFILE, new ProfileHistoryEntry(
+                history.getUser() != null ? history.getUser().getId() : null,
+                history.getChangedField(), history.getPreviousValue(), history.getNewValue(),
+                history.getCreatedAt() != null ? history.getCreatedAt() : LocalDateTime.now()));
+    }
+
+    private void enqueue(AuditHistoryKind kind, Object entry) {
+        OutboxRow row = new OutboxRow(kind, toJson(entry), LocalDateTime.now());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(List.of(row));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<OutboxRow> buffer = (List<OutboxRow>) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            List<OutboxRow> pending = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // Still inside the transaction: a failure here rolls back the business change too
+                    insert(pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuditHistoryWriter.this);
+                }
+            });
+            buffer = pending;
+        }
+        buffer.add(row);
+    }
+
+    private void insert(List<OutboxRow> rows) {
+        MultiRowInsert.update(jdbcTemplate, "INSERT INTO audit_outbox (kind, payload, created_at) VALUES ", null,
+                rows, row -> new Object[] {row.kind().name(), row.payload(), Timestamp.valueOf(row.createdAt())});
+    }
+
+    private String toJson(Object entry) {
+        try {
+            return objectMapper.writeValueAsString(entry);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize audit entry " + entry, e);
+        }
+    }
+
+    private record OutboxRow(AuditHistoryKind kind, String payload, LocalDateTime createdAt) {
+    }
+
+    public record SkillHistoryEntry(Long skillId, Long userId, String action, String previousValue,
+                                    String newValue, Long performedById, LocalDateTime occurredAt) {
+    }
+
+    public record ResourceHistoryEntry(Long projectResourceId, Long projectId, Long userId, String action,
+                                       String previousRole, String newRole,
+                                       Integer previousAllocation, Integer newAllocation,
+                                       Long performedById, String note, LocalDateTime occurredAt) {
+    }
+
+    public record ProfileHistoryEntry(Long userId, String changedField, String previousValue,
+                                      String newValue, LocalDateTime occurredAt) {
+    }
+}
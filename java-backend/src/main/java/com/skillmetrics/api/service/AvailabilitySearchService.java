@@ -0,0 +1,161 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.dto.AvailabilityCandidateDto;
+import com.skillmetrics.api.dto.AvailabilitySearchRequest;
+import com.skillmetrics.api.exception.BadRequestException;
+import com.skillmetrics.api.model.User;
+import com.skillmetrics.api.model.enums.SkillLevel;
+import com.skillmetrics.api.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Staffing search: who has the requested skills and enough free capacity in a date window.
+ *
+ * Skill predicates are answered by {@link SkillPostingsIndex} and capacity by the
+ * allocation timelines in {@link AllocationEngine}, so ranking never touches the
+ * database; only the returned candidates are loaded, in one query.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilitySearchService {
+
+    private final SkillPostingsIndex skillPostingsIndex;
+    private final AllocationEngine allocationEngine;
+    private final UserRepository userRepository;
+
+    @Transactional(readOnly = true)
+    public List<AvailabilityCandidateDto> search(AvailabilitySearchRequest request) {
+        LocalDate startDate = request.getStartDate();
+        LocalDate endDate = request.getEndDate();
+        if (endDate.isBefore(startDate)) {
+            throw new BadRequestException("End date must not be before start date");
+        }
+
+        List<AvailabilitySearchRequest.SkillRequirement> requirements = request.getSkills();
+        List<String> skillNames = new ArrayList<>(requirements.size());
+        int[] minRanks = new int[requirements.size()];
+        for (int i = 0; i < requirements.size(); i++) {
+            AvailabilitySearchRequest.SkillRequirement requirement = requirements.get(i);
+            skillNames.add(requirement.getName());
+            if (requirement.getMinLevel() != null && !requirement.getMinLevel().isBlank()) {
+                minRanks[i] = SkillPostingsIndex.levelRank(requirement.getMinLevel());
+                if (minRanks[i] == 0) {
+                    throw new BadRequestException("Unknown skill level: " + requirement.getMinLevel());
+                }
+            }
+        }
+
+        int minFree = request.getMinFreeCapacity() != null ? request.getMinFreeCapacity() : 50;
+        double minCoverage = request.getMinCoverage() != null ? request.getMinCoverage() : 1.0;
+        int limit = request.getLimit() != null ? request.getLimit() : 20;
+        long windowDays = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+
+        List<Candidate> ranked = new ArrayList<>();
+        skillPostingsIndex.findUsers(skillNames, minRanks).forEach((userId, ranks) -> {
+            Candidate candidate = evaluate(userId, ranks, startDate, endDate, windowDays, minFree);
+            if (candidate.coverage() >= minCoverage) {
+                ranked.add(candidate);
+            }
+        });
+        ranked.sort(Comparator.comparingDouble(Candidate::coverage).reversed()
+                .thenComparing(Comparator.comparingDouble(Candidate::averageFree).reversed())
+                .thenComparing(Comparator.comparingInt(Candidate::rankTotal).reversed())
+                .thenComparing(Candidate::userId));
+
+        // Load users a page at a time, skipping deactivated accounts, until the limit is filled
+        List<AvailabilityCandidateDto> results = new ArrayList<>(limit);
+        for (int from = 0; from < ranked.size() && results.size() < limit; from += limit) {
+            List<Candidate> page = ranked.subList(from, Math.min(ranked.size(), from + limit));
+            Map<Long, User> users = userRepository.findAllById(page.stream().map(Candidate::userId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+
+            for (Candidate candidate : page) {
+                User user = users.get(candidate.userId());
+                if (user == null || Boolean.FALSE.equals(user.getIsActive())) {
+                    continue;
+                }
+                results.add(toDto(candidate, user, skillNames));
+                if (results.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return results;
+    }
+
+    private Candidate evaluate(Long userId, int[] ranks, LocalDate startDate, LocalDate endDate,
+                               long windowDays, int minFree) {
+        long coveredDays = 0;
+        long weightedFree = 0;
+        int lowestFree = AllocationEngine.FULL_ALLOCATION;
+        List<AvailabilityCandidateDto.FreeWindow> windows = new ArrayList<>();
+
+        for (AllocationEngine.AllocationWindow step : allocationEngine.getAllocationProfile(userId, startDate, endDate)) {
+            int free = Math.max(0, AllocationEngine.FULL_ALLOCATION - step.allocation());
+            long days = ChronoUnit.DAYS.between(step.startDate(), step.endDate()) + 1;
+            weightedFree += free * days;
+            lowestFree = Math.min(lowestFree, free);
+
+            if (free < minFree) {
+                continue;
+            }
+            coveredDays += days;
+
+            // Steps are contiguous, so a qualifying step directly after the last window extends it
+            AvailabilityCandidateDto.FreeWindow last = windows.isEmpty() ? null : windows.get(windows.size() - 1);
+            if (last != null && last.getEndDate().plusDays(1).equals(step.startDate())) {
+                last.setEndDate(step.endDate());
+                last.setFreeCapacity(Math.min(last.getFreeCapacity(), free));
+            } else {
+                windows.add(new AvailabilityCandidateDto.FreeWindow(step.startDate(), step.endDate(), free));
+            }
+        }
+
+        int rankTotal = 0;
+        for (int rank : ranks) {
+            rankTotal += rank;
+        }
+        return new Candidate(userId, ranks, rankTotal, (double) coveredDays / windowDays,
+                (double) weightedFree / windowDays, lowestFree, windows);
+    }
+
+    private AvailabilityCandidateDto toDto(Candidate candidate, User user, List<String> skillNames) {
+        SkillLevel[] levels = SkillLevel.values();
+        Map<String, String> skillLevels = new LinkedHashMap<>();
+        for (int i = 0; i < skillNames.size(); i++) {
+            int rank = candidate.ranks()[i];
+            skillLevels.put(skillNames.get(i), rank > 0 ? levels[rank - 1].name() : null);
+        }
+
+        return AvailabilityCandidateDto.builder()
+                .userId(user.getId())
+                .name(user.getFirstName() + " " + user.getLastName())
+                .email(user.getEmail())
+                .jobTitle(user.getJobTitle())
+                .skillLevels(skillLevels)
+                .coverage(candidate.coverage())
+                .averageFreeCapacity(candidate.averageFree())
+                .minFreeCapacity(candidate.lowestFree())
+                .freeWindows(candidate.windows())
+                .build();
+    }
+
+    private record Candidate(Long userId, int[] ranks, int rankTotal, double coverage, double averageFree,
+                             int lowestFree, List<AvailabilityCandidateDto.FreeWindow> windows) {
+    }
+}
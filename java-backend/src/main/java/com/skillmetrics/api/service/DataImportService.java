@@ -2,6 +2,7 @@ package com.skillmetrics.api.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillmetrics.api.event.BulkSkillDataChangedEvent;
 import com.skillmetrics.api.exception.ImportException;
 import com.skillmetrics.api.model.Skill;
 import com.skillmetrics.api.model.User;
@@ -9,6 +10,7 @@ import com.skillmetrics.api.repository.SkillRepository;
 import com.skillmetrics.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
@@ -33,6 +35,8 @@ public class DataImportService {
     private final SkillRepository skillRepository;
     private final PasswordEncoder passwordEncoder;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditHistoryWriter auditHistoryWriter;
 
     /**
      * Validate an import file before processing
@@ -209,6 +213,7 @@ public class DataImportService {
                     if (existingSkill.isPresent()) {
                         // Update existing skill
                         Skill skill = existingSkill.get();
+                        String previousLevel = skill.getLevel();
                         skill.setLevel((String) skillMap.get("level"));
                         skill.setDescription((String) skillMap.get("description"));
                         skill.setCertification((String) skillMap.get("certification"));
@@ -216,6 +221,10 @@ public class DataImportService {
                         skill.setUpdatedAt(LocalDateTime.now());
                         
                         skillRepository.save(skill);
+                        if (!Objects.equals(previousLevel, skill.getLevel())) {
+                            auditHistoryWriter.recordSkillHistory(skill.getId(), userId, "level_changed",
+                                    previousLevel, skill.getLevel(), importedBy);
+                        }
                         updated++;
                     } else {
                         // Create new skill
@@ -233,12 +242,12 @@ public class DataImportService {
                         skill.setCreatedAt(now);
                         skill.setUpdatedAt(now);
                         
-                        skillRepository.save(skill);
+                        Skill savedSkill = skillRepository.save(skill);
+                        auditHistoryWriter.recordSkillHistory(savedSkill.getId(), userId, "created",
+                                null, savedSkill.getLevel(), importedBy);
                         imported++;
                     }
                     
-                    // TODO: Create skill history entry for audit
-                    
                 } catch (Exception e) {
                     log.error("Error importing skill", e);
                     errors.add("Error importing skill at row " + (imported + updated + skipped + 1) + ": " + e.getMessage());
@@ -251,6 +260,10 @@ public class DataImportService {
             result.put("skipped", skipped);
             result.put("errors", errors);
             
+            if (imported + updated > 0) {
+                eventPublisher.publishEvent(new BulkSkillDataChangedEvent("skill-import"));
+            }
+            
         } catch (Exception e) {
             log.error("Error importing skills", e);
             result.put("error", "Error importing skills: " + e.getMessage());
@@ -0,0 +1,314 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.model.EmailOutboxMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email outbox with a small pool of delivery workers.
+ *
+ * Each worker claims a batch of due messages and hands the whole batch to
+ * {@link JavaMailSender#send(MimeMessage...)}, which delivers it over a single SMTP
+ * connection. Recipient domains are throttled with a token bucket, and failed
+ * messages are retried with exponential backoff until {@code max-attempts}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailDeliveryWorker {
+
+    private final EmailOutboxService outboxService;
+    private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.email.from:noreply@skillmetrics.com}")
+    private String fromEmail;
+
+    @Value("${app.email.outbox.workers:2}")
+    private int workerCount;
+
+    @Value("${app.email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.email.outbox.retry-base-delay:30000}")
+    private long retryBaseDelay;
+
+    @Value("${app.email.outbox.retry-max-delay:3600000}")
+    private long retryMaxDelay;
+
+    @Value("${app.email.outbox.rate-limit-per-domain:60}")
+    private int messagesPerDomainPerMinute;
+
+    @Value("${app.email.outbox.lease-timeout:600000}")
+    private long leaseTimeout;
+
+    @Value("${app.email.outbox.retention-days:14}")
+    private int retentionDays;
+
+    private final Map<String, DomainRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+
+    private ExecutorService workerPool;
+    private Semaphore idleWorkers;
+
+    private Timer sendTimer;
+    private Timer deliveryLatency;
+    private Counter sentCounter;
+    private Counter retriedCounter;
+    private Counter failedCounter;
+    private Counter deferredCounter;
+
+    @PostConstruct
+    void init() {
+        workerPool = Executors.newFixedThreadPool(workerCount, new CustomizableThreadFactory("email-outbox-"));
+        idleWorkers = new Semaphore(workerCount);
+
+        Gauge.builder("email.outbox.pending", pendingCount, AtomicLong::get)
+                .description("Messages waiting in the email outbox")
+                .register(meterRegistry);
+        Gauge.builder("email.outbox.oldest.pending.age", oldestPendingAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest pending message")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        sendTimer = Timer.builder("email.outbox.send")
+                .description("Time to deliver one batch over a single SMTP connection")
+                .register(meterRegistry);
+        deliveryLatency = Timer.builder("email.outbox.delivery.latency")
+                .description("Time from enqueue to successful delivery")
+                .register(meterRegistry);
+        sentCounter = meterRegistry.counter("email.outbox.sent");
+        retriedCounter = meterRegistry.counter("email.outbox.retried");
+        failedCounter = meterRegistry.counter("email.outbox.failed");
+        deferredCounter = meterRegistry.counter("email.outbox.rate.limited");
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        workerPool.shutdown();
+        if (!workerPool.awaitTermination(30, TimeUnit.SECONDS)) {
+            // Claimed messages are returned to the queue by the lease sweep on the next start
+            workerPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Refresh queue metrics and start as many workers as the backlog needs
+     */
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval:2000}")
+    public void dispatch() {
+        long pending = outboxService.countPending();
+        pendingCount.set(pending);
+
+        LocalDateTime oldest = pending > 0 ? outboxService.getOldestPendingCreatedAt() : null;
+        oldestPendingAgeSeconds.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).getSeconds());
+
+        long needed = (pending + batchSize - 1) / batchSize;
+        for (long i = 0; i < needed && idleWorkers.tryAcquire(); i++) {
+            workerPool.execute(() -> {
+                try {
+                    drain();
+                } catch (RuntimeException e) {
+                    log.error("Email outbox worker failed", e);
+                } finally {
+                    idleWorkers.release();
+                }
+            });
+        }
+    }
+
+    /**
+     * Return messages held by crashed workers to the queue and drop old delivered ones.
+     * Scheduled cluster-wide by {@link ScheduledJobs}.
+     */
+    public void maintain() {
+        LocalDateTime now = LocalDateTime.now();
+
+        int released = outboxService.releaseStale(now.minus(Duration.ofMillis(leaseTimeout)));
+        if (released > 0) {
+            log.warn("Released {} email outbox messages with expired leases", released);
+        }
+
+        int purged = outboxService.purgeSentBefore(now.minusDays(retentionDays));
+        if (purged > 0) {
+            log.info("Purged {} delivered email outbox messages", purged);
+        }
+    }
+
+    private void drain() {
+        List<EmailOutboxMessage> batch;
+        while (!(batch = outboxService.claimBatch(batchSize)).isEmpty()) {
+            deliver(batch);
+        }
+    }
+
+    private void deliver(List<EmailOutboxMessage> batch) {
+        Map<MimeMessage, EmailOutboxMessage> prepared = new IdentityHashMap<>();
+        Map<String, List<Long>> throttled = new HashMap<>();
+        Map<String, Long> throttledWait = new HashMap<>();
+
+        for (EmailOutboxMessage message : batch) {
+            String domain = message.getRecipientDomain();
+            long waitMillis = rateLimiters
+                    .computeIfAbsent(domain, d -> new DomainRateLimiter(messagesPerDomainPerMinute))
+                    .tryAcquire();
+
+            if (waitMillis > 0) {
+                throttled.computeIfAbsent(domain, d -> new ArrayList<>()).add(message.getId());
+                throttledWait.merge(domain, waitMillis, Math::max);
+                continue;
+            }
+
+            try {
+                prepared.put(toMimeMessage(message), message);
+            } catch (MessagingException | MailException e) {
+                // The message itself is malformed; retrying will not help
+                outboxService.recordFailure(message.getId(), e.getMessage(), null);
+                failedCounter.increment();
+            }
+        }
+
+        throttled.forEach((domain, ids) -> {
+            outboxService.defer(ids, LocalDateTime.now().plus(Duration.ofMillis(throttledWait.get(domain))));
+            deferredCounter.increment(ids.size());
+        });
+
+        if (prepared.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            mailSender.send(prepared.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+        } catch (MailException e) {
+            // Connection or authentication problem: nothing in the batch went out
+            Map<Object, Exception> all = new IdentityHashMap<>();
+            prepared.keySet().forEach(mime -> all.put(mime, e));
+            failures = all;
+        } finally {
+            sample.stop(sendTimer);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> sentIds = new ArrayList<>();
+        for (Map.Entry<MimeMessage, EmailOutboxMessage> entry : prepared.entrySet()) {
+            EmailOutboxMessage message = entry.getValue();
+            Exception failure = failures.get(entry.getKey());
+
+            if (failure == null) {
+                sentIds.add(message.getId());
+                if (message.getCreatedAt() != null) {
+                    deliveryLatency.record(Duration.between(message.getCreatedAt(), now));
+                }
+            } else {
+                LocalDateTime retryAt = nextAttemptAt(message.getAttempts() + 1, now);
+                outboxService.recordFailure(message.getId(), failure.getMessage(), retryAt);
+                (retryAt == null ? failedCounter : retriedCounter).increment();
+                log.warn("Email {} to {} failed (attempt {}): {}",
+                        message.getId(), message.getRecipient(), message.getAttempts() + 1, failure.getMessage());
+            }
+        }
+
+        outboxService.markSent(sentIds);
+        sentCounter.increment(sentIds.size());
+        log.debug("Delivered {} of {} emails in batch", sentIds.size(), prepared.size());
+    }
+
+    private MimeMessage toMimeMessage(EmailOutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage,
+                MimeMessageHelper.MULTIPART_MODE_MIXED,
+                StandardCharsets.UTF_8.name());
+
+        helper.setFrom(fromEmail);
+        helper.setTo(message.getRecipient());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getBody(), true);
+        return mimeMessage;
+    }
+
+    /**
+     * Exponential backoff with jitter, or null once the message has used up its attempts
+     */
+    private LocalDateTime nextAttemptAt(int attemptsMade, LocalDateTime now) {
+        if (attemptsMade >= maxAttempts) {
+            return null;
+        }
+
+        long delay = retryBaseDelay << Math.min(attemptsMade - 1, 20);
+        delay = Math.min(delay, retryMaxDelay);
+        delay += ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+        return now.plus(Duration.ofMillis(delay));
+    }
+
+    /**
+     * Token bucket allowing a fixed number of messages per minute to one domain
+     */
+    private static final class DomainRateLimiter {
+
+        private final double capacity;
+        private final double tokensPerMilli;
+        private double tokens;
+        private long lastRefill = System.currentTimeMillis();
+
+        private DomainRateLimiter(int perMinute) {
+            this.capacity = Math.max(1, perMinute);
+            this.tokensPerMilli = capacity / 60_000d;
+            this.tokens = capacity;
+        }
+
+        /**
+         * Take a token, returning 0 on success or the milliseconds until one is available
+         */
+        synchronized long tryAcquire() {
+            long now = System.currentTimeMillis();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerMilli);
+            lastRefill = now;
+
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerMilli);
+        }
+    }
+}
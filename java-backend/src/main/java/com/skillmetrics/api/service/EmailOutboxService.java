@@ -0,0 +1,146 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.model.EmailOutboxMessage;
+import com.skillmetrics.api.model.enums.EmailOutboxStatus;
+import com.skillmetrics.api.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Transactional operations on the email outbox. Delivery itself happens in
+ * {@link EmailDeliveryWorker}; everything here is short database work.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository outboxRepository;
+
+    /**
+     * Queue an email. Joins the caller's transaction when there is one, so the
+     * email is only sent if the surrounding change commits. Returns null for an
+     * unusable address rather than failing the caller's transaction.
+     */
+    @Transactional
+    public EmailOutboxMessage enqueue(String to, String subject, String htmlBody) {
+        String recipient = to == null ? "" : to.trim();
+        String domain = domainOf(recipient);
+        if (domain == null) {
+            log.warn("Not queueing email '{}' to invalid address '{}'", subject, recipient);
+            return null;
+        }
+
+        EmailOutboxMessage message = EmailOutboxMessage.builder()
+                .recipient(recipient)
+                .recipientDomain(domain)
+                .subject(subject)
+                .body(htmlBody)
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+
+        return outboxRepository.save(message);
+    }
+
+    /**
+     * Claim up to {@code limit} due messages for the calling worker
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<EmailOutboxMessage> claimBatch(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = outboxRepository.lockDueIds(now, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        outboxRepository.markSending(ids, now);
+        return outboxRepository.findAllById(ids);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void markSent(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            outboxRepository.markSent(ids, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Put messages back in the queue without counting an attempt, e.g. when the
+     * recipient domain is over its rate limit
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void defer(Collection<Long> ids, LocalDateTime nextAttemptAt) {
+        if (!ids.isEmpty()) {
+            outboxRepository.release(ids, nextAttemptAt);
+        }
+    }
+
+    /**
+     * Record a failed delivery attempt. The message is retried at {@code nextAttemptAt},
+     * or marked as permanently failed when {@code nextAttemptAt} is null.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordFailure(Long id, String error, LocalDateTime nextAttemptAt) {
+        outboxRepository.findById(id).ifPresent(message -> {
+            message.setAttempts(message.getAttempts() + 1);
+            message.setLockedAt(null);
+            message.setLastError(truncate(error));
+
+            if (nextAttemptAt == null) {
+                message.setStatus(EmailOutboxStatus.FAILED);
+                log.error("Giving up on email {} to {} after {} attempts: {}",
+                        id, message.getRecipient(), message.getAttempts(), error);
+            } else {
+                message.setStatus(EmailOutboxStatus.PENDING);
+                message.setNextAttemptAt(nextAttemptAt);
+            }
+        });
+    }
+
+    @Transactional
+    public int releaseStale(LocalDateTime lockedBefore) {
+        return outboxRepository.releaseStale(lockedBefore);
+    }
+
+    @Transactional
+    public int purgeSentBefore(LocalDateTime cutoff) {
+        return outboxRepository.deleteSentBefore(cutoff);
+    }
+
+    @Transactional(readOnly = true)
+    public long countPending() {
+        return outboxRepository.countByStatus(EmailOutboxStatus.PENDING);
+    }
+
+    @Transactional(readOnly = true)
+    public LocalDateTime getOldestPendingCreatedAt() {
+        return outboxRepository.findOldestPendingCreatedAt();
+    }
+
+    private String domainOf(String address) {
+        int at = address.lastIndexOf('@');
+        if (at <= 0 || at == address.length() - 1) {
+            return null;
+        }
+        return address.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
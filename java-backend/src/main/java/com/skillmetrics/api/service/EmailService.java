@@ -4,52 +4,29 @@ import com.skillmetrics.api.model.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
-import javax.mail.MessagingException;
-import javax.mail.internet.MimeMessage;
-import java.nio.charset.StandardCharsets;
-
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final EmailOutboxService emailOutboxService;
+    private final NotificationDigestService notificationDigestService;
     private final TemplateEngine templateEngine;
 
-    @Value("${app.email.from:noreply@skillmetrics.com}")
-    private String fromEmail;
-
     @Value("${app.base-url:http://localhost:8080}")
     private String baseUrl;
 
     /**
-     * Send email asynchronously
+     * Queue an email for delivery. The message is stored in the outbox as part of the
+     * caller's transaction and sent by the delivery workers, so this never blocks on SMTP.
      */
-    @Async
     public void sendEmail(String to, String subject, String htmlBody) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, 
-                    MimeMessageHelper.MULTIPART_MODE_MIXED, 
-                    StandardCharsets.UTF_8.name());
-
-            helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlBody, true);
-
-            mailSender.send(message);
-            log.info("Email sent to {}", to);
-        } catch (MessagingException e) {
-            log.error("Failed to send email to {}", to, e);
-        }
+        emailOutboxService.enqueue(to, subject, htmlBody);
+        log.debug("Email to {} queued", to);
     }
 
     /**
@@ -92,9 +69,15 @@ public class EmailService {
     }
 
     /**
-     * Send notification email
+     * Send notification email, or hold it for the user's digest unless they
+     * have asked for immediate notification emails
      */
     public void sendNotificationEmail(User user, String subject, String message) {
+        if (notificationDigestService.shouldDigest(user)) {
+            notificationDigestService.hold(user, subject, message);
+            return;
+        }
+        
         Context context = new Context();
         context.setVariable("name", user.getFirstName() + " " + user.getLastName());
         context.setVariable("message", message);
@@ -1,6 +1,7 @@
 package com.skillmetrics.api.service;
 
 import com.skillmetrics.api.dto.EndorsementDto;
+import com.skillmetrics.api.event.EndorsementChangedEvent;
 import com.skillmetrics.api.exception.ResourceAlreadyExistsException;
 import com.skillmetrics.api.exception.ResourceNotFoundException;
 import com.skillmetrics.api.model.Endorsement;
@@ -11,6 +12,7 @@ import com.skillmetrics.api.repository.EndorsementRepository;
 import com.skillmetrics.api.repository.SkillRepository;
 import com.skillmetrics.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -27,7 +29,8 @@ public class EndorsementService {
     private final EndorsementRepository endorsementRepository;
     private final SkillRepository skillRepository;
     private final UserRepository userRepository;
-    private final SkillHistoryService skillHistoryService;
+    private final AuditHistoryWriter auditHistoryWriter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<EndorsementDto> getAllEndorsements() {
@@ -140,16 +143,15 @@ public class EndorsementService {
         skillRepository.save(skill);
         
         // Create skill history entry for the endorsement
-        skillHistoryService.createSkillHistory(
-            skill,
+        auditHistoryWriter.recordSkillHistory(
+            skill.getId(),
+            skill.getUser().getId(),
             "endorsed",
             null,
-            null,
-            null,
-            null,
             "Endorsed with rating: " + endorsementDto.getRating(),
-            endorser
+            endorser.getId()
         );
+        eventPublisher.publishEvent(new EndorsementChangedEvent(savedEndorsement.getId(), skill.getUser().getId()));
         
         return mapToDto(savedEndorsement);
     }
@@ -173,6 +175,7 @@ public class EndorsementService {
         endorsement.setRating(endorsementDto.getRating());
         
         Endorsement updatedEndorsement = endorsementRepository.save(endorsement);
+        eventPublisher.publishEvent(new EndorsementChangedEvent(id, endorsement.getSkill().getUser().getId()));
         
         return mapToDto(updatedEndorsement);
     }
@@ -206,6 +209,7 @@ public class EndorsementService {
         Integer count = endorsementRepository.getEndorsementCountForSkill(skillId);
         skill.setEndorsementCount(count);
         skillRepository.save(skill);
+        eventPublisher.publishEvent(new EndorsementChangedEvent(id, skill.getUser().getId()));
     }
     
     // Helper method to map Endorsement entity to EndorsementDto
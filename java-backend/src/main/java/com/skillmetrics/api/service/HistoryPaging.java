@@ -0,0 +1,80 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.dto.HistoryPageDto;
+import com.skillmetrics.api.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset paging shared by the history range queries. Pages run newest first over
+ * {@code [from, to)}, ordered by timestamp and id, so each page is a bounded range
+ * scan of the few monthly partitions it touches.
+ */
+final class HistoryPaging {
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 500;
+
+    private HistoryPaging() {
+    }
+
+    /**
+     * Position after which the next page starts. The first page starts just before {@code to};
+     * a cursor outside {@code [from, to)} was not issued for this range and is rejected.
+     */
+    static Cursor start(LocalDateTime from, LocalDateTime to, String after) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        if (after == null || after.isEmpty()) {
+            return new Cursor(to, Long.MIN_VALUE);
+        }
+        Cursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            cursor = new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid history cursor");
+        }
+        if (cursor.timestamp().isBefore(from) || !cursor.timestamp().isBefore(to)) {
+            throw new BadRequestException("History cursor is outside the requested range");
+        }
+        return cursor;
+    }
+
+    static int pageSize(Integer limit) {
+        return limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Build a page from a query that fetched one row more than the page size
+     */
+    static <E, D> HistoryPageDto<D> toPage(List<E> rows, int pageSize,
+                                           Function<E, LocalDateTime> timestamp, Function<E, Long> id,
+                                           Function<List<E>, List<D>> converter) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> page = hasMore ? rows.subList(0, pageSize) : rows;
+        E last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return HistoryPageDto.<D>builder()
+                .items(converter.apply(page))
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? encode(timestamp.apply(last), id.apply(last)) : null)
+                .build();
+    }
+
+    private static String encode(LocalDateTime timestamp, Long id) {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    record Cursor(LocalDateTime timestamp, Long id) {
+    }
+}
@@ -0,0 +1,430 @@
+package com.skillmetrics.api.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the audit-history tables partitioned by month.
+ *
+ * A history table that is still a plain table is converted online by the maintenance job,
+ * which runs on one instance of the cluster: a partitioned copy is created beside it, a
+ * trigger mirrors new writes into the copy while existing rows are copied over in batches,
+ * and the two tables are swapped in one short transaction at the end. An interrupted
+ * conversion resumes on the next run. Partitions are created a few months ahead, with a
+ * BRIN index on the timestamp column, and partitions older than {@code retention-months}
+ * are written to gzip-compressed CSV files under {@code archive-dir} and then dropped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HistoryPartitionManager {
+
+    private static final List<HistoryTable> TABLES = List.of(
+            new HistoryTable("skill_history", "timestamp", "skill_id"),
+            new HistoryTable("resource_history", "date", "project_resource_id"),
+            new HistoryTable("profile_history", "created_at", null));
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'_p'yyyyMM");
+
+    private static final int ARCHIVE_FETCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.history.partitioning.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.history.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.history.partitioning.copy-batch-size:5000}")
+    private int copyBatchSize;
+
+    @Value("${app.history.retention-months:24}")
+    private int retentionMonths;
+
+    @Value("${app.history.archive-dir:archive/history}")
+    private String archiveDir;
+
+    /**
+     * Drop the foreign keys earlier schemas created on the subject columns. Only touches
+     * the catalog, so it runs on every instance regardless of {@code enabled}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void dropSubjectForeignKeys() {
+        for (HistoryTable table : TABLES) {
+            if (table.subjectColumn() == null) {
+                continue;
+            }
+            for (String constraint : foreignKeysOn(table.name(), table.subjectColumn())) {
+                jdbcTemplate.execute("ALTER TABLE " + table.name() + " DROP CONSTRAINT IF EXISTS " + quote(constraint));
+                log.info("Dropped foreign key {} from {}.{}", constraint, table.name(), table.subjectColumn());
+            }
+        }
+    }
+
+    /**
+     * Convert history tables that are still plain tables, and make sure the current month
+     * and the next {@code months-ahead} months have partitions. Fails if any table could
+     * not be brought up to date. Scheduled cluster-wide by {@link ScheduledJobs}, and
+     * shortly after startup.
+     */
+    public void maintainPartitions() {
+        if (!enabled) {
+            return;
+        }
+
+        YearMonth current = YearMonth.now();
+        List<String> failed = new ArrayList<>();
+        for (HistoryTable table : TABLES) {
+            try {
+                if (!isPartitioned(table.name()) && !convert(table)) {
+                    continue;
+                }
+                for (int i = 0; i <= monthsAhead; i++) {
+                    createPartition(table, table.name(), current.plusMonths(i));
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not maintain partitions of {}", table.name(), e);
+                failed.add(table.name());
+            }
+        }
+        if (!failed.isEmpty()) {
+            throw new IllegalStateException("Partition maintenance failed for " + failed);
+        }
+    }
+
+    /**
+     * Move partitions that fell out of the retention window to cold storage.
+     * Scheduled cluster-wide by {@link ScheduledJobs}.
+     */
+    public void archiveExpiredPartitions() {
+        if (!enabled) {
+            return;
+        }
+
+        YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+        for (HistoryTable table : TABLES) {
+            if (!isPartitioned(table.name())) {
+                continue;
+            }
+            for (String partition : listMonthlyPartitions(table)) {
+                YearMonth month = monthOf(table, partition);
+                if (month != null && month.isBefore(oldestKept)) {
+                    try {
+                        archivePartition(table, partition);
+                    } catch (IOException | RuntimeException e) {
+                        log.error("Could not archive history partition {}", partition, e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Convert a plain history table without blocking its writers for longer than the final
+     * swap. Returns false if the table does not exist yet.
+     */
+    private boolean convert(HistoryTable table) {
+        String name = table.name();
+        String staging = name + "_partitioned";
+        String mirror = name + "_mirror";
+        if (!exists(name)) {
+            return false;
+        }
+
+        if (!exists(staging)) {
+            transactionTemplate.executeWithoutResult(status -> createStaging(table, staging));
+        }
+
+        // Taking the trigger's lock waits out in-flight writes; every later write is mirrored
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("CREATE OR REPLACE FUNCTION " + mirror + "() RETURNS trigger LANGUAGE plpgsql AS $$\n"
+                    + "BEGIN\n"
+                    + "    IF TG_OP <> 'INSERT' THEN\n"
+                    + "        DELETE FROM " + staging + " WHERE id = OLD.id;\n"
+                    + "    END IF;\n"
+                    + "    IF TG_OP <> 'DELETE' THEN\n"
+                    + "        INSERT INTO " + staging + " SELECT NEW.* ON CONFLICT DO NOTHING;\n"
+                    + "    END IF;\n"
+                    + "    RETURN NULL;\n"
+                    + "END\n"
+                    + "$$");
+            jdbcTemplate.execute("DROP TRIGGER IF EXISTS " + mirror + " ON " + name);
+            jdbcTemplate.execute("CREATE TRIGGER " + mirror + " AFTER INSERT OR UPDATE OR DELETE ON " + name
+                    + " FOR EACH ROW EXECUTE FUNCTION " + mirror + "()");
+        });
+
+        // Rows are locked while copied, so a delete racing the copy waits and is then mirrored
+        long copied = 0;
+        long lastId = 0;
+        while (true) {
+            Map<String, Object> batch = jdbcTemplate.queryForMap("WITH batch AS (SELECT * FROM " + name
+                    + " WHERE id > ? ORDER BY id LIMIT ? FOR SHARE),"
+                    + " copied AS (INSERT INTO " + staging + " SELECT * FROM batch ON CONFLICT DO NOTHING)"
+                    + " SELECT max(id) AS last_id, count(*) AS rows FROM batch", lastId, copyBatchSize);
+            if (batch.get("last_id") == null) {
+                break;
+            }
+            copied += ((Number) batch.get("rows")).longValue();
+            lastId = ((Number) batch.get("last_id")).longValue();
+        }
+        log.info("Copied {} rows of {} into {}", copied, name, staging);
+
+        transactionTemplate.executeWithoutResult(status -> swap(table, staging, mirror));
+        log.info("Converted {} to a monthly partitioned table", name);
+        return true;
+    }
+
+    private void createStaging(HistoryTable table, String staging) {
+        String name = table.name();
+        String column = quote(table.timeColumn());
+        String sequence = name + "_id_part_seq";
+
+        log.info("Converting {} to a monthly partitioned table", name);
+
+        // Identity columns are not supported on partitioned tables before Postgres 17, so ids come from a sequence
+        jdbcTemplate.execute("CREATE TABLE " + staging + " (LIKE " + name + " INCLUDING DEFAULTS)"
+                + " PARTITION BY RANGE (" + column + ")");
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence);
+        jdbcTemplate.execute("ALTER TABLE " + staging + " ALTER COLUMN id SET DEFAULT nextval('" + sequence + "')");
+        jdbcTemplate.execute("ALTER TABLE " + staging + " ALTER COLUMN " + column + " SET NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE " + staging + " ADD PRIMARY KEY (id, " + column + ")");
+        List<String> subjectKeys = table.subjectColumn() != null
+                ? foreignKeysOn(name, table.subjectColumn()) : List.of();
+        jdbcTemplate.queryForList("""
+                        SELECT conname, pg_get_constraintdef(oid) AS definition FROM pg_constraint
+                        WHERE conrelid = ?::regclass AND contype = 'f'
+                        """, name).stream()
+                .filter(foreignKey -> !subjectKeys.contains((String) foreignKey.get("conname")))
+                .forEach(foreignKey -> jdbcTemplate.execute("ALTER TABLE " + staging + " ADD CONSTRAINT "
+                        + quote((String) foreignKey.get("conname")) + " " + foreignKey.get("definition")));
+
+        // New rows are stamped with the current time, so the existing oldest row bounds the months needed
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT min(" + column + ") FROM " + name, Timestamp.class);
+        YearMonth month = oldest != null ? YearMonth.from(oldest.toLocalDateTime()) : YearMonth.now();
+        for (YearMonth last = YearMonth.now().plusMonths(monthsAhead); !month.isAfter(last); month = month.plusMonths(1)) {
+            createPartition(table, staging, month);
+        }
+        // Catches rows outside the prepared months instead of failing the insert
+        jdbcTemplate.execute("CREATE TABLE " + name + "_default PARTITION OF " + staging + " DEFAULT");
+        jdbcTemplate.execute("CREATE INDEX " + name + "_" + table.timeColumn() + "_brin ON "
+                + staging + " USING brin (" + column + ")");
+    }
+
+    /**
+     * Put the fully mirrored copy in place of the plain table. Only reads the sequence
+     * position and renames, so the exclusive lock is held briefly.
+     */
+    private void swap(HistoryTable table, String staging, String mirror) {
+        String name = table.name();
+        String legacy = name + "_unpartitioned";
+        String sequence = name + "_id_part_seq";
+
+        jdbcTemplate.execute("LOCK TABLE " + name + " IN ACCESS EXCLUSIVE MODE");
+        jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', (SELECT COALESCE(max(id), 0) + 1 FROM "
+                + name + "), false)", Long.class);
+        jdbcTemplate.execute("DROP TRIGGER " + mirror + " ON " + name);
+        jdbcTemplate.execute("DROP FUNCTION " + mirror + "()");
+
+        jdbcTemplate.execute("ALTER TABLE " + name + " RENAME TO " + legacy);
+        renamePrimaryKey(legacy, legacy + "_pkey");
+        jdbcTemplate.execute("ALTER TABLE " + staging + " RENAME TO " + name);
+        renamePrimaryKey(name, name + "_pkey");
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " OWNED BY " + name + ".id");
+        jdbcTemplate.execute("DROP TABLE " + legacy);
+    }
+
+    private void renamePrimaryKey(String tableName, String constraint) {
+        jdbcTemplate.queryForList("""
+                        SELECT conname FROM pg_constraint
+                        WHERE conrelid = ?::regclass AND contype = 'p'
+                        """, String.class, tableName)
+                .forEach(pk -> jdbcTemplate.execute(
+                        "ALTER TABLE " + tableName + " RENAME CONSTRAINT " + quote(pk) + " TO " + constraint));
+    }
+
+    /**
+     * Create the partition for a month under {@code parent}. Rows of that month already in
+     * the default partition are moved into the new partition, with the default partition
+     * detached meanwhile; without that the partition could never be created.
+     */
+    private void createPartition(HistoryTable table, String parent, YearMonth month) {
+        String partition = table.name() + month.format(PARTITION_SUFFIX);
+        if (exists(partition)) {
+            return;
+        }
+
+        String column = quote(table.timeColumn());
+        String bounds = "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+        String defaultPartition = table.name() + "_default";
+        String inMonth = column + " >= '" + month.atDay(1) + "' AND " + column + " < '" + month.plusMonths(1).atDay(1) + "'";
+
+        boolean strays = exists(defaultPartition) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + defaultPartition + " WHERE " + inMonth + ")", Boolean.class));
+        if (!strays) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + parent + " " + bounds);
+            return;
+        }
+
+        Integer moved = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("ALTER TABLE " + parent + " DETACH PARTITION " + defaultPartition);
+            jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF " + parent + " " + bounds);
+            int rows = jdbcTemplate.update("WITH moved AS (DELETE FROM " + defaultPartition + " WHERE " + inMonth
+                    + " RETURNING *) INSERT INTO " + partition + " SELECT * FROM moved");
+            jdbcTemplate.execute("ALTER TABLE " + parent + " ATTACH PARTITION " + defaultPartition + " DEFAULT");
+            return rows;
+        });
+        log.warn("Created history partition {} and moved {} rows into it from {}", partition, moved, defaultPartition);
+    }
+
+    private void archivePartition(HistoryTable table, String partition) throws IOException {
+        Path directory = Paths.get(archiveDir, table.name()).toAbsolutePath().normalize();
+        Files.createDirectories(directory);
+        Path target = directory.resolve(partition + ".csv.gz");
+        Path temporary = directory.resolve(partition + ".csv.gz.tmp");
+
+        AtomicLong written = new AtomicLong();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temporary)), StandardCharsets.UTF_8))) {
+            // Inside a transaction the driver streams the partition with a cursor instead of loading it
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement("SELECT * FROM " + partition + " ORDER BY id");
+                statement.setFetchSize(ARCHIVE_FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                try {
+                    ResultSetMetaData metaData = rs.getMetaData();
+                    if (written.get() == 0) {
+                        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                            writer.write(i > 1 ? "," : "");
+                            writer.write(metaData.getColumnName(i));
+                        }
+                        writer.write('\n');
+                    }
+                    for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                        writer.write(i > 1 ? "," : "");
+                        writer.write(csvValue(rs.getString(i)));
+                    }
+                    writer.write('\n');
+                    written.incrementAndGet();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        boolean dropped = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("LOCK TABLE " + partition + " IN ACCESS EXCLUSIVE MODE");
+            Long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM " + partition, Long.class);
+            if (rows == null || rows != written.get()) {
+                // Rows arrived while archiving; the next run writes a fresh file
+                return false;
+            }
+            jdbcTemplate.execute("ALTER TABLE " + table.name() + " DETACH PARTITION " + partition);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            return true;
+        }));
+
+        if (dropped) {
+            log.info("Archived {} rows of {} to {}", written.get(), partition, target);
+        } else {
+            log.warn("History partition {} changed while archiving; will retry", partition);
+        }
+    }
+
+    private boolean isPartitioned(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))
+                """, Boolean.class, name));
+    }
+
+    private List<String> foreignKeysOn(String tableName, String column) {
+        return jdbcTemplate.queryForList("""
+                SELECT c.conname FROM pg_constraint c
+                JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = ANY (c.conkey)
+                WHERE c.conrelid = to_regclass(?) AND c.contype = 'f' AND a.attname = ?
+                """, String.class, tableName, column);
+    }
+
+    private boolean exists(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name));
+    }
+
+    private List<String> listMonthlyPartitions(HistoryTable table) {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass(?)
+                ORDER BY c.relname
+                """, String.class, table.name());
+    }
+
+    private YearMonth monthOf(HistoryTable table, String partition) {
+        String suffix = partition.substring(table.name().length());
+        try {
+            return YearMonth.parse(suffix, PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            // The default partition, or something created by hand
+            return null;
+        }
+    }
+
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * {@code subjectColumn} references the row the history describes. It has no foreign key,
+     * since history is written behind the change and may arrive after that row is deleted.
+     */
+    private record HistoryTable(String name, String timeColumn, String subjectColumn) {
+    }
+}
@@ -3,10 +3,12 @@ package com.skillmetrics.api.service;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.skillmetrics.api.dto.*;
+import com.skillmetrics.api.event.BulkSkillDataChangedEvent;
 import com.skillmetrics.api.model.*;
 import com.skillmetrics.api.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,6 +35,7 @@ public class MigrationService {
     
     private final PasswordEncoder passwordEncoder;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Map<String, Integer> migrateData(MultipartFile jsonFile) throws IOException {
@@ -49,6 +52,8 @@ public class MigrationService {
         int endorsementsCount = migrateEndorsements(data);
         int notificationsCount = migrateNotifications(data);
         
+        eventPublisher.publishEvent(new BulkSkillDataChangedEvent("migration"));
+        
         return Map.of(
             "users", usersCount,
             "clients", clientsCount,
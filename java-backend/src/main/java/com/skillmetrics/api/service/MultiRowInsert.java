@@ -0,0 +1,73 @@
+package com.skillmetrics.api.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Multi-row {@code INSERT ... VALUES (...), (...)} statements, for writes where one
+ * round trip per chunk matters and Hibernate cannot batch (IDENTITY keys) or is not involved.
+ *
+ * Rows are split into chunks of at most {@link #MAX_ROWS} rows, fewer if the rows are wide,
+ * so that no statement binds more than the Postgres driver's limit of 32767 parameters.
+ * The prefix must end with {@code VALUES}; the suffix, if any, is appended to every chunk,
+ * e.g. an {@code ON CONFLICT} clause or {@code RETURNING}.
+ */
+final class MultiRowInsert {
+
+    static final int MAX_ROWS = 1000;
+
+    private static final int MAX_BIND_PARAMETERS = 32767;
+
+    private MultiRowInsert() {
+    }
+
+    /**
+     * Insert every row and return the number of rows affected
+     */
+    static <T> int update(JdbcTemplate jdbcTemplate, String prefix, String suffix,
+                          List<T> rows, Function<T, Object[]> columns) {
+        int[] updated = {0};
+        forEachChunk(prefix, suffix, rows, columns, (sql, args) -> updated[0] += jdbcTemplate.update(sql, args));
+        return updated[0];
+    }
+
+    /**
+     * Insert every row, handing the rows produced by a {@code RETURNING} suffix to the handler.
+     * Returned rows are not guaranteed to come back in VALUES order, so match them on columns.
+     */
+    static <T> void query(JdbcTemplate jdbcTemplate, String prefix, String suffix,
+                          List<T> rows, Function<T, Object[]> columns, RowCallbackHandler handler) {
+        forEachChunk(prefix, suffix, rows, columns, (sql, args) -> jdbcTemplate.query(sql, handler, args));
+    }
+
+    private static <T> void forEachChunk(String prefix, String suffix, List<T> rows, Function<T, Object[]> columns,
+                                         BiConsumer<String, Object[]> statement) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Object[] first = columns.apply(rows.get(0));
+        int chunkSize = Math.max(1, Math.min(MAX_ROWS, MAX_BIND_PARAMETERS / first.length));
+        String placeholders = "(" + "?, ".repeat(first.length - 1) + "?)";
+
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, rows.size());
+            StringBuilder sql = new StringBuilder(prefix);
+            List<Object> args = new ArrayList<>((to - from) * first.length);
+            for (int i = from; i < to; i++) {
+                sql.append(i == from ? placeholders : ", " + placeholders);
+                Collections.addAll(args, i == 0 ? first : columns.apply(rows.get(i)));
+            }
+            if (suffix != null) {
+                sql.append(suffix);
+            }
+            statement.accept(sql.toString(), args.toArray());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.model.PendingNotificationEmail;
+import com.skillmetrics.api.model.User;
+import com.skillmetrics.api.repository.PendingNotificationEmailRepository;
+import com.skillmetrics.api.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Collects notification emails per user and sends them as a single digest once the
+ * user's oldest held email has waited for the digest window.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDigestService {
+
+    private final PendingNotificationEmailRepository pendingEmailRepository;
+    private final UserRepository userRepository;
+    private final EmailOutboxService emailOutboxService;
+    private final TemplateEngine templateEngine;
+
+    @Value("${app.email.digest.enabled:true}")
+    private boolean digestEnabled;
+
+    @Value("${app.email.digest.window:3600000}")
+    private long digestWindow;
+
+    @Value("${app.email.digest.max-users-per-run:500}")
+    private int maxUsersPerRun;
+
+    @Value("${app.base-url:http://localhost:8080}")
+    private String baseUrl;
+
+    /**
+     * Whether notification emails for this user should wait for the digest
+     */
+    public boolean shouldDigest(User user) {
+        return digestEnabled && user.getId() != null && !Boolean.TRUE.equals(user.getImmediateNotificationEmails());
+    }
+
+    /**
+     * Hold a notification email until the user's next digest
+     */
+    @Transactional
+    public void hold(User user, String subject, String message) {
+        pendingEmailRepository.save(PendingNotificationEmail.builder()
+                .userId(user.getId())
+                .subject(subject)
+                .message(message)
+                .build());
+    }
+
+    /**
+     * Turn held emails into one outbox message per user. Each run handles at most
+     * {@code max-users-per-run} users; anything left over is picked up on the next run.
+     * Scheduled cluster-wide by {@link ScheduledJobs}.
+     */
+    @Transactional
+    public void sendDueDigests() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(digestWindow));
+        List<Long> userIds = pendingEmailRepository.findUserIdsDueForDigest(cutoff, maxUsersPerRun);
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<PendingNotificationEmail>> emailsByUser = pendingEmailRepository.lockByUserIds(userIds).stream()
+                .collect(Collectors.groupingBy(PendingNotificationEmail::getUserId, LinkedHashMap::new, Collectors.toList()));
+        Map<Long, User> users = userRepository.findAllById(emailsByUser.keySet()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        int digests = 0;
+        for (Map.Entry<Long, List<PendingNotificationEmail>> entry : emailsByUser.entrySet()) {
+            User user = users.get(entry.getKey());
+            if (user != null && user.getEmail() != null) {
+                sendDigest(user, entry.getValue());
+                digests++;
+            }
+            pendingEmailRepository.deleteAllInBatch(entry.getValue());
+        }
+
+        log.info("Queued {} notification digests covering {} emails", digests,
+                emailsByUser.values().stream().mapToInt(List::size).sum());
+    }
+
+    private void sendDigest(User user, List<PendingNotificationEmail> emails) {
+        Context context = new Context();
+        context.setVariable("name", user.getFirstName() + " " + user.getLastName());
+        context.setVariable("loginUrl", baseUrl + "/login");
+
+        if (emails.size() == 1) {
+            // A single held email goes out exactly as it would have without the digest
+            PendingNotificationEmail email = emails.get(0);
+            context.setVariable("message", email.getMessage());
+            emailOutboxService.enqueue(user.getEmail(), email.getSubject(),
+                    templateEngine.process("notification", context));
+            return;
+        }
+
+        context.setVariable("items", emails);
+        emailOutboxService.enqueue(user.getEmail(),
+                "Your SkillMetrics updates (" + emails.size() + ")",
+                templateEngine.process("notification-digest", context));
+    }
+}
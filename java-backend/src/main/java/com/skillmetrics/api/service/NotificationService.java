@@ -1,15 +1,20 @@
 package com.skillmetrics.api.service;
 
 import com.skillmetrics.api.dto.NotificationDto;
+import com.skillmetrics.api.event.NotificationCreatedEvent;
+import com.skillmetrics.api.event.NotificationsReadEvent;
 import com.skillmetrics.api.model.*;
 import com.skillmetrics.api.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -26,6 +31,8 @@ public class NotificationService {
     private final SkillRepository skillRepository;
     private final ProjectRepository projectRepository;
     private final ClientRepository clientRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
 
     /**
      * Create a notification
@@ -45,7 +52,74 @@ public class NotificationService {
         notification.setCreatedAt(LocalDateTime.now());
         
         Notification savedNotification = notificationRepository.save(notification);
-        return convertToDto(savedNotification);
+        NotificationDto savedDto = convertToDto(savedNotification);
+        
+        // Live streams are updated once this transaction commits
+        eventPublisher.publishEvent(new NotificationCreatedEvent(savedDto));
+        
+        return savedDto;
+    }
+
+    /**
+     * Create several notifications with one multi-row INSERT per chunk. Notification ids
+     * are IDENTITY, which Hibernate cannot batch, so the rows are written directly.
+     */
+    @Transactional
+    public List<NotificationDto> createNotifications(List<NotificationDto> notificationDtos) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> notifications = notificationDtos.stream()
+                .map(dto -> {
+                    Notification notification = new Notification();
+                    notification.setUserId(dto.getUserId());
+                    notification.setCreatedBy(dto.getCreatedBy());
+                    notification.setType(dto.getType());
+                    notification.setTitle(dto.getTitle());
+                    notification.setMessage(dto.getMessage());
+                    notification.setEntityType(dto.getEntityType());
+                    notification.setEntityId(dto.getEntityId());
+                    notification.setLink(dto.getLink());
+                    notification.setIsRead(false);
+                    notification.setCreatedAt(now);
+                    return notification;
+                })
+                .collect(Collectors.toList());
+        
+        insertNotifications(notifications);
+        
+        List<NotificationDto> savedDtos = notifications.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        
+        savedDtos.forEach(dto -> eventPublisher.publishEvent(new NotificationCreatedEvent(dto)));
+        
+        return savedDtos;
+    }
+
+    /**
+     * Ids are drawn from the IDENTITY sequence up front, since the rows of a multi-row
+     * RETURNING are not guaranteed to come back in VALUES order
+     */
+    private void insertNotifications(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence('notifications', 'id')) FROM generate_series(1, ?)",
+                Long.class, notifications.size());
+        for (int i = 0; i < notifications.size(); i++) {
+            notifications.get(i).setId(ids.get(i));
+        }
+
+        MultiRowInsert.update(jdbcTemplate, """
+                INSERT INTO notifications (id, user_id, created_by, type, title, message, entity_type, entity_id,
+                                           link, is_read, created_at)
+                VALUES
+                """, null, notifications, notification -> new Object[] {
+                notification.getId(), notification.getUserId(), notification.getCreatedBy(), notification.getType(),
+                notification.getTitle(), notification.getMessage(), notification.getEntityType(),
+                notification.getEntityId(), notification.getLink(), notification.getIsRead(),
+                Timestamp.valueOf(notification.getCreatedAt())});
     }
 
     /**
@@ -89,6 +163,9 @@ public class NotificationService {
     @Transactional
     public void markAsRead(Long notificationId) {
         notificationRepository.markAsRead(notificationId, LocalDateTime.now());
+        
+        notificationRepository.findById(notificationId).ifPresent(notification ->
+                eventPublisher.publishEvent(new NotificationsReadEvent(notification.getUserId())));
     }
 
     /**
@@ -97,6 +174,8 @@ public class NotificationService {
     @Transactional
     public void markAllAsRead(Long userId) {
         notificationRepository.markAllAsRead(userId, LocalDateTime.now());
+        
+        eventPublisher.publishEvent(new NotificationsReadEvent(userId));
     }
 
     /**
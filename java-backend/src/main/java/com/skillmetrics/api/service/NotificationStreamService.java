@@ -0,0 +1,315 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.dto.NotificationDto;
+import com.skillmetrics.api.event.NotificationCreatedEvent;
+import com.skillmetrics.api.event.NotificationsReadEvent;
+import com.skillmetrics.api.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-Sent Events registry for notification and unread-count updates.
+ *
+ * Each open stream is a single {@link SseEmitter}; the only other state kept per user
+ * is a small ring buffer of recent events so that a reconnecting client can resume
+ * from its {@code Last-Event-ID} instead of reloading the notification list. Event ids
+ * are only meaningful to the instance that issued them, so a client resuming from an id
+ * this instance's buffer never issued (another instance, or before a restart) is told
+ * to resync.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationStreamService {
+
+    public static final String EVENT_NOTIFICATION = "notification";
+    public static final String EVENT_UNREAD_COUNT = "unread-count";
+    public static final String EVENT_RESYNC = "resync";
+
+    private final NotificationRepository notificationRepository;
+
+    @Value("${app.notifications.sse.timeout:1800000}")
+    private long emitterTimeout;
+
+    @Value("${app.notifications.sse.replay-buffer-size:50}")
+    private int replayBufferSize;
+
+    @Value("${app.notifications.sse.replay-retention:300000}")
+    private long replayRetention;
+
+    @Value("${app.notifications.sse.heartbeat-threads:4}")
+    private int heartbeatThreads;
+
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() << 10);
+
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    private final Map<Long, ReplayBuffer> replayBuffers = new ConcurrentHashMap<>();
+
+    // Emitters whose previous heartbeat has not gone out yet; a slow client is not queued twice
+    private final Set<SseEmitter> heartbeatsInFlight = ConcurrentHashMap.newKeySet();
+    private ExecutorService heartbeatPool;
+
+    @PostConstruct
+    void init() {
+        heartbeatPool = Executors.newFixedThreadPool(heartbeatThreads, new CustomizableThreadFactory("sse-heartbeat-"));
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        heartbeatPool.shutdown();
+        if (!heartbeatPool.awaitTermination(5, TimeUnit.SECONDS)) {
+            heartbeatPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Open a stream for a user. If the client supplies the id of the last event it saw,
+     * buffered events after it are replayed; if the buffer no longer reaches back that far
+     * a resync event tells the client to reload its notification list.
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId, long unreadCount) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout);
+
+        subscribers.computeIfAbsent(userId, id -> new CopyOnWriteArraySet<>()).add(emitter);
+        emitter.onCompletion(() -> removeEmitter(userId, emitter));
+        emitter.onTimeout(() -> removeEmitter(userId, emitter));
+        emitter.onError(ex -> removeEmitter(userId, emitter));
+
+        ReplayBuffer buffer = replayBuffers.computeIfAbsent(userId, this::newReplayBuffer);
+
+        try {
+            Long resumeFrom = parseEventId(lastEventId);
+            if (resumeFrom != null) {
+                List<StreamEvent> missed = buffer.eventsAfter(resumeFrom);
+
+                if (missed == null) {
+                    send(emitter, record(buffer, EVENT_RESYNC, Map.of("unreadCount", unreadCount)));
+                } else {
+                    for (StreamEvent event : missed) {
+                        send(emitter, event);
+                    }
+                }
+            }
+
+            send(emitter, record(buffer, EVENT_UNREAD_COUNT, Map.of("unreadCount", unreadCount)));
+        } catch (IOException e) {
+            removeEmitter(userId, emitter);
+            emitter.completeWithError(e);
+        }
+
+        return emitter;
+    }
+
+    /**
+     * Push a newly created notification and the refreshed unread count once the
+     * creating transaction has committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        NotificationDto notification = event.getNotification();
+        if (notification == null || notification.getUserId() == null) {
+            return;
+        }
+
+        Long userId = notification.getUserId();
+        publish(userId, EVENT_NOTIFICATION, notification);
+
+        if (hasSubscribers(userId)) {
+            publish(userId, EVENT_UNREAD_COUNT,
+                    Map.of("unreadCount", notificationRepository.countUnreadByUserId(userId)));
+        }
+    }
+
+    /**
+     * Push the refreshed unread count after notifications were marked as read
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationsRead(NotificationsReadEvent event) {
+        Long userId = event.getUserId();
+        if (userId == null || !hasSubscribers(userId)) {
+            return;
+        }
+
+        publish(userId, EVENT_UNREAD_COUNT,
+                Map.of("unreadCount", notificationRepository.countUnreadByUserId(userId)));
+    }
+
+    /**
+     * Send a comment frame to every open stream. This keeps proxies from closing idle
+     * connections and lets us detect and drop clients that have gone away. The sends run
+     * on the heartbeat pool, so a slow client holds up neither the others nor the scheduler.
+     */
+    @Scheduled(fixedRateString = "${app.notifications.sse.heartbeat-interval:25000}")
+    public void sendHeartbeats() {
+        subscribers.forEach((userId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                if (heartbeatsInFlight.add(emitter)) {
+                    heartbeatPool.execute(() -> sendHeartbeat(userId, emitter));
+                }
+            }
+        });
+
+        long cutoff = System.currentTimeMillis() - replayRetention;
+        replayBuffers.entrySet().removeIf(entry ->
+                !hasSubscribers(entry.getKey()) && entry.getValue().lastAppendedAt() < cutoff);
+    }
+
+    private void sendHeartbeat(Long userId, SseEmitter emitter) {
+        try {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        } catch (IOException | IllegalStateException e) {
+            removeEmitter(userId, emitter);
+        } finally {
+            heartbeatsInFlight.remove(emitter);
+        }
+    }
+
+    /**
+     * Number of currently open streams, across all users
+     */
+    public int getActiveStreamCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void publish(Long userId, String eventName, Object data) {
+        StreamEvent event = new StreamEvent(sequence.incrementAndGet(), eventName, data);
+
+        Set<SseEmitter> emitters = subscribers.get(userId);
+        if (emitters == null || emitters.isEmpty()) {
+            // Keep the event only if the user recently had a stream open and may reconnect
+            ReplayBuffer buffer = replayBuffers.get(userId);
+            if (buffer != null) {
+                buffer.append(event);
+            }
+            return;
+        }
+
+        replayBuffers.computeIfAbsent(userId, this::newReplayBuffer).append(event);
+
+        for (SseEmitter emitter : emitters) {
+            try {
+                send(emitter, event);
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping notification stream for user {}: {}", userId, e.getMessage());
+                removeEmitter(userId, emitter);
+            }
+        }
+    }
+
+    /**
+     * A new event kept in the buffer, so the buffer knows every id this user was sent
+     */
+    private StreamEvent record(ReplayBuffer buffer, String eventName, Object data) {
+        StreamEvent event = new StreamEvent(sequence.incrementAndGet(), eventName, data);
+        buffer.append(event);
+        return event;
+    }
+
+    private ReplayBuffer newReplayBuffer(Long userId) {
+        // Anything published before the buffer existed is unknown to it
+        return new ReplayBuffer(replayBufferSize, sequence.get());
+    }
+
+    private void send(SseEmitter emitter, StreamEvent event) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(Long.toString(event.id()))
+                .name(event.name())
+                .data(event.data(), MediaType.APPLICATION_JSON));
+    }
+
+    private boolean hasSubscribers(Long userId) {
+        Set<SseEmitter> emitters = subscribers.get(userId);
+        return emitters != null && !emitters.isEmpty();
+    }
+
+    private void removeEmitter(Long userId, SseEmitter emitter) {
+        subscribers.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record StreamEvent(long id, String name, Object data) {
+    }
+
+    /**
+     * Bounded, per-user history of recent events used for Last-Event-ID resume
+     */
+    private static final class ReplayBuffer {
+
+        private final int capacity;
+        private final Deque<StreamEvent> events = new ArrayDeque<>();
+        private long evictedThrough;
+        private long lastAppendedAt = System.currentTimeMillis();
+
+        private ReplayBuffer(int capacity, long startingAfter) {
+            this.capacity = capacity;
+            this.evictedThrough = startingAfter;
+        }
+
+        synchronized void append(StreamEvent event) {
+            if (events.size() >= capacity) {
+                evictedThrough = events.removeFirst().id();
+            }
+            events.addLast(event);
+            lastAppendedAt = System.currentTimeMillis();
+        }
+
+        /**
+         * Events after the given id, or null if the buffer cannot tell what came after it:
+         * the id was already evicted, or was never issued by this buffer at all
+         */
+        synchronized List<StreamEvent> eventsAfter(long lastId) {
+            boolean known = lastId == evictedThrough;
+            List<StreamEvent> result = new ArrayList<>();
+            for (StreamEvent event : events) {
+                if (event.id() == lastId) {
+                    known = true;
+                } else if (event.id() > lastId) {
+                    result.add(event);
+                }
+            }
+            return known ? result : null;
+        }
+
+        synchronized long lastAppendedAt() {
+            return lastAppendedAt;
+        }
+    }
+}
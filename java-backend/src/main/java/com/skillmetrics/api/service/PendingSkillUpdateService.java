@@ -1,25 +1,48 @@
 package com.skillmetrics.api.service;
 
+import com.skillmetrics.api.dto.BulkReviewResultDto;
+import com.skillmetrics.api.dto.NotificationDto;
 import com.skillmetrics.api.dto.PendingSkillUpdateDto;
+import com.skillmetrics.api.dto.ReviewQueuePageDto;
+import com.skillmetrics.api.event.BulkSkillDataChangedEvent;
+import com.skillmetrics.api.event.SkillChangedEvent;
 import com.skillmetrics.api.exception.BadRequestException;
 import com.skillmetrics.api.exception.ResourceNotFoundException;
 import com.skillmetrics.api.model.PendingSkillUpdate;
 import com.skillmetrics.api.model.Skill;
-import com.skillmetrics.api.model.SkillHistory;
 import com.skillmetrics.api.model.User;
 import com.skillmetrics.api.repository.PendingSkillUpdateRepository;
-import com.skillmetrics.api.repository.SkillHistoryRepository;
 import com.skillmetrics.api.repository.SkillRepository;
 import com.skillmetrics.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,12 +50,23 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PendingSkillUpdateService {
     
+    private static final int MAX_QUEUE_PAGE_SIZE = 200;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${app.pending-updates.queue.count-cap:10000}")
+    private int queueCountCap;
+    
     private final PendingSkillUpdateRepository pendingSkillUpdateRepository;
     private final UserRepository userRepository;
     private final SkillRepository skillRepository;
-    private final SkillHistoryRepository skillHistoryRepository;
+    private final AuditHistoryWriter auditHistoryWriter;
+    private final SkillCanonicalizationService skillCanonicalizationService;
     private final NotificationService notificationService;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
     
     /**
      * Get all pending skill updates
@@ -86,6 +120,122 @@ public class PendingSkillUpdateService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * One page of the reviewer queue, ordered by (createdAt, id) and continued with an
+     * opaque cursor instead of an offset, so every page costs the same index range scan.
+     * The total is only counted for the first page and stops at {@code count-cap}.
+     */
+    @Transactional(readOnly = true)
+    public ReviewQueuePageDto getReviewQueue(String status, Long reviewerId, boolean unassignedOnly,
+                                             String category, Integer minAgeDays, Integer maxAgeDays,
+                                             boolean newestFirst, String after, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_QUEUE_PAGE_SIZE);
+        QueueCursor cursor = QueueCursor.decode(after);
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PendingSkillUpdate> cq = cb.createQuery(PendingSkillUpdate.class);
+        Root<PendingSkillUpdate> root = cq.from(PendingSkillUpdate.class);
+        
+        List<Predicate> predicates = queueFilters(cb, root, status, reviewerId, unassignedOnly,
+                category, minAgeDays, maxAgeDays);
+        
+        if (cursor != null) {
+            Path<LocalDateTime> createdAt = root.get("createdAt");
+            Path<Long> id = root.get("id");
+            predicates.add(newestFirst
+                    ? cb.or(cb.lessThan(createdAt, cursor.createdAt()),
+                            cb.and(cb.equal(createdAt, cursor.createdAt()), cb.lessThan(id, cursor.id())))
+                    : cb.or(cb.greaterThan(createdAt, cursor.createdAt()),
+                            cb.and(cb.equal(createdAt, cursor.createdAt()), cb.greaterThan(id, cursor.id()))));
+        }
+        
+        cq.where(predicates.toArray(new Predicate[0]));
+        cq.orderBy(newestFirst
+                ? List.of(cb.desc(root.get("createdAt")), cb.desc(root.get("id")))
+                : List.of(cb.asc(root.get("createdAt")), cb.asc(root.get("id"))));
+        
+        List<PendingSkillUpdate> rows = entityManager.createQuery(cq)
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+        
+        boolean hasMore = rows.size() > pageSize;
+        List<PendingSkillUpdate> page = hasMore ? rows.subList(0, pageSize) : rows;
+        
+        // Enrich only the users that appear on this page
+        Set<Long> userIds = new HashSet<>();
+        page.forEach(update -> {
+            userIds.add(update.getUserId());
+            if (update.getReviewerId() != null) {
+                userIds.add(update.getReviewerId());
+            }
+        });
+        Map<Long, User> userMap = userRepository.findAllById(userIds)
+                .stream().collect(Collectors.toMap(User::getId, user -> user));
+        
+        PendingSkillUpdate last = page.isEmpty() ? null : page.get(page.size() - 1);
+        
+        ReviewQueuePageDto.ReviewQueuePageDtoBuilder result = ReviewQueuePageDto.builder()
+                .items(page.stream().map(update -> mapToDto(update, userMap)).collect(Collectors.toList()))
+                .hasMore(hasMore)
+                .nextCursor(hasMore && last != null ? new QueueCursor(last.getCreatedAt(), last.getId()).encode() : null);
+        
+        if (cursor == null) {
+            long counted = countQueue(status, reviewerId, unassignedOnly, category, minAgeDays, maxAgeDays);
+            result.totalCount(Math.min(counted, queueCountCap))
+                    .totalIsApproximate(counted > queueCountCap);
+        }
+        
+        return result.build();
+    }
+    
+    /**
+     * Count matching rows, reading at most {@code count-cap + 1} ids with the same
+     * {@link #queueFilters} as the page query
+     */
+    private long countQueue(String status, Long reviewerId, boolean unassignedOnly, String category,
+                            Integer minAgeDays, Integer maxAgeDays) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<PendingSkillUpdate> root = cq.from(PendingSkillUpdate.class);
+        
+        cq.select(root.get("id"))
+                .where(queueFilters(cb, root, status, reviewerId, unassignedOnly, category, minAgeDays, maxAgeDays)
+                        .toArray(new Predicate[0]));
+        
+        return entityManager.createQuery(cq)
+                .setMaxResults(queueCountCap + 1)
+                .getResultList()
+                .size();
+    }
+    
+    private List<Predicate> queueFilters(CriteriaBuilder cb, Root<PendingSkillUpdate> root, String status,
+                                         Long reviewerId, boolean unassignedOnly, String category,
+                                         Integer minAgeDays, Integer maxAgeDays) {
+        List<Predicate> predicates = new ArrayList<>();
+        
+        predicates.add(cb.equal(root.get("status"), status != null && !status.isEmpty() ? status : "PENDING"));
+        
+        if (unassignedOnly) {
+            predicates.add(cb.isNull(root.get("reviewerId")));
+        } else if (reviewerId != null) {
+            predicates.add(cb.equal(root.get("reviewerId"), reviewerId));
+        }
+        
+        if (category != null && !category.isEmpty()) {
+            predicates.add(cb.equal(root.get("skillCategory"), category));
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        if (minAgeDays != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), now.minusDays(minAgeDays)));
+        }
+        if (maxAgeDays != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), now.minusDays(maxAgeDays)));
+        }
+        
+        return predicates;
+    }
+    
     /**
      * Get pending skill updates by user ID
      */
@@ -339,19 +489,10 @@ public class PendingSkillUpdateService {
                 skill.setLevel(savedUpdate.getProposedLevel());
                 skill.setUpdatedAt(LocalDateTime.now());
                 skillRepository.save(skill);
+                eventPublisher.publishEvent(new SkillChangedEvent(skill.getId(), savedUpdate.getUserId()));
                 
-                // Create skill history entry
-                SkillHistory history = new SkillHistory();
-                history.setSkillId(skill.getId());
-                history.setUserId(skill.getUserId());
-                history.setField("level");
-                history.setOldValue(oldLevel);
-                history.setNewValue(savedUpdate.getProposedLevel());
-                history.setChangedBy(approverId);
-                history.setChangeReason("Approved skill update request");
-                history.setCreatedAt(LocalDateTime.now());
-                
-                skillHistoryRepository.save(history);
+                auditHistoryWriter.recordSkillHistory(skill.getId(), savedUpdate.getUserId(), "level_changed",
+                        oldLevel, savedUpdate.getProposedLevel(), approverId);
             }
         } else {
             // If skillId is not provided, create a new skill
@@ -363,19 +504,10 @@ public class PendingSkillUpdateService {
             newSkill.setCreatedAt(LocalDateTime.now());
             
             Skill savedSkill = skillRepository.save(newSkill);
+            eventPublisher.publishEvent(new SkillChangedEvent(savedSkill.getId(), savedUpdate.getUserId()));
             
-            // Create skill history entry
-            SkillHistory history = new SkillHistory();
-            history.setSkillId(savedSkill.getId());
-            history.setUserId(savedSkill.getUserId());
-            history.setField("skill");
-            history.setOldValue(null);
-            history.setNewValue("Created with level " + savedSkill.getLevel());
-            history.setChangedBy(approverId);
-            history.setChangeReason("Approved new skill request");
-            history.setCreatedAt(LocalDateTime.now());
-            
-            skillHistoryRepository.save(history);
+            auditHistoryWriter.recordSkillHistory(savedSkill.getId(), savedUpdate.getUserId(), "created",
+                    null, savedSkill.getLevel(), approverId);
         }
         
         // Get user and reviewer for enrichment
@@ -472,6 +604,196 @@ public class PendingSkillUpdateService {
         return mapToDto(savedUpdate, userMap);
     }
     
+    /**
+     * Approve or reject a set of pending skill updates in one transaction. Items that
+     * no longer exist or are not pending are skipped and reported; each affected user
+     * gets a single notification covering all of their reviewed updates.
+     */
+    @Transactional
+    public BulkReviewResultDto bulkReview(List<Long> ids, String action, String comments, Long reviewerId) {
+        boolean approve = "APPROVE".equals(action);
+        if (!approve && !"REJECT".equals(action)) {
+            throw new BadRequestException("Action must be APPROVE or REJECT");
+        }
+        
+        User reviewer = userRepository.findById(reviewerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reviewer not found with id: " + reviewerId));
+        
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        List<PendingSkillUpdate> updates = pendingSkillUpdateRepository.findAllByIdForUpdate(requestedIds);
+        
+        Map<Long, String> skipped = new LinkedHashMap<>();
+        Set<Long> foundIds = updates.stream().map(PendingSkillUpdate::getId).collect(Collectors.toSet());
+        requestedIds.stream()
+                .filter(id -> !foundIds.contains(id))
+                .forEach(id -> skipped.put(id, "Not found"));
+        
+        List<PendingSkillUpdate> pending = new ArrayList<>();
+        for (PendingSkillUpdate update : updates) {
+            if ("PENDING".equals(update.getStatus())) {
+                pending.add(update);
+            } else {
+                skipped.put(update.getId(), "Already " + update.getStatus());
+            }
+        }
+        
+        Map<Long, User> userMap = userRepository.findAllById(pending.stream()
+                        .map(PendingSkillUpdate::getUserId)
+                        .collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(User::getId, user -> user));
+        
+        LocalDateTime now = LocalDateTime.now();
+        for (PendingSkillUpdate update : pending) {
+            if (update.getReviewerId() == null) {
+                update.setReviewerId(reviewerId);
+            }
+            update.setStatus(approve ? "APPROVED" : "REJECTED");
+            update.setReviewerComments(comments);
+            update.setUpdatedAt(now);
+            if (approve) {
+                update.setApprovedAt(now);
+            } else {
+                update.setRejectedAt(now);
+            }
+        }
+        
+        if (approve) {
+            applyApprovedUpdates(pending, userMap, reviewer);
+            eventPublisher.publishEvent(new BulkSkillDataChangedEvent("bulk-review"));
+        }
+        
+        int notifiedUsers = notifyReviewedUsers(pending, userMap, reviewer, approve, comments);
+        
+        log.info("Reviewer {} {} {} pending skill updates ({} skipped)", reviewerId,
+                approve ? "approved" : "rejected", pending.size(), skipped.size());
+        
+        return BulkReviewResultDto.builder()
+                .action(action)
+                .processed(pending.size())
+                .processedIds(pending.stream().map(PendingSkillUpdate::getId).collect(Collectors.toList()))
+                .skipped(skipped)
+                .notifiedUsers(notifiedUsers)
+                .build();
+    }
+    
+    /**
+     * Apply approved updates to skills with one read of the affected skills. Level changes
+     * are flushed as batched UPDATEs; new skills are written with one multi-row INSERT,
+     * since Hibernate cannot batch inserts of IDENTITY-keyed entities.
+     */
+    private void applyApprovedUpdates(List<PendingSkillUpdate> approved, Map<Long, User> userMap, User reviewer) {
+        Map<Long, Skill> skillMap = skillRepository.findAllById(approved.stream()
+                        .map(PendingSkillUpdate::getSkillId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Skill::getId, skill -> skill));
+        
+        List<Skill> changedSkills = new ArrayList<>();
+        // Keyed by user, name and category, so two requests for the same new skill create it once
+        Map<List<Object>, PendingSkillUpdate> newSkills = new LinkedHashMap<>();
+        
+        for (PendingSkillUpdate update : approved) {
+            if (!userMap.containsKey(update.getUserId())) {
+                continue;
+            }
+            
+            Skill skill = update.getSkillId() != null ? skillMap.get(update.getSkillId()) : null;
+            if (skill != null) {
+                String oldLevel = skill.getLevel();
+                skill.setLevel(update.getProposedLevel());
+                changedSkills.add(skill);
+                auditHistoryWriter.recordSkillHistory(skill.getId(), update.getUserId(), "level_changed",
+                        oldLevel, update.getProposedLevel(), reviewer.getId());
+            } else if (update.getSkillId() == null) {
+                newSkills.put(List.of(update.getUserId(), update.getSkillName(), update.getSkillCategory()), update);
+            }
+        }
+        
+        skillRepository.saveAll(changedSkills);
+        changedSkills.forEach(skill ->
+                eventPublisher.publishEvent(new SkillChangedEvent(skill.getId(), skill.getUser().getId())));
+        
+        insertSkills(new ArrayList<>(newSkills.values())).forEach((key, skillId) -> {
+            PendingSkillUpdate update = newSkills.get(key);
+            eventPublisher.publishEvent(new SkillChangedEvent(skillId, update.getUserId()));
+            auditHistoryWriter.recordSkillHistory(skillId, update.getUserId(), "created",
+                    null, update.getProposedLevel(), reviewer.getId());
+        });
+    }
+    
+    /**
+     * Insert one skill per update, linked to its template as SkillService would, and return
+     * the new ids keyed by user, name and category. Rows are matched on those columns rather
+     * than by position, since Postgres does not promise to return them in VALUES order.
+     */
+    private Map<List<Object>, Long> insertSkills(List<PendingSkillUpdate> updates) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<List<Object>, Long> ids = new LinkedHashMap<>();
+        MultiRowInsert.query(jdbcTemplate, """
+                INSERT INTO skills (user_id, name, category, level, template_id, created_at, updated_at)
+                VALUES
+                """, " RETURNING id, user_id, name, category", updates, update -> new Object[] {
+                update.getUserId(), update.getSkillName(), update.getSkillCategory(), update.getProposedLevel(),
+                skillCanonicalizationService.resolveTemplateId(update.getSkillName(), update.getSkillCategory())
+                        .orElse(null),
+                now, now}, rs -> {
+            ids.put(List.of(rs.getLong("user_id"), rs.getString("name"), rs.getString("category")), rs.getLong("id"));
+        });
+        return ids;
+    }
+    
+    /**
+     * Send each user one in-app notification and one email summarising every update of
+     * theirs that was reviewed in this batch, with all notifications in one insert.
+     * Returns the number of users notified.
+     */
+    private int notifyReviewedUsers(List<PendingSkillUpdate> reviewed, Map<Long, User> userMap,
+                                    User reviewer, boolean approved, String comments) {
+        Map<Long, List<PendingSkillUpdate>> byUser = reviewed.stream()
+                .collect(Collectors.groupingBy(PendingSkillUpdate::getUserId, LinkedHashMap::new, Collectors.toList()));
+        
+        String outcome = approved ? "approved" : "rejected";
+        String title = approved ? "Skill Update Approved" : "Skill Update Rejected";
+        String digestTitle = approved ? "Skill Updates Approved" : "Skill Updates Rejected";
+        
+        List<NotificationDto> notifications = new ArrayList<>();
+        byUser.forEach((userId, userUpdates) -> {
+            User user = userMap.get(userId);
+            if (user == null) {
+                return;
+            }
+            
+            boolean single = userUpdates.size() == 1;
+            String skills = userUpdates.stream()
+                    .map(update -> update.getSkillName() + " (" + update.getProposedLevel() + ")")
+                    .collect(Collectors.joining(", "));
+            String message = single
+                    ? "Your skill update request for " + skills + " has been " + outcome + "."
+                    : userUpdates.size() + " of your skill update requests have been " + outcome + ": " + skills + ".";
+            
+            NotificationDto notification = new NotificationDto();
+            notification.setUserId(userId);
+            notification.setCreatedBy(reviewer.getId());
+            notification.setType(approved ? "SKILL_UPDATE_APPROVED" : "SKILL_UPDATE_REJECTED");
+            notification.setTitle(single ? title : digestTitle);
+            notification.setMessage(message);
+            // A digest has no single entity to point at, so it links to the list instead
+            if (single) {
+                notification.setEntityType("PENDING_SKILL_UPDATE");
+                notification.setEntityId(userUpdates.get(0).getId());
+            }
+            notification.setLink(approved ? "/skills"
+                    : single ? "/pending-updates/" + userUpdates.get(0).getId() : "/pending-updates");
+            notifications.add(notification);
+            
+            emailService.sendNotificationEmail(user, single ? title : digestTitle,
+                    message + "\n\nReviewer Comments: " + (comments != null ? comments : "No comments provided."));
+        });
+        
+        notificationService.createNotifications(notifications);
+        return notifications.size();
+    }
+    
     /**
      * Delete a pending skill update
      */
@@ -497,6 +819,31 @@ public class PendingSkillUpdateService {
         return pendingSkillUpdateRepository.countPendingUpdatesForUser(userId);
     }
     
+    /**
+     * Position in the reviewer queue, exchanged with clients as an opaque string
+     */
+    private record QueueCursor(LocalDateTime createdAt, Long id) {
+        
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        static QueueCursor decode(String value) {
+            if (value == null || value.isEmpty()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new QueueCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+                throw new BadRequestException("Invalid queue cursor");
+            }
+        }
+    }
+    
     /**
      * Map entity to DTO
      */
@@ -0,0 +1,85 @@
+package com.skillmetrics.api.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a resident index current across the cluster.
+ *
+ * The owning service applies changes made on this instance after commit; this class polls
+ * {@code updated_at} for changes made elsewhere and runs the owner's periodic rebuild, which
+ * catches rows deleted on other instances. Ids changed locally are remembered until the next
+ * rebuild, so a rebuild that read the table before such a change cannot undo it.
+ *
+ * Replays and the install of a rebuilt state run while holding the owner's lock, the monitor
+ * its own patch methods synchronize on.
+ */
+final class PollingIndexSync {
+
+    private final Object lock;
+
+    private final Map<Long, LocalDateTime> recentChanges = new ConcurrentHashMap<>();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    private volatile LocalDateTime lastRefresh = LocalDateTime.now();
+
+    PollingIndexSync(Object lock) {
+        this.lock = lock;
+    }
+
+    /**
+     * Remember a row changed on this instance, before applying the change
+     */
+    void recordLocalChange(Long id) {
+        recentChanges.put(id, LocalDateTime.now());
+    }
+
+    /**
+     * Rebuild on the next refresh instead of polling, e.g. after bulk writes that publish no
+     * per-row events
+     */
+    void requestRebuild() {
+        rebuildRequested.set(true);
+    }
+
+    /**
+     * Hand {@code poll} the time to read changed rows from, or run {@code rebuild} instead if one
+     * was requested. Re-reading a lookback window before the previous poll covers clock skew and
+     * transactions that committed after it.
+     */
+    void refresh(long lookbackMillis, Consumer<LocalDateTime> poll, Runnable rebuild) {
+        if (rebuildRequested.getAndSet(false)) {
+            rebuild.run();
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        poll.accept(lastRefresh.minus(Duration.ofMillis(lookbackMillis)));
+        lastRefresh = now;
+    }
+
+    /**
+     * Build a fresh state without holding the lock, then under it replay every id changed
+     * locally since the build started and install the state
+     */
+    <S> void rebuild(Supplier<S> build, BiConsumer<S, Long> replay, Consumer<S> install) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        S rebuilt = build.get();
+
+        synchronized (lock) {
+            recentChanges.forEach((id, changedAt) -> {
+                if (!changedAt.isBefore(startedAt)) {
+                    replay.accept(rebuilt, id);
+                }
+            });
+            recentChanges.values().removeIf(changedAt -> changedAt.isBefore(startedAt));
+            install.accept(rebuilt);
+        }
+        lastRefresh = startedAt;
+    }
+}
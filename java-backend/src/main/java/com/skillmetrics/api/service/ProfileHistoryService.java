@@ -1,5 +1,6 @@
 package com.skillmetrics.api.service;
 
+import com.skillmetrics.api.dto.HistoryPageDto;
 import com.skillmetrics.api.dto.ProfileHistoryDto;
 import com.skillmetrics.api.exception.ResourceNotFoundException;
 import com.skillmetrics.api.model.ProfileHistory;
@@ -8,6 +9,7 @@ import com.skillmetrics.api.repository.ProfileHistoryRepository;
 import com.skillmetrics.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +22,7 @@ import java.util.stream.Collectors;
 public class ProfileHistoryService {
     
     private final ProfileHistoryRepository profileHistoryRepository;
+    private final AuditHistoryWriter auditHistoryWriter;
     private final UserRepository userRepository;
     
     public List<ProfileHistoryDto> getAllProfileHistory() {
@@ -49,6 +52,22 @@ public class ProfileHistoryService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Profile changes in {@code [from, to)}, newest first, one keyset page at a time
+     */
+    @Transactional(readOnly = true)
+    public HistoryPageDto<ProfileHistoryDto> getProfileHistoryPage(LocalDateTime from, LocalDateTime to,
+                                                                   String after, Integer limit) {
+        HistoryPaging.Cursor cursor = HistoryPaging.start(from, to, after);
+        int pageSize = HistoryPaging.pageSize(limit);
+        
+        List<ProfileHistory> rows = profileHistoryRepository.findPageBetween(
+                from, cursor.timestamp(), cursor.id(), PageRequest.of(0, pageSize + 1));
+        
+        return HistoryPaging.toPage(rows, pageSize, ProfileHistory::getCreatedAt, ProfileHistory::getId,
+                page -> page.stream().map(this::convertToDto).collect(Collectors.toList()));
+    }
+    
     @Transactional
     public ProfileHistoryDto createProfileHistory(ProfileHistoryDto historyDto) {
         ProfileHistory profileHistory = convertToEntity(historyDto);
@@ -73,7 +92,7 @@ public class ProfileHistoryService {
                     .createdAt(LocalDateTime.now())
                     .build();
             
-            profileHistoryRepository.save(history);
+            auditHistoryWriter.record(history);
         }
     }
     
@@ -0,0 +1,207 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-project resource counts, allocation sums and averages, and role distributions.
+ *
+ * Everything is aggregated by the database in a single grouped query (resources are
+ * first grouped by project and role, then rolled up per project), both for the paged
+ * JSON view and for the CSV export, which streams rows as they are fetched.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectAllocationStatsService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    private static final String STATS_SQL = """
+            WITH roles AS (
+                SELECT project_id, coalesce(role, 'Unassigned') AS role,
+                       count(*) AS resource_count, sum(coalesce(allocation, 0)) AS total_allocation
+                FROM project_resources
+                GROUP BY 1, 2
+            )
+            SELECT p.id, p.name, p.status,
+                   sum(r.resource_count) AS resource_count,
+                   sum(r.total_allocation) AS total_allocation,
+                   sum(r.total_allocation)::float8 / sum(r.resource_count) AS average_allocation,
+                   array_agg(r.role ORDER BY r.role) AS roles,
+                   array_agg(r.resource_count ORDER BY r.role) AS role_counts,
+                   count(*) OVER () AS projects_with_resources,
+                   (SELECT count(*) FROM projects a WHERE %1$s) AS total_projects
+            FROM projects p
+            JOIN roles r ON r.project_id = p.id
+            WHERE %2$s
+            GROUP BY p.id, p.name, p.status
+            ORDER BY resource_count DESC, p.id
+            """;
+
+    private static final String CSV_HEADER =
+            "Project ID,Project Name,Status,Resources,Total Allocation,Average Allocation,Role Distribution\n";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * One page of projects with resources, most resources first, optionally for one status
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStats(String status, int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new BadRequestException("Page must be non-negative and size positive");
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+
+        long[] totals = new long[2];
+        List<Map<String, Object>> projectStats = jdbcTemplate.query(
+                statsSql(status) + " LIMIT ? OFFSET ?",
+                (rs, rowNum) -> {
+                    totals[0] = rs.getLong("projects_with_resources");
+                    totals[1] = rs.getLong("total_projects");
+                    return toStats(rs);
+                },
+                args(status, pageSize, (long) page * pageSize));
+
+        if (projectStats.isEmpty()) {
+            // Past the last page: window and scalar totals came back with no rows
+            totals[0] = countProjects(status, true);
+            totals[1] = countProjects(status, false);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("projectStats", projectStats);
+        result.put("totalProjects", totals[1]);
+        result.put("totalProjectsWithResources", totals[0]);
+        result.put("page", page);
+        result.put("size", pageSize);
+        return result;
+    }
+
+    /**
+     * Write the stats of every matching project as CSV, streaming rows from the database
+     */
+    @Transactional(readOnly = true)
+    public void exportCsv(String status, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        int[] rows = new int[1];
+
+        String sql = statsSql(status);
+        Object[] args = args(status);
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                // Postgres only honours the fetch size inside a transaction
+                statement.setFetchSize(EXPORT_FETCH_SIZE);
+                for (int i = 0; i < args.length; i++) {
+                    statement.setObject(i + 1, args[i]);
+                }
+                return statement;
+            }, rs -> {
+                String roles = roleDistribution(rs).entrySet().stream()
+                        .map(entry -> entry.getKey() + ": " + entry.getValue())
+                        .collect(Collectors.joining("; "));
+                String line = rs.getLong("id") + ","
+                        + escape(rs.getString("name")) + ","
+                        + escape(rs.getString("status")) + ","
+                        + rs.getLong("resource_count") + ","
+                        + rs.getLong("total_allocation") + ","
+                        + String.format(Locale.ROOT, "%.2f", rs.getDouble("average_allocation")) + ","
+                        + escape(roles) + "\n";
+                try {
+                    writer.write(line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        log.debug("Exported allocation stats for {} projects", rows[0]);
+    }
+
+    private String statsSql(String status) {
+        return hasStatus(status)
+                ? STATS_SQL.formatted("upper(a.status) = upper(?)", "upper(p.status) = upper(?)")
+                : STATS_SQL.formatted("TRUE", "TRUE");
+    }
+
+    private long countProjects(String status, boolean withResources) {
+        String sql = "SELECT count(*) FROM projects p WHERE "
+                + (hasStatus(status) ? "upper(p.status) = upper(?)" : "TRUE")
+                + (withResources ? " AND EXISTS (SELECT 1 FROM project_resources r WHERE r.project_id = p.id)" : "");
+        Object[] args = hasStatus(status) ? new Object[]{status} : new Object[0];
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, args);
+        return count != null ? count : 0;
+    }
+
+    private static Object[] args(String status, Object... trailing) {
+        List<Object> args = new ArrayList<>();
+        if (hasStatus(status)) {
+            // Once for the scalar total, once for the main filter
+            args.add(status);
+            args.add(status);
+        }
+        args.addAll(List.of(trailing));
+        return args.toArray();
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        String escaped = value.replace("\"", "\"\"");
+        if (escaped.contains(",") || escaped.contains("\"") || escaped.contains("\n")) {
+            return "\"" + escaped + "\"";
+        }
+        return escaped;
+    }
+
+    private static boolean hasStatus(String status) {
+        return status != null && !status.isBlank();
+    }
+
+    private static Map<String, Object> toStats(ResultSet rs) throws SQLException {
+        Map<String, Object> projectData = new HashMap<>();
+        projectData.put("projectId", rs.getLong("id"));
+        projectData.put("projectName", rs.getString("name"));
+        projectData.put("status", rs.getString("status"));
+        projectData.put("resourceCount", rs.getInt("resource_count"));
+        projectData.put("totalAllocation", rs.getDouble("total_allocation"));
+        projectData.put("averageAllocation", rs.getDouble("average_allocation"));
+        projectData.put("roleDistribution", roleDistribution(rs));
+        return projectData;
+    }
+
+    private static Map<String, Long> roleDistribution(ResultSet rs) throws SQLException {
+        Object[] roles = (Object[]) rs.getArray("roles").getArray();
+        Object[] counts = (Object[]) rs.getArray("role_counts").getArray();
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        for (int i = 0; i < roles.length; i++) {
+            distribution.put((String) roles[i], ((Number) counts[i]).longValue());
+        }
+        return distribution;
+    }
+}
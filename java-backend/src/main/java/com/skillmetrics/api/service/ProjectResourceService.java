@@ -1,6 +1,7 @@
 package com.skillmetrics.api.service;
 
 import com.skillmetrics.api.dto.ProjectResourceDto;
+import com.skillmetrics.api.event.ProjectResourceChangedEvent;
 import com.skillmetrics.api.exception.ResourceNotFoundException;
 import com.skillmetrics.api.model.Project;
 import com.skillmetrics.api.model.ProjectResource;
@@ -8,9 +9,9 @@ import com.skillmetrics.api.model.ResourceHistory;
 import com.skillmetrics.api.model.User;
 import com.skillmetrics.api.repository.ProjectRepository;
 import com.skillmetrics.api.repository.ProjectResourceRepository;
-import com.skillmetrics.api.repository.ResourceHistoryRepository;
 import com.skillmetrics.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -28,7 +29,8 @@ public class ProjectResourceService {
     private final ProjectResourceRepository projectResourceRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
-    private final ResourceHistoryRepository resourceHistoryRepository;
+    private final AuditHistoryWriter auditHistoryWriter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<ProjectResourceDto> getAllProjectResources() {
@@ -164,6 +166,8 @@ public class ProjectResourceService {
         projectResource.setNotes(projectResourceDto.getNotes());
         
         ProjectResource savedProjectResource = projectResourceRepository.save(projectResource);
+        eventPublisher.publishEvent(new ProjectResourceChangedEvent(
+                savedProjectResource.getId(), savedProjectResource.getProject().getId(), savedProjectResource.getUser().getId()));
         
         // Create history record for resource addition
         createResourceHistoryRecord(
@@ -187,6 +191,8 @@ public class ProjectResourceService {
         // Store previous values for history tracking
         String previousRole = projectResource.getRole();
         Integer previousAllocation = projectResource.getAllocation();
+        Long previousProjectId = projectResource.getProject().getId();
+        Long previousUserId = projectResource.getUser().getId();
         
         // Only set project and user if they are changing to minimize DB calls
         if (projectResourceDto.getProjectId() != null && 
@@ -210,6 +216,12 @@ public class ProjectResourceService {
         projectResource.setNotes(projectResourceDto.getNotes());
         
         ProjectResource updatedProjectResource = projectResourceRepository.save(projectResource);
+        eventPublisher.publishEvent(new ProjectResourceChangedEvent(
+                updatedProjectResource.getId(), updatedProjectResource.getProject().getId(), updatedProjectResource.getUser().getId()));
+        if (!previousProjectId.equals(updatedProjectResource.getProject().getId())) {
+            // The assignment moved, so the project it left has changed too
+            eventPublisher.publishEvent(new ProjectResourceChangedEvent(id, previousProjectId, previousUserId));
+        }
         
         // Create history records if role or allocation changed
         if (!previousRole.equals(updatedProjectResource.getRole())) {
@@ -250,6 +262,7 @@ public class ProjectResourceService {
         String role = projectResource.getRole();
         
         projectResourceRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProjectResourceChangedEvent(id, projectId, userId));
         
         // Create history record for removal
         createResourceHistoryRecord(
@@ -285,7 +298,7 @@ public class ProjectResourceService {
             performedBy.ifPresent(user -> history.setPerformedById(user.getId()));
         }
         
-        resourceHistoryRepository.save(history);
+        auditHistoryWriter.record(history);
     }
     
     // Helper method to map ProjectResource entity to ProjectResourceDto
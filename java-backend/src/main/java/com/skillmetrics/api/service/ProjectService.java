@@ -4,10 +4,13 @@ import com.skillmetrics.api.dto.ProjectDto;
 import com.skillmetrics.api.dto.ProjectResourceDto;
 import com.skillmetrics.api.dto.ProjectSkillDto;
 import com.skillmetrics.api.dto.ResourceHistoryDto;
+import com.skillmetrics.api.event.ProjectResourceChangedEvent;
+import com.skillmetrics.api.event.ProjectSkillChangedEvent;
 import com.skillmetrics.api.exception.ResourceNotFoundException;
 import com.skillmetrics.api.model.*;
 import com.skillmetrics.api.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,7 +33,9 @@ public class ProjectService {
     private final ProjectSkillRepository projectSkillRepository;
     private final SkillRepository skillRepository;
     private final ResourceHistoryRepository resourceHistoryRepository;
+    private final AuditHistoryWriter auditHistoryWriter;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<ProjectDto> getAllProjects() {
@@ -369,9 +374,12 @@ public class ProjectService {
         resource.setNotes(resourceDto.getNotes());
         
         ProjectResource savedResource = projectResourceRepository.save(resource);
+        eventPublisher.publishEvent(new ProjectResourceChangedEvent(
+                savedResource.getId(), savedResource.getProject().getId(), savedResource.getUser().getId()));
         
         // Create resource history record
         ResourceHistory history = new ResourceHistory();
+        history.setProjectResource(savedResource);
         history.setProject(project);
         history.setUser(user);
         history.setAction("added");
@@ -380,12 +388,10 @@ public class ProjectService {
         history.setDate(LocalDateTime.now());
         
         if (currentUserId != null) {
-            User performedBy = userRepository.findById(currentUserId)
-                    .orElse(null);
-            history.setPerformedBy(performedBy);
+            history.setPerformedBy(userRepository.getReferenceById(currentUserId));
         }
         
-        resourceHistoryRepository.save(history);
+        auditHistoryWriter.record(history);
         
         // Notify the assigned user
         notificationService.createNotification(
@@ -434,6 +440,8 @@ public class ProjectService {
         resource.setNotes(resourceDto.getNotes());
         
         ProjectResource updatedResource = projectResourceRepository.save(resource);
+        eventPublisher.publishEvent(new ProjectResourceChangedEvent(
+                updatedResource.getId(), updatedResource.getProject().getId(), updatedResource.getUser().getId()));
         
         // Determine the action for history
         String action;
@@ -448,6 +456,7 @@ public class ProjectService {
         
         // Create resource history record
         ResourceHistory history = new ResourceHistory();
+        history.setProjectResource(resource);
         history.setProject(resource.getProject());
         history.setUser(resource.getUser());
         history.setAction(action);
@@ -458,12 +467,10 @@ public class ProjectService {
         history.setDate(LocalDateTime.now());
         
         if (currentUserId != null) {
-            User performedBy = userRepository.findById(currentUserId)
-                    .orElse(null);
-            history.setPerformedBy(performedBy);
+            history.setPerformedBy(userRepository.getReferenceById(currentUserId));
         }
         
-        resourceHistoryRepository.save(history);
+        auditHistoryWriter.record(history);
         
         // Notify the user about the change
         if ("role_changed".equals(action)) {
@@ -507,15 +514,15 @@ public class ProjectService {
         history.setDate(LocalDateTime.now());
         
         if (currentUserId != null) {
-            User performedBy = userRepository.findById(currentUserId)
-                    .orElse(null);
-            history.setPerformedBy(performedBy);
+            history.setPerformedBy(userRepository.getReferenceById(currentUserId));
         }
         
-        resourceHistoryRepository.save(history);
+        auditHistoryWriter.record(history);
         
         // Delete the resource
         projectResourceRepository.delete(resource);
+        eventPublisher.publishEvent(new ProjectResourceChangedEvent(
+                resourceId, resource.getProject().getId(), resource.getUser().getId()));
         
         // Notify the user about removal
         notificationService.createNotification(
@@ -558,6 +565,7 @@ public class ProjectService {
         projectSkill.setRequiredLevel(skillDto.getRequiredLevel());
         
         ProjectSkill savedSkill = projectSkillRepository.save(projectSkill);
+        eventPublisher.publishEvent(new ProjectSkillChangedEvent(project.getId()));
         
         return convertSkillToDto(savedSkill);
     }
@@ -570,6 +578,7 @@ public class ProjectService {
         projectSkill.setRequiredLevel(skillDto.getRequiredLevel());
         
         ProjectSkill updatedSkill = projectSkillRepository.save(projectSkill);
+        eventPublisher.publishEvent(new ProjectSkillChangedEvent(projectSkill.getProject().getId()));
         
         return convertSkillToDto(updatedSkill);
     }
@@ -580,6 +589,7 @@ public class ProjectService {
                 .orElseThrow(() -> new ResourceNotFoundException("Project skill not found with id " + skillId));
         
         projectSkillRepository.delete(projectSkill);
+        eventPublisher.publishEvent(new ProjectSkillChangedEvent(projectSkill.getProject().getId()));
     }
     
     @Transactional(readOnly = true)
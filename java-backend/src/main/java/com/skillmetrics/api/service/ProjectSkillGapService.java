@@ -0,0 +1,335 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.dto.ProjectSkillGapDto;
+import com.skillmetrics.api.event.BulkSkillDataChangedEvent;
+import com.skillmetrics.api.event.ProjectResourceChangedEvent;
+import com.skillmetrics.api.event.ProjectSkillChangedEvent;
+import com.skillmetrics.api.event.SkillChangedEvent;
+import com.skillmetrics.api.exception.ResourceNotFoundException;
+import com.skillmetrics.api.model.Project;
+import com.skillmetrics.api.model.enums.ProjectStatus;
+import com.skillmetrics.api.model.enums.SkillLevel;
+import com.skillmetrics.api.repository.ProjectRepository;
+import com.skillmetrics.api.repository.ProjectResourceRepository;
+import com.skillmetrics.api.repository.ProjectSkillRepository;
+import com.skillmetrics.api.repository.SkillRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Skill gaps per project, cached by project id.
+ *
+ * An entry is dropped exactly when something it was computed from changes: the
+ * project's skill requirements, its resource assignments, a skill of one of its members,
+ * or a skill row one of its requirements points at (found through member-to-projects and
+ * skill-to-projects reverse indexes). Since the reverse indexes only know cached entries,
+ * any skill change also bumps a sequence, and results loaded before it are not cached.
+ * Gaps for any number of projects are computed with three queries in total. Invalidation
+ * is local to this instance, so entries also expire after {@code cache-ttl} to pick up
+ * changes made elsewhere.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectSkillGapService {
+
+    public static final String COVERED = "COVERED";
+    public static final String UPGRADE_NEEDED = "UPGRADE_NEEDED";
+    public static final String MISSING = "MISSING";
+
+    private static final int IN_CLAUSE_CHUNK = 1000;
+
+    private final ProjectRepository projectRepository;
+    private final ProjectSkillRepository projectSkillRepository;
+    private final ProjectResourceRepository resourceRepository;
+    private final SkillRepository skillRepository;
+
+    @Value("${app.skill-gaps.cache-ttl:600000}")
+    private long cacheTtl;
+
+    private final Map<Long, CachedGaps> cache = new ConcurrentHashMap<>();
+
+    private final Map<Long, Set<Long>> projectsByMember = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> projectsBySkill = new ConcurrentHashMap<>();
+
+    // Invalidation sequence: results loaded before a project's last invalidation are not cached.
+    // Invalidations only need remembering while a load is running, so the map is cleared when none is.
+    private final AtomicLong invalidationSequence = new AtomicLong();
+    private final Map<Long, Long> lastInvalidation = new ConcurrentHashMap<>();
+    private final AtomicInteger loadsInFlight = new AtomicInteger();
+    // Results loaded before the last skill change of anyone are not cached either
+    private volatile long lastSkillChange;
+
+    @Transactional(readOnly = true)
+    public ProjectSkillGapDto getProjectGaps(Long projectId) {
+        CachedGaps cached = cache.get(projectId);
+        if (isFresh(cached)) {
+            return cached.gaps();
+        }
+
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id " + projectId));
+        return compute(List.of(project)).get(projectId);
+    }
+
+    /**
+     * Gap summaries of every active project, computing only those not already cached
+     */
+    @Transactional(readOnly = true)
+    public List<ProjectSkillGapDto> getActiveProjectGaps() {
+        List<Project> projects = projectRepository.findByStatusIgnoreCase(ProjectStatus.ACTIVE.name());
+
+        Map<Long, ProjectSkillGapDto> gaps = new HashMap<>();
+        List<Project> missing = new ArrayList<>();
+        for (Project project : projects) {
+            CachedGaps cached = cache.get(project.getId());
+            if (isFresh(cached)) {
+                gaps.put(project.getId(), cached.gaps());
+            } else {
+                missing.add(project);
+            }
+        }
+        if (!missing.isEmpty()) {
+            gaps.putAll(compute(missing));
+        }
+
+        return projects.stream().map(project -> gaps.get(project.getId())).toList();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectSkillChanged(ProjectSkillChangedEvent event) {
+        invalidate(event.getProjectId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onResourceChanged(ProjectResourceChangedEvent event) {
+        invalidate(event.getProjectId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        synchronized (this) {
+            lastSkillChange = invalidationSequence.incrementAndGet();
+        }
+        Set<Long> projectIds = new HashSet<>();
+        if (event.getUserId() != null) {
+            projectIds.addAll(projectsByMember.getOrDefault(event.getUserId(), Set.of()));
+        }
+        if (event.getSkillId() != null) {
+            projectIds.addAll(projectsBySkill.getOrDefault(event.getSkillId(), Set.of()));
+        }
+        projectIds.forEach(this::invalidate);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onBulkSkillDataChanged(BulkSkillDataChangedEvent event) {
+        lastSkillChange = invalidationSequence.incrementAndGet();
+        cache.clear();
+        projectsByMember.clear();
+        projectsBySkill.clear();
+    }
+
+    private synchronized void invalidate(Long projectId) {
+        if (projectId == null) {
+            return;
+        }
+        long sequence = invalidationSequence.incrementAndGet();
+        if (loadsInFlight.get() > 0) {
+            lastInvalidation.put(projectId, sequence);
+        }
+
+        CachedGaps removed = cache.remove(projectId);
+        if (removed != null) {
+            unlink(projectsByMember, projectId, removed.memberIds());
+            unlink(projectsBySkill, projectId, removed.skillIds());
+        }
+    }
+
+    private boolean isFresh(CachedGaps cached) {
+        return cached != null && cached.cachedAt() > System.currentTimeMillis() - cacheTtl;
+    }
+
+    private Map<Long, ProjectSkillGapDto> compute(List<Project> projects) {
+        loadsInFlight.incrementAndGet();
+        try {
+            return compute(projects, invalidationSequence.get());
+        } finally {
+            loadFinished();
+        }
+    }
+
+    private synchronized void loadFinished() {
+        if (loadsInFlight.decrementAndGet() == 0) {
+            lastInvalidation.clear();
+        }
+    }
+
+    private Map<Long, ProjectSkillGapDto> compute(List<Project> projects, long loadedAt) {
+        List<Long> projectIds = projects.stream().map(Project::getId).toList();
+
+        Map<Long, List<Object[]>> requirementsByProject = new HashMap<>();
+        Map<Long, Set<Long>> skillsByProject = new HashMap<>();
+        for (Object[] row : projectSkillRepository.findRequirementRows(projectIds)) {
+            requirementsByProject.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(row);
+            skillsByProject.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[4]);
+        }
+
+        Map<Long, Set<Long>> membersByProject = new HashMap<>();
+        Set<Long> allMembers = new HashSet<>();
+        for (Object[] row : resourceRepository.findMemberRows(projectIds)) {
+            membersByProject.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+            allMembers.add((Long) row[1]);
+        }
+
+        Map<Long, MemberSkills> skillsByMember = loadMemberSkills(allMembers);
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ProjectSkillGapDto> result = new HashMap<>();
+        for (Project project : projects) {
+            Set<Long> memberIds = membersByProject.getOrDefault(project.getId(), Set.of());
+            ProjectSkillGapDto gaps = buildGaps(project, memberIds,
+                    requirementsByProject.getOrDefault(project.getId(), List.of()), skillsByMember, now);
+            result.put(project.getId(), gaps);
+            store(project.getId(), gaps, memberIds, skillsByProject.getOrDefault(project.getId(), Set.of()), loadedAt);
+        }
+        return result;
+    }
+
+    private Map<Long, MemberSkills> loadMemberSkills(Set<Long> memberIds) {
+        Map<Long, MemberSkills> skillsByMember = new HashMap<>();
+        List<Long> ids = new ArrayList<>(memberIds);
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + IN_CLAUSE_CHUNK));
+            for (Object[] row : skillRepository.findLevelRowsByUserIds(chunk)) {
+                MemberSkills skills = skillsByMember.computeIfAbsent((Long) row[0], id -> new MemberSkills());
+                String category = (String) row[2];
+                skills.bestRanks().merge(SkillKey.of((String) row[1], category),
+                        SkillPostingsIndex.levelRank((String) row[3]), Math::max);
+                skills.categoryCounts().merge(category, 1L, Long::sum);
+            }
+        }
+        return skillsByMember;
+    }
+
+    private ProjectSkillGapDto buildGaps(Project project, Set<Long> memberIds, List<Object[]> requirements,
+                                         Map<Long, MemberSkills> skillsByMember, LocalDateTime computedAt) {
+        // Best level any member holds for each skill, and member skills per category
+        Map<SkillKey, Integer> bestRanks = new HashMap<>();
+        Map<String, Long> availableByCategory = new HashMap<>();
+        for (Long memberId : memberIds) {
+            MemberSkills skills = skillsByMember.get(memberId);
+            if (skills != null) {
+                skills.bestRanks().forEach((key, rank) -> bestRanks.merge(key, rank, Math::max));
+                skills.categoryCounts().forEach((category, count) -> availableByCategory.merge(category, count, Long::sum));
+            }
+        }
+
+        SkillLevel[] levels = SkillLevel.values();
+        List<ProjectSkillGapDto.SkillRequirementStatus> requiredSkills = new ArrayList<>(requirements.size());
+        List<ProjectSkillGapDto.SkillRequirementStatus> gaps = new ArrayList<>();
+        Map<String, Long> requiredByCategory = new HashMap<>();
+
+        for (Object[] row : requirements) {
+            String skillName = (String) row[1];
+            String category = (String) row[2];
+            String requiredLevel = (String) row[3];
+            requiredByCategory.merge(category, 1L, Long::sum);
+
+            Integer best = bestRanks.get(SkillKey.of(skillName, category));
+            String gapType = best == null ? MISSING
+                    : best < SkillPostingsIndex.levelRank(requiredLevel) ? UPGRADE_NEEDED
+                    : COVERED;
+            String currentLevel = best != null && best > 0 ? levels[best - 1].name() : null;
+
+            ProjectSkillGapDto.SkillRequirementStatus status = new ProjectSkillGapDto.SkillRequirementStatus(
+                    skillName, category, requiredLevel, currentLevel, gapType);
+            requiredSkills.add(status);
+            if (!COVERED.equals(gapType)) {
+                gaps.add(status);
+            }
+        }
+
+        int covered = requiredSkills.size() - gaps.size();
+        return ProjectSkillGapDto.builder()
+                .projectId(project.getId())
+                .projectName(project.getName())
+                .status(project.getStatus())
+                .memberCount(memberIds.size())
+                .requiredSkillCount(requiredSkills.size())
+                .coveredSkillCount(covered)
+                .coveragePercentage(requiredSkills.isEmpty() ? 100.0 : covered * 100.0 / requiredSkills.size())
+                .requiredSkills(requiredSkills)
+                .gaps(gaps)
+                .requiredByCategory(requiredByCategory)
+                .availableByCategory(availableByCategory)
+                .computedAt(computedAt)
+                .build();
+    }
+
+    private synchronized void store(Long projectId, ProjectSkillGapDto gaps, Set<Long> memberIds, Set<Long> skillIds,
+                                    long loadedAt) {
+        if (lastInvalidation.getOrDefault(projectId, 0L) > loadedAt || lastSkillChange > loadedAt) {
+            // Something changed while we were loading; let the next request recompute
+            return;
+        }
+
+        CachedGaps previous = cache.put(projectId,
+                new CachedGaps(gaps, Set.copyOf(memberIds), Set.copyOf(skillIds), System.currentTimeMillis()));
+        if (previous != null) {
+            unlink(projectsByMember, projectId, previous.memberIds());
+            unlink(projectsBySkill, projectId, previous.skillIds());
+        }
+        link(projectsByMember, projectId, memberIds);
+        link(projectsBySkill, projectId, skillIds);
+    }
+
+    private static void link(Map<Long, Set<Long>> projectsByKey, Long projectId, Set<Long> keys) {
+        for (Long key : keys) {
+            projectsByKey.computeIfAbsent(key, id -> ConcurrentHashMap.newKeySet()).add(projectId);
+        }
+    }
+
+    private static void unlink(Map<Long, Set<Long>> projectsByKey, Long projectId, Set<Long> keys) {
+        for (Long key : keys) {
+            projectsByKey.computeIfPresent(key, (id, projectIds) -> {
+                projectIds.remove(projectId);
+                return projectIds.isEmpty() ? null : projectIds;
+            });
+        }
+    }
+
+    private record CachedGaps(ProjectSkillGapDto gaps, Set<Long> memberIds, Set<Long> skillIds, long cachedAt) {
+    }
+
+    private record SkillKey(String name, String category) {
+
+        static SkillKey of(String name, String category) {
+            return new SkillKey(name != null ? name.trim().toLowerCase(Locale.ROOT) : "",
+                    category != null ? category.trim().toLowerCase(Locale.ROOT) : "");
+        }
+    }
+
+    private record MemberSkills(Map<SkillKey, Integer> bestRanks, Map<String, Long> categoryCounts) {
+
+        MemberSkills() {
+            this(new HashMap<>(), new HashMap<>());
+        }
+    }
+}
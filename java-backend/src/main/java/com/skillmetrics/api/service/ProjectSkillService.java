@@ -1,6 +1,7 @@
 package com.skillmetrics.api.service;
 
 import com.skillmetrics.api.dto.ProjectSkillDto;
+import com.skillmetrics.api.event.ProjectSkillChangedEvent;
 import com.skillmetrics.api.exception.ResourceAlreadyExistsException;
 import com.skillmetrics.api.exception.ResourceNotFoundException;
 import com.skillmetrics.api.model.Project;
@@ -10,6 +11,7 @@ import com.skillmetrics.api.repository.ProjectRepository;
 import com.skillmetrics.api.repository.ProjectSkillRepository;
 import com.skillmetrics.api.repository.SkillRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +25,7 @@ public class ProjectSkillService {
     private final ProjectSkillRepository projectSkillRepository;
     private final ProjectRepository projectRepository;
     private final SkillRepository skillRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<ProjectSkillDto> getAllProjectSkills() {
@@ -110,6 +113,7 @@ public class ProjectSkillService {
         projectSkill.setRequiredLevel(projectSkillDto.getRequiredLevel());
         
         ProjectSkill savedProjectSkill = projectSkillRepository.save(projectSkill);
+        eventPublisher.publishEvent(new ProjectSkillChangedEvent(savedProjectSkill.getProject().getId()));
         
         return mapToDto(savedProjectSkill);
     }
@@ -118,6 +122,7 @@ public class ProjectSkillService {
     public ProjectSkillDto updateProjectSkill(Long id, ProjectSkillDto projectSkillDto) {
         ProjectSkill projectSkill = projectSkillRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("ProjectSkill", "id", id));
+        Long previousProjectId = projectSkill.getProject().getId();
         
         // Check if project and skill are changing and if they exist
         if (projectSkillDto.getProjectId() != null && 
@@ -157,17 +162,21 @@ public class ProjectSkillService {
         projectSkill.setRequiredLevel(projectSkillDto.getRequiredLevel());
         
         ProjectSkill updatedProjectSkill = projectSkillRepository.save(projectSkill);
+        eventPublisher.publishEvent(new ProjectSkillChangedEvent(updatedProjectSkill.getProject().getId()));
+        if (!previousProjectId.equals(updatedProjectSkill.getProject().getId())) {
+            eventPublisher.publishEvent(new ProjectSkillChangedEvent(previousProjectId));
+        }
         
         return mapToDto(updatedProjectSkill);
     }
     
     @Transactional
     public void deleteProjectSkill(Long id) {
-        if (!projectSkillRepository.existsById(id)) {
-            throw new ResourceNotFoundException("ProjectSkill", "id", id);
-        }
+        ProjectSkill projectSkill = projectSkillRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ProjectSkill", "id", id));
         
-        projectSkillRepository.deleteById(id);
+        projectSkillRepository.delete(projectSkill);
+        eventPublisher.publishEvent(new ProjectSkillChangedEvent(projectSkill.getProject().getId()));
     }
     
     // Helper method to map ProjectSkill entity to ProjectSkillDto
@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -38,16 +39,21 @@ public class ReportService {
     private final ProjectResourceRepository resourceRepository;
     private final ProjectSkillRepository projectSkillRepository;
     private final EndorsementRepository endorsementRepository;
+    private final SkillMatrixHistoryService skillMatrixHistoryService;
+    private final AllocationEngine allocationEngine;
 
     /**
-     * Generate skill matrix report
+     * Generate skill matrix report, optionally as the matrix stood at {@code asOf}
      */
     @Transactional(readOnly = true)
-    public Map<String, Object> generateSkillMatrixReport(String category, String level, Long projectId) {
+    public Map<String, Object> generateSkillMatrixReport(String category, String level, Long projectId,
+                                                         LocalDateTime asOf) {
         Map<String, Object> report = new HashMap<>();
         
         // Filter skills based on parameters
-        List<Skill> skills = skillRepository.findAll();
+        List<Skill> skills = asOf != null
+                ? skillMatrixHistoryService.getSkillsAsOf(asOf)
+                : skillRepository.findAll();
         if (category != null && !category.isEmpty()) {
             skills = skills.stream()
                     .filter(skill -> category.equals(skill.getCategory()))
@@ -121,142 +127,113 @@ public class ReportService {
         report.put("skillsByCategory", skillsByCategory);
         report.put("skillsByLevel", skillsByLevel);
         report.put("userSkillMatrix", userSkillMatrix);
+        report.put("asOf", asOf);
         report.put("generatedAt", LocalDateTime.now());
         
         return report;
     }
 
     /**
-     * Generate resource utilization report
+     * Generate resource utilization report. Allocations come from the in-memory
+     * {@link AllocationEngine}; only user and project names are loaded, in one query each.
      */
     @Transactional(readOnly = true)
     public Map<String, Object> generateResourceUtilizationReport(String startDateStr, String endDateStr, Long projectId) {
         Map<String, Object> report = new HashMap<>();
         
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        LocalDate startDate = startDateStr != null ? LocalDate.parse(startDateStr, formatter) : LocalDate.now().minusMonths(6);
-        LocalDate endDate = endDateStr != null ? LocalDate.parse(endDateStr, formatter) : LocalDate.now();
+        LocalDate startDate;
+        LocalDate endDate;
+        try {
+            startDate = startDateStr != null ? LocalDate.parse(startDateStr) : LocalDate.now().minusMonths(6);
+            endDate = endDateStr != null ? LocalDate.parse(endDateStr) : LocalDate.now();
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Dates must be in yyyy-MM-dd format");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new BadRequestException("End date must not be before start date");
+        }
         
-        // Get all resources or filter by project
-        List<ProjectResource> resources;
         if (projectId != null) {
             Project project = projectRepository.findById(projectId)
                     .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
-            
-            resources = resourceRepository.findByProjectId(projectId);
             report.put("project", project);
-        } else {
-            resources = resourceRepository.findAll();
         }
         
-        // Filter by date range
-        resources = resources.stream()
-                .filter(resource -> {
-                    LocalDate resourceStart = resource.getStartDate() != null ? 
-                            LocalDate.parse(resource.getStartDate(), formatter) : null;
-                    LocalDate resourceEnd = resource.getEndDate() != null ? 
-                            LocalDate.parse(resource.getEndDate(), formatter) : null;
-                    
-                    // Include if resource period overlaps with report period
-                    return (resourceStart == null || !resourceStart.isAfter(endDate)) &&
-                           (resourceEnd == null || !resourceEnd.isBefore(startDate));
-                })
-                .collect(Collectors.toList());
+        List<AllocationEngine.Assignment> assignments = allocationEngine.getAssignments(startDate, endDate, projectId);
+        Map<Long, AllocationEngine.UserAllocation> allocations =
+                allocationEngine.summarizeAll(startDate, endDate, projectId);
         
-        // Calculate utilization stats
-        List<Map<String, Object>> utilizationData = new ArrayList<>();
-        Map<Long, Integer> userProjectCount = new HashMap<>();
-        
-        for (ProjectResource resource : resources) {
-            // Count projects per user
-            userProjectCount.put(
-                    resource.getUserId(), 
-                    userProjectCount.getOrDefault(resource.getUserId(), 0) + 1
-            );
-            
-            // Get project and user info
-            Project project = projectRepository.findById(resource.getProjectId()).orElse(null);
-            User user = userRepository.findById(resource.getUserId()).orElse(null);
-            
-            if (project != null && user != null) {
-                Map<String, Object> entry = new HashMap<>();
-                entry.put("resourceId", resource.getId());
-                entry.put("projectId", project.getId());
-                entry.put("projectName", project.getName());
-                entry.put("userId", user.getId());
-                entry.put("userName", user.getFirstName() + " " + user.getLastName());
-                entry.put("role", resource.getRole());
-                entry.put("allocation", resource.getAllocation());
-                entry.put("startDate", resource.getStartDate());
-                entry.put("endDate", resource.getEndDate());
-                
-                utilizationData.add(entry);
-            }
-        }
+        // Over-allocation windows may involve other projects than the filtered one
+        Set<Long> projectIds = new HashSet<>();
+        assignments.forEach(assignment -> projectIds.add(assignment.projectId()));
+        allocations.values().forEach(allocation -> allocation.overAllocations().forEach(window ->
+                window.assignments().forEach(assignment -> projectIds.add(assignment.projectId()))));
         
-        // Calculate over-allocation (users with >100% total allocation)
-        Map<Long, Double> totalAllocationByUser = new HashMap<>();
-        Map<Long, List<Map<String, Object>>> resourcesByUser = new HashMap<>();
+        Map<Long, String> projectNames = projectRepository.findAllById(projectIds).stream()
+                .collect(Collectors.toMap(Project::getId, Project::getName));
+        Map<Long, String> userNames = userRepository.findAllById(allocations.keySet()).stream()
+                .collect(Collectors.toMap(User::getId, user -> user.getFirstName() + " " + user.getLastName()));
         
-        for (Map<String, Object> entry : utilizationData) {
-            Long userId = (Long) entry.get("userId");
-            Double allocation = (Double) entry.get("allocation");
-            
-            if (allocation != null) {
-                totalAllocationByUser.put(
-                        userId,
-                        totalAllocationByUser.getOrDefault(userId, 0.0) + allocation
-                );
-            }
-            
-            // Group resources by user
-            if (!resourcesByUser.containsKey(userId)) {
-                resourcesByUser.put(userId, new ArrayList<>());
-            }
-            resourcesByUser.get(userId).add(entry);
-        }
+        List<Map<String, Object>> utilizationData = assignments.stream()
+                .map(assignment -> utilizationEntry(assignment, projectNames, userNames))
+                .collect(Collectors.toList());
         
-        // Identify over-allocated users
+        // Users allocated above 100% at any point of the period, with the exact windows
         List<Map<String, Object>> overAllocatedUsers = new ArrayList<>();
-        totalAllocationByUser.forEach((userId, totalAllocation) -> {
-            if (totalAllocation > 100.0) {
-                User user = userRepository.findById(userId).orElse(null);
-                if (user != null) {
-                    Map<String, Object> overAllocated = new HashMap<>();
-                    overAllocated.put("userId", userId);
-                    overAllocated.put("userName", user.getFirstName() + " " + user.getLastName());
-                    overAllocated.put("totalAllocation", totalAllocation);
-                    overAllocated.put("projectCount", userProjectCount.getOrDefault(userId, 0));
-                    overAllocated.put("assignments", resourcesByUser.get(userId));
-                    
-                    overAllocatedUsers.add(overAllocated);
-                }
+        allocations.values().forEach(allocation -> {
+            if (allocation.overAllocations().isEmpty()) {
+                return;
             }
+            
+            List<Map<String, Object>> windows = allocation.overAllocations().stream()
+                    .map(window -> {
+                        Map<String, Object> entry = new HashMap<>();
+                        entry.put("startDate", window.startDate());
+                        entry.put("endDate", window.endDate());
+                        entry.put("peakAllocation", window.peakAllocation());
+                        entry.put("assignments", window.assignments().stream()
+                                .map(assignment -> utilizationEntry(assignment, projectNames, userNames))
+                                .collect(Collectors.toList()));
+                        return entry;
+                    })
+                    .collect(Collectors.toList());
+            
+            Map<String, Object> overAllocated = new HashMap<>();
+            overAllocated.put("userId", allocation.userId());
+            overAllocated.put("userName", userNames.get(allocation.userId()));
+            overAllocated.put("totalAllocation", (double) allocation.peakAllocation());
+            overAllocated.put("averageAllocation", allocation.averageAllocation());
+            overAllocated.put("projectCount", allocation.assignments().stream()
+                    .map(AllocationEngine.Assignment::projectId).distinct().count());
+            overAllocated.put("assignments", allocation.assignments().stream()
+                    .map(assignment -> utilizationEntry(assignment, projectNames, userNames))
+                    .collect(Collectors.toList()));
+            overAllocated.put("overAllocatedWindows", windows);
+            
+            overAllocatedUsers.add(overAllocated);
         });
         
-        // Overall utilization statistics
-        double totalUtilization = totalAllocationByUser.values().stream().mapToDouble(Double::doubleValue).sum();
-        int totalResources = (int) totalAllocationByUser.keySet().stream().count();
+        // Overall utilization, weighted by how many days of the period each allocation covers
+        double totalUtilization = allocations.values().stream()
+                .mapToDouble(AllocationEngine.UserAllocation::averageAllocation)
+                .sum();
+        int totalResources = allocations.size();
         double averageUtilization = totalResources > 0 ? totalUtilization / totalResources : 0;
         
-        // Group by role
-        Map<String, List<Map<String, Object>>> utilizationByRole = utilizationData.stream()
-                .collect(Collectors.groupingBy(entry -> (String) entry.get("role")));
-        
         // Calculate role statistics
         Map<String, Map<String, Object>> roleStats = new HashMap<>();
-        utilizationByRole.forEach((role, entries) -> {
-            double roleAllocation = entries.stream()
-                    .mapToDouble(entry -> entry.get("allocation") != null ? (Double) entry.get("allocation") : 0)
-                    .sum();
-            
-            Map<String, Object> roleStat = new HashMap<>();
-            roleStat.put("count", entries.size());
-            roleStat.put("totalAllocation", roleAllocation);
-            roleStat.put("averageAllocation", entries.size() > 0 ? roleAllocation / entries.size() : 0);
-            
-            roleStats.put(role, roleStat);
-        });
+        assignments.stream()
+                .collect(Collectors.groupingBy(assignment -> assignment.role() != null ? assignment.role() : "Unassigned"))
+                .forEach((role, entries) -> {
+                    double roleAllocation = entries.stream().mapToDouble(AllocationEngine.Assignment::allocation).sum();
+                    
+                    Map<String, Object> roleStat = new HashMap<>();
+                    roleStat.put("count", entries.size());
+                    roleStat.put("totalAllocation", roleAllocation);
+                    roleStat.put("averageAllocation", roleAllocation / entries.size());
+                    
+                    roleStats.put(role, roleStat);
+                });
         
         report.put("startDate", startDate);
         report.put("endDate", endDate);
@@ -271,6 +248,21 @@ public class ReportService {
         return report;
     }
 
+    private Map<String, Object> utilizationEntry(AllocationEngine.Assignment assignment,
+                                                 Map<Long, String> projectNames, Map<Long, String> userNames) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("resourceId", assignment.resourceId());
+        entry.put("projectId", assignment.projectId());
+        entry.put("projectName", projectNames.get(assignment.projectId()));
+        entry.put("userId", assignment.userId());
+        entry.put("userName", userNames.get(assignment.userId()));
+        entry.put("role", assignment.role());
+        entry.put("allocation", (double) assignment.allocation());
+        entry.put("startDate", assignment.startDate());
+        entry.put("endDate", assignment.endDate());
+        return entry;
+    }
+
     /**
      * Generate team capabilities report
      */
@@ -493,7 +485,8 @@ public class ReportService {
                 reportData = generateSkillMatrixReport(
                         params.get("category"),
                         params.get("level"),
-                        params.get("projectId") != null ? Long.parseLong(params.get("projectId")) : null
+                        params.get("projectId") != null ? Long.parseLong(params.get("projectId")) : null,
+                        parseAsOf(params.get("asOf"))
                 );
                 break;
                 
@@ -586,7 +579,8 @@ public class ReportService {
                 reportData = generateSkillMatrixReport(
                         params.get("category"),
                         params.get("level"),
-                        params.get("projectId") != null ? Long.parseLong(params.get("projectId")) : null
+                        params.get("projectId") != null ? Long.parseLong(params.get("projectId")) : null,
+                        parseAsOf(params.get("asOf"))
                 );
                 break;
                 
@@ -1275,8 +1269,8 @@ public class ReportService {
             Double allocation = (Double) entry.get("allocation");
             dataRow.createCell(3).setCellValue(allocation != null ? allocation : 0);
             
-            dataRow.createCell(4).setCellValue((String) entry.get("startDate"));
-            dataRow.createCell(5).setCellValue((String) entry.get("endDate"));
+            dataRow.createCell(4).setCellValue(Objects.toString(entry.get("startDate"), ""));
+            dataRow.createCell(5).setCellValue(Objects.toString(entry.get("endDate"), ""));
         }
         
         // Over-allocated sheet
@@ -1542,6 +1536,17 @@ public class ReportService {
         }
     }
     
+    private LocalDateTime parseAsOf(String asOf) {
+        if (asOf == null || asOf.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(asOf);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid asOf, expected an ISO date-time: " + asOf);
+        }
+    }
+    
     private String formatReportTitle(String reportType) {
         switch (reportType.toLowerCase()) {
             case "skill-matrix":
@@ -1,5 +1,6 @@
 package com.skillmetrics.api.service;
 
+import com.skillmetrics.api.dto.HistoryPageDto;
 import com.skillmetrics.api.dto.ResourceHistoryDto;
 import com.skillmetrics.api.exception.ResourceNotFoundException;
 import com.skillmetrics.api.model.Project;
@@ -9,6 +10,7 @@ import com.skillmetrics.api.repository.ProjectRepository;
 import com.skillmetrics.api.repository.ResourceHistoryRepository;
 import com.skillmetrics.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -88,6 +90,22 @@ public class ResourceHistoryService {
         return enrichHistoryDtos(historyList);
     }
     
+    /**
+     * Resource history in {@code [from, to)}, newest first, one keyset page at a time
+     */
+    @Transactional(readOnly = true)
+    public HistoryPageDto<ResourceHistoryDto> getHistoryPageByDateRange(LocalDateTime from, LocalDateTime to,
+                                                                         String after, Integer limit) {
+        HistoryPaging.Cursor cursor = HistoryPaging.start(from, to, after);
+        int pageSize = HistoryPaging.pageSize(limit);
+        
+        List<ResourceHistory> rows = resourceHistoryRepository.findPageBetween(
+                from, cursor.timestamp(), cursor.id(), PageRequest.of(0, pageSize + 1));
+        
+        return HistoryPaging.toPage(rows, pageSize, ResourceHistory::getDate, ResourceHistory::getId,
+                this::enrichHistoryDtos);
+    }
+    
     // Helper method to enrich history DTOs with project and user names
     private List<ResourceHistoryDto> enrichHistoryDtos(List<ResourceHistory> historyList) {
         // Collect all project IDs and user IDs
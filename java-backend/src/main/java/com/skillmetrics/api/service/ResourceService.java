@@ -2,6 +2,7 @@ package com.skillmetrics.api.service;
 
 import com.skillmetrics.api.dto.ResourceDto;
 import com.skillmetrics.api.dto.ResourceHistoryDto;
+import com.skillmetrics.api.event.ProjectResourceChangedEvent;
 import com.skillmetrics.api.exception.ResourceNotFoundException;
 import com.skillmetrics.api.model.Project;
 import com.skillmetrics.api.model.ProjectResource;
@@ -12,6 +13,7 @@ import com.skillmetrics.api.repository.ProjectResourceRepository;
 import com.skillmetrics.api.repository.ResourceHistoryRepository;
 import com.skillmetrics.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,10 +27,12 @@ public class ResourceService {
 
     private final ProjectResourceRepository resourceRepository;
     private final ResourceHistoryRepository historyRepository;
+    private final AuditHistoryWriter auditHistoryWriter;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<ResourceDto> getResourcesByProjectId(Long projectId) {
@@ -131,6 +135,8 @@ public class ResourceService {
         resource.setNotes(resourceDto.getNotes());
         
         ProjectResource savedResource = resourceRepository.save(resource);
+        eventPublisher.publishEvent(new ProjectResourceChangedEvent(
+                savedResource.getId(), savedResource.getProject().getId(), savedResource.getUser().getId()));
         
         // Create resource history
         ResourceHistory history = new ResourceHistory();
@@ -143,7 +149,7 @@ public class ResourceService {
         history.setPerformedBy(performedBy);
         history.setNote("Initial assignment to project");
         
-        historyRepository.save(history);
+        auditHistoryWriter.record(history);
         
         // Send notification to the user
         notificationService.createNotification(
@@ -247,7 +253,9 @@ public class ResourceService {
         }
         
         ProjectResource updatedResource = resourceRepository.save(resource);
-        historyRepository.save(history);
+        eventPublisher.publishEvent(new ProjectResourceChangedEvent(
+                updatedResource.getId(), updatedResource.getProject().getId(), updatedResource.getUser().getId()));
+        auditHistoryWriter.record(history);
         
         // Send notification for significant changes
         if (roleChanged || allocationChanged) {
@@ -287,8 +295,8 @@ public class ResourceService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + performedById));
         
         // Create resource history
+        // The resource row is deleted below, so the entry must not reference it
         ResourceHistory history = new ResourceHistory();
-        history.setProjectResource(resource);
         history.setProject(resource.getProject());
         history.setUser(resource.getUser());
         history.setAction("removed");
@@ -297,7 +305,7 @@ public class ResourceService {
         history.setPerformedBy(performedBy);
         history.setNote("Removed from project");
         
-        historyRepository.save(history);
+        auditHistoryWriter.record(history);
         
         // Send notification
         notificationService.createNotification(
@@ -320,6 +328,8 @@ public class ResourceService {
         }
         
         resourceRepository.delete(resource);
+        eventPublisher.publishEvent(new ProjectResourceChangedEvent(
+                id, resource.getProject().getId(), resource.getUser().getId()));
     }
     
     @Transactional(readOnly = true)
@@ -0,0 +1,198 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.model.ScheduledJobRun;
+import com.skillmetrics.api.model.enums.ScheduledJobStatus;
+import com.skillmetrics.api.repository.ScheduledJobRunRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Runs scheduled jobs on exactly one instance of the cluster.
+ *
+ * A job only runs while its runner holds a Postgres session-level advisory lock named
+ * after the job, on a connection reserved for the duration of the run. The job body
+ * uses ordinary pooled connections, so it may commit as often as it likes. Instances
+ * that fail to get the lock skip the run; instances that get it late see the
+ * completed run in {@code scheduled_job_runs} and skip as well.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduledJobRunner {
+
+    // First key of the two-key advisory lock, keeping job locks apart from any others
+    private static final int LOCK_NAMESPACE = 0x534d4a42;
+
+    // Instances firing the same cron slot up to this far apart resolve to the same slot
+    private static final Duration SLOT_TOLERANCE = Duration.ofMinutes(1);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final DataSource dataSource;
+    private final ScheduledJobRunRepository jobRunRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final String instanceId = resolveInstanceId();
+
+    /**
+     * Run a cron job at most once per scheduled slot across the cluster
+     */
+    public boolean runOncePerSchedule(String jobName, String cron, Runnable job) {
+        return runOncePerSchedule(jobName, cron, LocalDateTime.now(), job);
+    }
+
+    /**
+     * Run a cron job for the slot its trigger fired at, for triggers that run the job later
+     */
+    public boolean runOncePerSchedule(String jobName, String cron, LocalDateTime firedAt, Runnable job) {
+        LocalDateTime slot = CronExpression.parse(cron).next(firedAt.minus(SLOT_TOLERANCE));
+        return run(jobName, slot, null, job);
+    }
+
+    /**
+     * Run an interval job on one instance at a time, and not again until
+     * {@code minInterval} has passed since the last successful run started
+     */
+    public boolean runAtMostEvery(String jobName, Duration minInterval, Runnable job) {
+        return run(jobName, null, minInterval, job);
+    }
+
+    public Page<ScheduledJobRun> getRuns(String jobName, Pageable pageable) {
+        return jobName == null || jobName.isEmpty()
+                ? jobRunRepository.findAllByOrderByStartedAtDesc(pageable)
+                : jobRunRepository.findByJobNameOrderByStartedAtDesc(jobName, pageable);
+    }
+
+    public int purgeRunsBefore(LocalDateTime before) {
+        return jobRunRepository.deleteStartedBefore(before);
+    }
+
+    private boolean run(String jobName, LocalDateTime slot, Duration minInterval, Runnable job) {
+        try (Connection lockConnection = dataSource.getConnection()) {
+            lockConnection.setAutoCommit(true);
+
+            if (!tryLock(lockConnection, jobName)) {
+                skipped(jobName, "locked");
+                return false;
+            }
+
+            try {
+                if (alreadyRan(jobName, slot, minInterval)) {
+                    skipped(jobName, "already_ran");
+                    return false;
+                }
+                execute(jobName, slot, job);
+                return true;
+            } finally {
+                unlock(lockConnection, jobName);
+            }
+        } catch (SQLException e) {
+            log.error("Could not coordinate scheduled job {}", jobName, e);
+            return false;
+        }
+    }
+
+    private boolean alreadyRan(String jobName, LocalDateTime slot, Duration minInterval) {
+        if (slot != null) {
+            return jobRunRepository.existsByJobNameAndScheduledForAndStatus(jobName, slot, ScheduledJobStatus.SUCCEEDED);
+        }
+        if (minInterval != null) {
+            // Allow some slack so instances with slightly different timers do not starve each other
+            LocalDateTime threshold = LocalDateTime.now().minus(minInterval.multipliedBy(9).dividedBy(10));
+            return jobRunRepository.findTopByJobNameAndStatusOrderByStartedAtDesc(jobName, ScheduledJobStatus.SUCCEEDED)
+                    .map(last -> last.getStartedAt().isAfter(threshold))
+                    .orElse(false);
+        }
+        return false;
+    }
+
+    private void execute(String jobName, LocalDateTime slot, Runnable job) {
+        ScheduledJobRun run = jobRunRepository.save(ScheduledJobRun.builder()
+                .jobName(jobName)
+                .instanceId(instanceId)
+                .scheduledFor(slot)
+                .startedAt(LocalDateTime.now())
+                .status(ScheduledJobStatus.RUNNING)
+                .build());
+
+        long start = System.nanoTime();
+        ScheduledJobStatus outcome = ScheduledJobStatus.SUCCEEDED;
+        String error = null;
+        try {
+            job.run();
+        } catch (RuntimeException e) {
+            outcome = ScheduledJobStatus.FAILED;
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            log.error("Scheduled job {} failed", jobName, e);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        Timer.builder("scheduled.job.duration")
+                .tag("job", jobName)
+                .tag("outcome", outcome.name().toLowerCase())
+                .register(meterRegistry)
+                .record(Duration.ofNanos(elapsedNanos));
+
+        run.setStatus(outcome);
+        run.setFinishedAt(LocalDateTime.now());
+        run.setDurationMs(elapsedNanos / 1_000_000);
+        run.setError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        jobRunRepository.save(run);
+    }
+
+    private boolean tryLock(Connection connection, String jobName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?, hashtext(?))")) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setString(2, jobName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(Connection connection, String jobName) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?, hashtext(?))")) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setString(2, jobName);
+            statement.execute();
+        } catch (SQLException e) {
+            log.warn("Could not release lock for scheduled job {}: {}", jobName, e.getMessage());
+            try {
+                // Drop the connection rather than return it to the pool still holding the lock
+                connection.abort(Runnable::run);
+            } catch (SQLException abortFailure) {
+                log.warn("Could not abort lock connection for scheduled job {}", jobName, abortFailure);
+            }
+        }
+    }
+
+    private void skipped(String jobName, String reason) {
+        meterRegistry.counter("scheduled.job.skipped", "job", jobName, "reason", reason).increment();
+        log.debug("Skipping scheduled job {} on {} ({})", jobName, instanceId, reason);
+    }
+
+    private static String resolveInstanceId() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return UUID.randomUUID().toString();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.skillmetrics.api.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jobs that must run once per schedule across the whole cluster. Every instance fires
+ * the triggers below; {@link ScheduledJobRunner} makes sure only one of them does the work.
+ *
+ * The triggers only hand the jobs to a pool of their own, so a rebuild or backfill running
+ * for minutes never holds up the shared scheduler threads. A job still running on this
+ * instance when its trigger fires again is not queued a second time.
+ *
+ * Per-instance housekeeping (stream heartbeats, in-memory cache refreshes, the email
+ * delivery workers) stays as plain {@code @Scheduled} methods on its own service.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduledJobs {
+
+    private final ScheduledJobRunner jobRunner;
+    private final SkillTargetService skillTargetService;
+    private final NotificationDigestService notificationDigestService;
+    private final EmailDeliveryWorker emailDeliveryWorker;
+    private final TokenRevocationService tokenRevocationService;
+    private final HistoryPartitionManager historyPartitionManager;
+    private final SkillMatrixHistoryService skillMatrixHistoryService;
+    private final SkillSupplyDemandService skillSupplyDemandService;
+    private final SkillGrowthRollupService skillGrowthRollupService;
+    private final UserDevelopmentSnapshotService userDevelopmentSnapshotService;
+    private final SkillCanonicalizationService skillCanonicalizationService;
+
+    @Value("${app.scheduling.cluster-jobs.pool-size:4}")
+    private int clusterJobPoolSize;
+
+    @Value("${app.skill-targets.expiry-sweep.cron:0 0 0 * * ?}")
+    private String skillTargetExpiryCron;
+
+    @Value("${app.security.revocation.cleanup-cron:0 15 * * * ?}")
+    private String revocationCleanupCron;
+
+    @Value("${app.scheduling.job-history-cleanup-cron:0 30 3 * * ?}")
+    private String jobHistoryCleanupCron;
+
+    @Value("${app.scheduling.job-history-retention-days:14}")
+    private int jobHistoryRetentionDays;
+
+    @Value("${app.history.partitioning.maintenance-cron:0 45 2 * * ?}")
+    private String historyPartitionCron;
+
+    @Value("${app.history.archive-cron:0 15 4 * * ?}")
+    private String historyArchiveCron;
+
+    @Value("${app.skill-matrix.snapshot-cron:0 30 1 * * ?}")
+    private String skillMatrixSnapshotCron;
+
+    @Value("${app.skill-supply-demand.refresh-cron:0 */15 * * * ?}")
+    private String skillSupplyDemandRefreshCron;
+
+    @Value("${app.skill-growth.reconcile-cron:0 20 * * * ?}")
+    private String skillGrowthReconcileCron;
+
+    @Value("${app.user-development.rebuild-cron:0 0 2 * * ?}")
+    private String userDevelopmentRebuildCron;
+
+    @Value("${app.skill-canonicalization.backfill-cron:0 40 2 * * ?}")
+    private String skillTemplateBackfillCron;
+
+    @Value("${app.email.digest.poll-interval:60000}")
+    private long digestPollInterval;
+
+    @Value("${app.email.outbox.maintenance-interval:60000}")
+    private long outboxMaintenanceInterval;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private ExecutorService jobPool;
+
+    @PostConstruct
+    void init() {
+        jobPool = Executors.newFixedThreadPool(clusterJobPoolSize, new CustomizableThreadFactory("cluster-job-"));
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        jobPool.shutdown();
+        if (!jobPool.awaitTermination(30, TimeUnit.SECONDS)) {
+            // Interrupted runs are left RUNNING in the job history and retried on their next slot
+            jobPool.shutdownNow();
+        }
+    }
+
+    @Scheduled(cron = "${app.skill-targets.expiry-sweep.cron:0 0 0 * * ?}")
+    public void expireSkillTargets() {
+        submitOncePerSchedule("skill-target-expiry", skillTargetExpiryCron,
+                skillTargetService::updateExpiredTargets);
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.digest.poll-interval:60000}")
+    public void sendNotificationDigests() {
+        submitAtMostEvery("notification-digest", Duration.ofMillis(digestPollInterval),
+                notificationDigestService::sendDueDigests);
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.maintenance-interval:60000}")
+    public void maintainEmailOutbox() {
+        submitAtMostEvery("email-outbox-maintenance", Duration.ofMillis(outboxMaintenanceInterval),
+                emailDeliveryWorker::maintain);
+    }
+
+    @Scheduled(cron = "${app.security.revocation.cleanup-cron:0 15 * * * ?}")
+    public void purgeTokenRevocations() {
+        submitOncePerSchedule("token-revocation-cleanup", revocationCleanupCron,
+                tokenRevocationService::purgeExpired);
+    }
+
+    @Scheduled(cron = "${app.history.partitioning.maintenance-cron:0 45 2 * * ?}")
+    public void maintainHistoryPartitions() {
+        submitOncePerSchedule("history-partition-maintenance", historyPartitionCron,
+                historyPartitionManager::maintainPartitions);
+    }
+
+    /**
+     * Convert and extend the history tables soon after startup instead of waiting for the
+     * nightly slot. Shares the job name, and so the lock, with the nightly maintenance.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareHistoryPartitions() {
+        submitAtMostEvery("history-partition-maintenance", Duration.ofMinutes(10),
+                historyPartitionManager::maintainPartitions);
+    }
+
+    @Scheduled(cron = "${app.history.archive-cron:0 15 4 * * ?}")
+    public void archiveHistoryPartitions() {
+        submitOncePerSchedule("history-partition-archive", historyArchiveCron,
+                historyPartitionManager::archiveExpiredPartitions);
+    }
+
+    @Scheduled(cron = "${app.skill-matrix.snapshot-cron:0 30 1 * * ?}")
+    public void snapshotSkillMatrix() {
+        submitOncePerSchedule("skill-matrix-snapshot", skillMatrixSnapshotCron, () -> {
+            skillMatrixHistoryService.takeSnapshot();
+            skillMatrixHistoryService.purgeSnapshots();
+        });
+    }
+
+    @Scheduled(cron = "${app.skill-supply-demand.refresh-cron:0 */15 * * * ?}")
+    public void refreshSkillSupplyDemand() {
+        submitOncePerSchedule("skill-supply-demand-refresh", skillSupplyDemandRefreshCron,
+                skillSupplyDemandService::refresh);
+    }
+
+    @Scheduled(cron = "${app.skill-growth.reconcile-cron:0 20 * * * ?}")
+    public void reconcileSkillGrowth() {
+        submitOncePerSchedule("skill-growth-reconcile", skillGrowthReconcileCron,
+                skillGrowthRollupService::reconcileRecent);
+    }
+
+    @Scheduled(cron = "${app.user-development.rebuild-cron:0 0 2 * * ?}")
+    public void rebuildUserDevelopmentSnapshots() {
+        submitOncePerSchedule("user-development-rebuild", userDevelopmentRebuildCron,
+                userDevelopmentSnapshotService::rebuildAll);
+    }
+
+    @Scheduled(cron = "${app.skill-canonicalization.backfill-cron:0 40 2 * * ?}")
+    public void backfillSkillTemplates() {
+        submitOncePerSchedule("skill-template-backfill", skillTemplateBackfillCron,
+                skillCanonicalizationService::backfill);
+    }
+
+    @Scheduled(cron = "${app.scheduling.job-history-cleanup-cron:0 30 3 * * ?}")
+    public void purgeJobHistory() {
+        submitOncePerSchedule("job-history-cleanup", jobHistoryCleanupCron,
+                () -> jobRunner.purgeRunsBefore(LocalDateTime.now().minusDays(jobHistoryRetentionDays)));
+    }
+
+    private void submitOncePerSchedule(String jobName, String cron, Runnable job) {
+        // The slot is resolved from the firing time, not from when the pool gets to the job
+        LocalDateTime firedAt = LocalDateTime.now();
+        submit(jobName, () -> jobRunner.runOncePerSchedule(jobName, cron, firedAt, job));
+    }
+
+    private void submitAtMostEvery(String jobName, Duration minInterval, Runnable job) {
+        submit(jobName, () -> jobRunner.runAtMostEvery(jobName, minInterval, job));
+    }
+
+    private void submit(String jobName, Runnable run) {
+        if (!inFlight.add(jobName)) {
+            log.debug("Scheduled job {} is still running on this instance, skipping trigger", jobName);
+            return;
+        }
+        try {
+            jobPool.execute(() -> {
+                try {
+                    run.run();
+                } finally {
+                    inFlight.remove(jobName);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(jobName);
+            log.warn("Could not submit scheduled job {}: {}", jobName, e.getMessage());
+        }
+    }
+}
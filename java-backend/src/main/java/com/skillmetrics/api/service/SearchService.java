@@ -31,6 +31,7 @@ public class SearchService {
     private final ProjectSkillRepository projectSkillRepository;
     private final ProjectResourceRepository resourceRepository;
     private final ClientRepository clientRepository;
+    private final ProjectSkillGapService projectSkillGapService;
 
     /**
      * Search for skills
@@ -213,85 +214,21 @@ public class SearchService {
     }
 
     /**
-     * Find skill gaps for a project
+     * Find skill gaps for a project. The gaps come from {@link ProjectSkillGapService}'s
+     * cache; the response keeps the shape this endpoint has always had.
      */
     @Transactional(readOnly = true)
     public Map<String, Object> findProjectSkillGaps(Long projectId) {
-        Map<String, Object> result = new HashMap<>();
-        
-        // Get project
-        Optional<Project> projectOpt = projectRepository.findById(projectId);
-        if (!projectOpt.isPresent()) {
+        if (!projectRepository.existsById(projectId)) {
             return Map.of("error", "Project not found");
         }
+        ProjectSkillGapDto gaps = projectSkillGapService.getProjectGaps(projectId);
         
-        Project project = projectOpt.get();
-        result.put("projectId", project.getId());
-        result.put("projectName", project.getName());
-        
-        // Get project skills
-        List<ProjectSkill> projectSkills = projectSkillRepository.findByProjectId(projectId);
-        if (projectSkills.isEmpty()) {
-            return Map.of(
-                "projectId", project.getId(),
-                "projectName", project.getName(),
-                "requiredSkills", Collections.emptyList(),
-                "gaps", Collections.emptyList()
-            );
-        }
-        
-        // Get project resources
-        List<ProjectResource> resources = resourceRepository.findByProjectId(projectId);
-        List<Long> resourceUserIds = resources.stream()
-                .map(ProjectResource::getUserId)
-                .collect(Collectors.toList());
-        
-        // Get skills of all resources
-        List<Skill> resourceSkills = new ArrayList<>();
-        for (Long userId : resourceUserIds) {
-            resourceSkills.addAll(skillRepository.findByUserId(userId));
-        }
-        
-        // Group skills by name and category for exact matching
-        Map<String, List<Skill>> skillMap = resourceSkills.stream()
-                .collect(Collectors.groupingBy(skill -> skill.getName() + "|" + skill.getCategory()));
-        
-        // Find gaps
-        List<Map<String, Object>> gaps = new ArrayList<>();
-        
-        for (ProjectSkill projectSkill : projectSkills) {
-            String key = projectSkill.getSkillName() + "|" + projectSkill.getCategory();
-            List<Skill> matchingSkills = skillMap.getOrDefault(key, Collections.emptyList());
-            
-            // Check if skill exists but at lower level
-            boolean hasSkillsWithLowerLevel = matchingSkills.stream()
-                    .anyMatch(skill -> compareSkillLevels(skill.getLevel(), projectSkill.getRequiredLevel()) < 0);
-            
-            // Add to gaps if skill doesn't exist or only exists at lower level
-            if (matchingSkills.isEmpty() || (hasSkillsWithLowerLevel && 
-                    matchingSkills.stream().noneMatch(skill -> 
-                            compareSkillLevels(skill.getLevel(), projectSkill.getRequiredLevel()) >= 0))) {
-                
-                Map<String, Object> gap = new HashMap<>();
-                gap.put("skillName", projectSkill.getSkillName());
-                gap.put("category", projectSkill.getCategory());
-                gap.put("requiredLevel", projectSkill.getRequiredLevel());
-                
-                if (hasSkillsWithLowerLevel) {
-                    gap.put("gapType", "UPGRADE_NEEDED");
-                    gap.put("currentLevel", matchingSkills.get(0).getLevel());
-                } else {
-                    gap.put("gapType", "MISSING");
-                    gap.put("currentLevel", null);
-                }
-                
-                gaps.add(gap);
-            }
-        }
-        
-        result.put("requiredSkills", projectSkills);
-        result.put("gaps", gaps);
-        
+        Map<String, Object> result = new HashMap<>();
+        result.put("projectId", gaps.getProjectId());
+        result.put("projectName", gaps.getProjectName());
+        result.put("requiredSkills", projectSkillRepository.findByProjectId(projectId));
+        result.put("gaps", gaps.getGaps());
         return result;
     }
 
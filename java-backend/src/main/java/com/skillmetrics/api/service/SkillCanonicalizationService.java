@@ -0,0 +1,331 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.dto.SkillCanonicalMatchDto;
+import com.skillmetrics.api.event.BulkSkillDataChangedEvent;
+import com.skillmetrics.api.event.SkillTemplateChangedEvent;
+import com.skillmetrics.api.exception.BadRequestException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Maps free-text skill names onto {@link com.skillmetrics.api.model.SkillTemplate}s, so that
+ * "k8s", "Kubernetes" and "kubernetes " all count as one skill.
+ *
+ * Template names and their aliases are normalized to lowercase letters, digits, '+' and '#'
+ * and indexed by character trigrams. A name matches exactly on its normalized form, or
+ * otherwise by the Dice coefficient of the trigram sets. Matches at or above
+ * {@code auto-link-similarity} that no other template ties are linked without asking:
+ * on skill create and by the batch backfill of {@code skills.template_id}. Weaker matches
+ * are only offered as suggestions. The index is rebuilt after local template changes and
+ * periodically to pick up changes made elsewhere.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkillCanonicalizationService {
+
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private static final char START = '\u0002';
+    private static final char END = '\u0003';
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.skill-canonicalization.min-similarity:0.5}")
+    private double minSimilarity;
+
+    @Value("${app.skill-canonicalization.auto-link-similarity:0.85}")
+    private double autoLinkSimilarity;
+
+    @Value("${app.skill-canonicalization.backfill-chunk-size:1000}")
+    private int backfillChunkSize;
+
+    private volatile TemplateIndex index = TemplateIndex.EMPTY;
+
+    @PostConstruct
+    void init() {
+        rebuild();
+    }
+
+    /**
+     * Normalized form names are compared on: lowercase letters and digits, plus '+' and '#'
+     * so that "C", "C++" and "C#" stay apart
+     */
+    public static String canonicalKey(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder(text.length());
+        for (char ch : text.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (Character.isLetterOrDigit(ch) || ch == '+' || ch == '#') {
+                key.append(ch);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Active templates resembling the name, best first. A template in the given category
+     * wins ties. Names matching nothing above {@code min-similarity} return an empty list.
+     */
+    public List<SkillCanonicalMatchDto> suggest(String name, String category, int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be positive");
+        }
+        List<Match> matches = index.match(name, category, minSimilarity);
+        List<SkillCanonicalMatchDto> suggestions = new ArrayList<>();
+        for (int i = 0; i < matches.size() && i < Math.min(limit, MAX_SUGGESTIONS); i++) {
+            boolean autoLinked = i == 0 && isAutoLink(matches.get(0), matches.size() > 1 ? matches.get(1) : null);
+            suggestions.add(toDto(matches.get(i), autoLinked));
+        }
+        return suggestions;
+    }
+
+    /**
+     * The template a new or renamed skill should be linked to, if the match is confident
+     */
+    public Optional<Long> resolveTemplateId(String name, String category) {
+        List<Match> matches = index.match(name, category, autoLinkSimilarity);
+        if (matches.isEmpty() || !isAutoLink(matches.get(0), matches.size() > 1 ? matches.get(1) : null)) {
+            return Optional.empty();
+        }
+        return Optional.of(matches.get(0).template().id());
+    }
+
+    /**
+     * Link every skill without a template to its confident match, in chunks that each
+     * commit on their own. Returns how many skills were scanned and linked. Aggregates over
+     * skills are refreshed once at the end, as after an import.
+     */
+    public Map<String, Object> backfill() {
+        long lastId = 0;
+        int scanned = 0;
+        int linked = 0;
+        while (true) {
+            long after = lastId;
+            List<Object[]> rows = jdbcTemplate.query("""
+                    SELECT id, name, category FROM skills
+                    WHERE template_id IS NULL AND id > ?
+                    ORDER BY id
+                    LIMIT ?
+                    """, (rs, rowNum) -> new Object[]{rs.getLong("id"), rs.getString("name"), rs.getString("category")},
+                    after, backfillChunkSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            List<Object[]> links = new ArrayList<>();
+            for (Object[] row : rows) {
+                resolveTemplateId((String) row[1], (String) row[2])
+                        .ifPresent(templateId -> links.add(new Object[]{templateId, row[0]}));
+            }
+            if (!links.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                        "UPDATE skills SET template_id = ? WHERE id = ? AND template_id IS NULL", links));
+            }
+
+            scanned += rows.size();
+            linked += links.size();
+            lastId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        log.info("Template backfill linked {} of {} unlinked skills", linked, scanned);
+        if (linked > 0) {
+            eventPublisher.publishEvent(new BulkSkillDataChangedEvent("template-backfill"));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scanned", scanned);
+        result.put("linked", linked);
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTemplateChanged(SkillTemplateChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Pick up templates changed on other instances
+     */
+    @Scheduled(fixedDelayString = "${app.skill-canonicalization.refresh-interval:60000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        List<TemplateInfo> templates = jdbcTemplate.query("""
+                SELECT id, name, category, aliases FROM skill_templates
+                WHERE is_active IS NOT FALSE
+                ORDER BY id
+                """, (rs, rowNum) -> new TemplateInfo(rs.getLong("id"), rs.getString("name"),
+                rs.getString("category"), rs.getString("aliases")));
+        index = TemplateIndex.build(templates);
+        log.debug("Indexed {} skill templates under {} names", templates.size(), index.terms.size());
+    }
+
+    /**
+     * Confident, and not tied with a different template unless only the best is in the category
+     */
+    private boolean isAutoLink(Match best, Match runnerUp) {
+        if (best.similarity() < autoLinkSimilarity) {
+            return false;
+        }
+        return runnerUp == null
+                || runnerUp.similarity() < best.similarity()
+                || (best.categoryMatches() && !runnerUp.categoryMatches());
+    }
+
+    private static SkillCanonicalMatchDto toDto(Match match, boolean autoLinked) {
+        return SkillCanonicalMatchDto.builder()
+                .templateId(match.template().id())
+                .templateName(match.template().name())
+                .category(match.template().category())
+                .matchedName(match.term().text())
+                .similarity(match.similarity())
+                .autoLinked(autoLinked)
+                .build();
+    }
+
+    /**
+     * Distinct trigrams of a normalized key, padded so short names still produce grams
+     */
+    private static Set<String> grams(String key) {
+        String padded = START + key + END;
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private record TemplateInfo(long id, String name, String category, String aliases) {
+    }
+
+    /**
+     * A template name or alias
+     */
+    private record Term(TemplateInfo template, String text, String key, int gramCount) {
+    }
+
+    private record Match(TemplateInfo template, Term term, double similarity, boolean categoryMatches) {
+    }
+
+    /**
+     * Immutable trigram index over template names and aliases
+     */
+    private static final class TemplateIndex {
+
+        static final TemplateIndex EMPTY = build(List.of());
+
+        private final List<Term> terms;
+        private final Map<String, List<Integer>> exact; // normalized key -> term positions
+        private final Map<String, int[]> postings; // trigram -> term positions
+
+        private TemplateIndex(List<Term> terms, Map<String, List<Integer>> exact, Map<String, int[]> postings) {
+            this.terms = terms;
+            this.exact = exact;
+            this.postings = postings;
+        }
+
+        static TemplateIndex build(List<TemplateInfo> templates) {
+            List<Term> terms = new ArrayList<>();
+            Map<String, List<Integer>> exact = new HashMap<>();
+            Map<String, List<Integer>> grams = new HashMap<>();
+            for (TemplateInfo template : templates) {
+                List<String> names = new ArrayList<>();
+                names.add(template.name());
+                if (template.aliases() != null) {
+                    for (String alias : template.aliases().split(",")) {
+                        names.add(alias.trim());
+                    }
+                }
+
+                Set<String> seen = new HashSet<>();
+                for (String text : names) {
+                    String key = canonicalKey(text);
+                    if (key.isEmpty() || !seen.add(key)) {
+                        continue;
+                    }
+                    Set<String> termGrams = grams(key);
+                    int position = terms.size();
+                    terms.add(new Term(template, text, key, termGrams.size()));
+                    exact.computeIfAbsent(key, k -> new ArrayList<>()).add(position);
+                    termGrams.forEach(gram -> grams.computeIfAbsent(gram, g -> new ArrayList<>()).add(position));
+                }
+            }
+
+            Map<String, int[]> postings = new HashMap<>(grams.size() * 2);
+            grams.forEach((gram, positions) -> postings.put(gram, positions.stream().mapToInt(Integer::intValue).toArray()));
+            return new TemplateIndex(List.copyOf(terms), exact, postings);
+        }
+
+        /**
+         * Best-matching term per template at or above the threshold, best first
+         */
+        List<Match> match(String name, String category, double threshold) {
+            String key = canonicalKey(name);
+            if (key.isEmpty() || terms.isEmpty()) {
+                return List.of();
+            }
+            String wantedCategory = category != null ? category.trim() : null;
+
+            double[] similarity = new double[terms.size()];
+            for (int position : exact.getOrDefault(key, List.of())) {
+                similarity[position] = 1.0;
+            }
+            Set<String> queryGrams = grams(key);
+            int[] shared = new int[terms.size()];
+            for (String gram : queryGrams) {
+                int[] positions = postings.get(gram);
+                if (positions != null) {
+                    for (int position : positions) {
+                        shared[position]++;
+                    }
+                }
+            }
+
+            Map<Long, Match> best = new HashMap<>();
+            for (int position = 0; position < terms.size(); position++) {
+                Term term = terms.get(position);
+                double score = similarity[position] > 0 ? similarity[position]
+                        : 2.0 * shared[position] / (queryGrams.size() + term.gramCount());
+                if (score < threshold) {
+                    continue;
+                }
+                boolean categoryMatches = wantedCategory != null
+                        && term.template().category() != null
+                        && term.template().category().trim().equalsIgnoreCase(wantedCategory);
+                Match match = new Match(term.template(), term, score, categoryMatches);
+                best.merge(term.template().id(), match, (a, b) -> a.similarity() >= b.similarity() ? a : b);
+            }
+
+            return best.values().stream()
+                    .sorted(Comparator.comparingDouble(Match::similarity).reversed()
+                            .thenComparing(Match::categoryMatches, Comparator.reverseOrder())
+                            .thenComparing(match -> match.template().name()))
+                    .toList();
+        }
+    }
+}
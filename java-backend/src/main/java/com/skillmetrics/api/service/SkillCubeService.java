@@ -0,0 +1,411 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.dto.SkillCubeResultDto;
+import com.skillmetrics.api.event.BulkSkillDataChangedEvent;
+import com.skillmetrics.api.event.SkillChangedEvent;
+import com.skillmetrics.api.event.UserAccountChangedEvent;
+import com.skillmetrics.api.exception.BadRequestException;
+import com.skillmetrics.api.model.enums.SkillLevel;
+import com.skillmetrics.api.repository.SkillRepository;
+import com.skillmetrics.api.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resident skill cube over category, level, department and location.
+ *
+ * Dimension values are dictionary-encoded (case-insensitively) and skill counts are held
+ * per non-empty cell, keyed by the four codes packed into a long, so group-by, filter and
+ * roll-up over any subset of dimensions is a scan of the occupied cells without touching
+ * the database. Built at
+ * startup and patched after local skill and user changes; changes made elsewhere are
+ * picked up through {@link PollingIndexSync}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkillCubeService {
+
+    public enum Dimension {
+        CATEGORY, LEVEL, DEPARTMENT, LOCATION;
+
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Dimension parse(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unknown cube dimension: " + name
+                        + "; expected one of " + Arrays.toString(values()).toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    private static final String UNSPECIFIED = "Unspecified";
+
+    private static final Dimension[] DIMENSIONS = Dimension.values();
+
+    // Each dimension code takes 16 bits of a cell key
+    private static final int CODE_BITS = 16;
+    private static final int CODE_MASK = (1 << CODE_BITS) - 1;
+
+    private final SkillRepository skillRepository;
+    private final UserRepository userRepository;
+
+    @Value("${app.skill-cube.refresh-lookback:60000}")
+    private long refreshLookback;
+
+    // Guarded by this; queries and patches are short in-memory operations
+    private Cube cube = new Cube(LocalDateTime.now());
+
+    // Local deletions are recorded so a rebuild that raced them cannot resurrect rows
+    private final PollingIndexSync sync = new PollingIndexSync(this);
+
+    @PostConstruct
+    void init() {
+        rebuild();
+    }
+
+    /**
+     * Skill counts grouped by the given dimensions (all others rolled up), restricted to
+     * cells whose values match the filters. Filter values are compared case-insensitively.
+     */
+    public SkillCubeResultDto query(List<String> groupBy, Map<String, List<String>> filters) {
+        List<Dimension> grouped = new ArrayList<>();
+        if (groupBy != null) {
+            for (String name : groupBy) {
+                Dimension dimension = Dimension.parse(name);
+                if (!grouped.contains(dimension)) {
+                    grouped.add(dimension);
+                }
+            }
+        }
+        Map<Dimension, List<String>> parsedFilters = new EnumMap<>(Dimension.class);
+        Map<String, List<String>> appliedFilters = new LinkedHashMap<>();
+        if (filters != null) {
+            filters.forEach((name, values) -> {
+                if (values != null && !values.isEmpty()) {
+                    Dimension dimension = Dimension.parse(name);
+                    parsedFilters.put(dimension, values);
+                    appliedFilters.put(dimension.key(), values);
+                }
+            });
+        }
+
+        SkillCubeResultDto result;
+        synchronized (this) {
+            result = cube.query(grouped, parsedFilters);
+        }
+        result.setGroupBy(grouped.stream().map(Dimension::key).toList());
+        result.setFilters(appliedFilters);
+        return result;
+    }
+
+    /**
+     * Every value currently present in each dimension
+     */
+    public synchronized Map<String, List<String>> getDimensionValues() {
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        for (Dimension dimension : DIMENSIONS) {
+            values.put(dimension.key(), List.copyOf(cube.dictionaries[dimension.ordinal()].values));
+        }
+        return values;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        Long skillId = event.getSkillId();
+        if (skillId == null) {
+            return;
+        }
+
+        List<Object[]> rows = skillRepository.findCubeRowById(skillId);
+        if (rows.isEmpty()) {
+            sync.recordLocalChange(skillId);
+            synchronized (this) {
+                cube.removeSkill(skillId);
+            }
+            return;
+        }
+
+        Object[] row = rows.get(0);
+        Long userId = (Long) row[1];
+        List<Object[]> userRows = isKnownUser(userId) ? List.of() : userRepository.findCubeRowById(userId);
+        synchronized (this) {
+            userRows.forEach(userRow -> cube.putUser((Long) userRow[0], (String) userRow[1], (String) userRow[2]));
+            cube.putSkill((Long) row[0], userId, (String) row[2], (String) row[3]);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserAccountChangedEvent event) {
+        List<Object[]> rows = userRepository.findCubeRowById(event.getUserId());
+        synchronized (this) {
+            if (rows.isEmpty()) {
+                cube.removeUser(event.getUserId());
+            } else {
+                cube.putUser(event.getUserId(), (String) rows.get(0)[1], (String) rows.get(0)[2]);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBulkSkillDataChanged(BulkSkillDataChangedEvent event) {
+        sync.requestRebuild();
+    }
+
+    /**
+     * Pick up users and skills changed on other instances
+     */
+    @Scheduled(fixedDelayString = "${app.skill-cube.refresh-interval:5000}")
+    public void refresh() {
+        sync.refresh(refreshLookback, since -> {
+            List<Object[]> users = userRepository.findCubeRowsUpdatedAfter(since);
+            List<Object[]> skills = skillRepository.findCubeRowsUpdatedAfter(since);
+
+            synchronized (this) {
+                users.forEach(row -> cube.putUser((Long) row[0], (String) row[1], (String) row[2]));
+                skills.forEach(row -> cube.putSkill((Long) row[0], (Long) row[1], (String) row[2], (String) row[3]));
+            }
+        }, this::rebuild);
+    }
+
+    @Scheduled(cron = "${app.skill-cube.rebuild-cron:0 */10 * * * ?}")
+    public void rebuildCache() {
+        rebuild();
+    }
+
+    private synchronized boolean isKnownUser(Long userId) {
+        return cube.users.containsKey(userId);
+    }
+
+    private void rebuild() {
+        sync.rebuild(this::load, Cube::removeSkill, rebuilt -> cube = rebuilt);
+    }
+
+    private Cube load() {
+        LocalDateTime builtAt = LocalDateTime.now();
+        List<Object[]> users = userRepository.findCubeRows();
+        List<Object[]> skills = skillRepository.findCubeRows();
+
+        Cube rebuilt = new Cube(builtAt);
+        rebuilt.load(users, skills);
+        log.debug("Built skill cube of {} skills in {} cells", skills.size(), rebuilt.cellCount());
+        return rebuilt;
+    }
+
+    private static String normalize(Dimension dimension, String value) {
+        if (value == null || value.isBlank()) {
+            return UNSPECIFIED;
+        }
+        String trimmed = value.trim();
+        return dimension == Dimension.LEVEL ? trimmed.toUpperCase(Locale.ROOT) : trimmed;
+    }
+
+    private record SkillFact(long userId, int category, int level) {
+    }
+
+    /**
+     * Codes of one dimension. Values differing only in case share a code, labelled with
+     * the spelling seen first, so free-text categories typed inconsistently count together.
+     */
+    private static final class Dictionary {
+
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        int code(String value) {
+            return codes.computeIfAbsent(value.toLowerCase(Locale.ROOT), key -> {
+                if (values.size() > CODE_MASK) {
+                    throw new IllegalStateException("Skill cube dimension exceeds " + (CODE_MASK + 1) + " values");
+                }
+                values.add(value);
+                return values.size() - 1;
+            });
+        }
+
+        boolean[] matching(List<String> wanted) {
+            boolean[] matches = new boolean[values.size()];
+            for (String value : wanted) {
+                Integer code = codes.get(value.trim().toLowerCase(Locale.ROOT));
+                if (code != null) {
+                    matches[code] = true;
+                }
+            }
+            return matches;
+        }
+    }
+
+    /**
+     * Dictionaries, per-skill and per-user codes, and the counts of non-empty cells keyed
+     * by the packed dimension codes. Not thread-safe.
+     */
+    private static final class Cube {
+
+        private final LocalDateTime builtAt;
+        private final Dictionary[] dictionaries = new Dictionary[DIMENSIONS.length];
+        private final Map<Long, SkillFact> facts = new HashMap<>();
+        private final Map<Long, int[]> users = new HashMap<>(); // user id -> {department, location}
+        private final Map<Long, Set<Long>> skillsByUser = new HashMap<>();
+        private final Map<Long, Integer> counts = new HashMap<>();
+
+        Cube(LocalDateTime builtAt) {
+            this.builtAt = builtAt;
+            for (int d = 0; d < dictionaries.length; d++) {
+                dictionaries[d] = new Dictionary();
+            }
+            // Levels keep their natural order
+            for (SkillLevel level : SkillLevel.values()) {
+                dictionaries[Dimension.LEVEL.ordinal()].code(level.name());
+            }
+        }
+
+        void load(List<Object[]> userRows, List<Object[]> skillRows) {
+            for (Object[] row : userRows) {
+                users.put((Long) row[0], userCodes((String) row[1], (String) row[2]));
+            }
+            for (Object[] row : skillRows) {
+                putSkill((Long) row[0], (Long) row[1], (String) row[2], (String) row[3]);
+            }
+        }
+
+        void putSkill(Long skillId, Long userId, String category, String level) {
+            removeSkill(skillId);
+            int categoryCode = dictionaries[Dimension.CATEGORY.ordinal()].code(normalize(Dimension.CATEGORY, category));
+            int levelCode = dictionaries[Dimension.LEVEL.ordinal()].code(normalize(Dimension.LEVEL, level));
+            int[] user = users.computeIfAbsent(userId, id -> userCodes(null, null));
+
+            facts.put(skillId, new SkillFact(userId, categoryCode, levelCode));
+            skillsByUser.computeIfAbsent(userId, id -> new HashSet<>()).add(skillId);
+            adjust(cell(categoryCode, levelCode, user[0], user[1]), 1);
+        }
+
+        void removeSkill(Long skillId) {
+            SkillFact fact = facts.remove(skillId);
+            if (fact == null) {
+                return;
+            }
+            int[] user = users.get(fact.userId());
+            adjust(cell(fact.category(), fact.level(), user[0], user[1]), -1);
+            Set<Long> skillIds = skillsByUser.get(fact.userId());
+            skillIds.remove(skillId);
+            if (skillIds.isEmpty()) {
+                skillsByUser.remove(fact.userId());
+            }
+        }
+
+        void putUser(Long userId, String department, String location) {
+            int[] updated = userCodes(department, location);
+            int[] previous = users.put(userId, updated);
+            if (previous == null || Arrays.equals(previous, updated)) {
+                return;
+            }
+            // Move the user's skills to the cells of their new department and location
+            for (Long skillId : skillsByUser.getOrDefault(userId, Set.of())) {
+                SkillFact fact = facts.get(skillId);
+                adjust(cell(fact.category(), fact.level(), previous[0], previous[1]), -1);
+                adjust(cell(fact.category(), fact.level(), updated[0], updated[1]), 1);
+            }
+        }
+
+        void removeUser(Long userId) {
+            for (Long skillId : List.copyOf(skillsByUser.getOrDefault(userId, Set.of()))) {
+                removeSkill(skillId);
+            }
+            users.remove(userId);
+        }
+
+        SkillCubeResultDto query(List<Dimension> groupBy, Map<Dimension, List<String>> filters) {
+            boolean[][] allowed = new boolean[DIMENSIONS.length][]; // null where unfiltered
+            for (Dimension dimension : DIMENSIONS) {
+                List<String> wanted = filters.get(dimension);
+                if (wanted != null) {
+                    allowed[dimension.ordinal()] = dictionaries[dimension.ordinal()].matching(wanted);
+                }
+            }
+            int[] groupDims = groupBy.stream().mapToInt(Dimension::ordinal).toArray();
+
+            Map<Long, Long> sums = new HashMap<>();
+            cells:
+            for (Map.Entry<Long, Integer> entry : counts.entrySet()) {
+                long cell = entry.getKey();
+                for (int d = 0; d < DIMENSIONS.length; d++) {
+                    if (allowed[d] != null && !allowed[d][code(cell, d)]) {
+                        continue cells;
+                    }
+                }
+                long group = 0;
+                for (int d : groupDims) {
+                    group = group << CODE_BITS | code(cell, d);
+                }
+                sums.merge(group, (long) entry.getValue(), Long::sum);
+            }
+
+            List<SkillCubeResultDto.Cell> cells = new ArrayList<>(sums.size());
+            long total = 0;
+            for (Map.Entry<Long, Long> entry : sums.entrySet()) {
+                total += entry.getValue();
+                Map<String, String> labels = new LinkedHashMap<>();
+                for (int i = 0; i < groupDims.length; i++) {
+                    int code = (int) (entry.getKey() >>> (CODE_BITS * (groupDims.length - 1 - i)) & CODE_MASK);
+                    labels.put(DIMENSIONS[groupDims[i]].key(), dictionaries[groupDims[i]].values.get(code));
+                }
+                cells.add(new SkillCubeResultDto.Cell(labels, entry.getValue()));
+            }
+            cells.sort(Comparator.comparingLong(SkillCubeResultDto.Cell::getCount).reversed());
+
+            return SkillCubeResultDto.builder()
+                    .cells(cells)
+                    .total(total)
+                    .builtAt(builtAt)
+                    .build();
+        }
+
+        int cellCount() {
+            return counts.size();
+        }
+
+        private int[] userCodes(String department, String location) {
+            return new int[]{
+                    dictionaries[Dimension.DEPARTMENT.ordinal()].code(normalize(Dimension.DEPARTMENT, department)),
+                    dictionaries[Dimension.LOCATION.ordinal()].code(normalize(Dimension.LOCATION, location))
+            };
+        }
+
+        private void adjust(long cell, int delta) {
+            counts.compute(cell, (key, count) -> {
+                int updated = (count == null ? 0 : count) + delta;
+                return updated == 0 ? null : updated;
+            });
+        }
+
+        private static long cell(int category, int level, int department, int location) {
+            return ((((long) category << CODE_BITS | level) << CODE_BITS | department) << CODE_BITS) | location;
+        }
+
+        private static int code(long cell, int dimension) {
+            return (int) (cell >>> (CODE_BITS * (DIMENSIONS.length - 1 - dimension)) & CODE_MASK);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.exception.BadRequestException;
+import com.skillmetrics.api.service.AuditHistoryWriter.SkillHistoryEntry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Daily skill growth counts in {@code skill_growth_daily}, bucketed by category and level.
+ *
+ * Counts are added as skill history is drained from the audit outbox, in the same
+ * transaction, so each history entry is counted exactly once. A reconcile job recomputes
+ * recent days from the source tables to pick up skills written without history (bulk
+ * imports); older days are only recomputed inside the history retention window, since
+ * archived history can no longer be counted. Charts re-bucket the daily rows to weeks,
+ * months or quarters at query time.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkillGrowthRollupService {
+
+    public static final String CREATED = "created";
+    public static final String LEVEL_CHANGED = "level_changed";
+    public static final String ENDORSED = "endorsed";
+
+    private static final Set<String> ROLLED_UP_ACTIONS = Set.of(CREATED, LEVEL_CHANGED, ENDORSED);
+
+    private static final Set<String> GRANULARITIES = Set.of("day", "week", "month", "quarter", "year");
+
+    private static final LocalDate EPOCH = LocalDate.of(1970, 1, 1);
+
+    private static final String UPSERT_PREFIX = """
+            INSERT INTO skill_growth_daily (day, category, level, skills_created, level_changes, endorsements)
+            VALUES
+            """;
+
+    private static final String ADD_ON_CONFLICT = """
+             ON CONFLICT (day, category, level) DO UPDATE SET
+                skills_created = skill_growth_daily.skills_created + EXCLUDED.skills_created,
+                level_changes = skill_growth_daily.level_changes + EXCLUDED.level_changes,
+                endorsements = skill_growth_daily.endorsements + EXCLUDED.endorsements
+            """;
+
+    private static final String RECOMPUTE_SQL = """
+            WITH events AS (
+                SELECT h.timestamp::date AS day, s.category,
+                       -- Older bulk approvals recorded creations as "Created with level X"; newer rows hold the level
+                       upper(CASE WHEN h.action = 'endorsed' THEN s.level
+                                  WHEN h.action = 'created'
+                                      THEN coalesce(regexp_replace(h.new_value, '^Created with level ', ''), s.level)
+                                  ELSE coalesce(h.new_value, s.level) END) AS level,
+                       h.action
+                FROM skill_history h
+                JOIN skills s ON s.id = h.skill_id
+                WHERE h.action IN ('created', 'level_changed', 'endorsed')
+                  AND h.timestamp >= ? AND h.timestamp < ?
+                UNION ALL
+                -- Skills that predate skill history or were imported without it. Creations still
+                -- waiting in the outbox are left to apply(), which counts them once drained.
+                SELECT s.created_at::date, s.category, upper(s.level), 'created'
+                FROM skills s
+                WHERE s.created_at >= ? AND s.created_at < ?
+                  AND NOT EXISTS (SELECT 1 FROM skill_history h WHERE h.skill_id = s.id AND h.action = 'created')
+                  AND NOT EXISTS (SELECT 1 FROM audit_outbox o
+                                  WHERE o.kind = 'SKILL' AND o.failed_at IS NULL
+                                    AND o.payload::jsonb ->> 'action' = 'created'
+                                    AND o.payload::jsonb ->> 'skillId' = s.id::text)
+            )
+            INSERT INTO skill_growth_daily (day, category, level, skills_created, level_changes, endorsements)
+            SELECT day, category, level,
+                   count(*) FILTER (WHERE action = 'created'),
+                   count(*) FILTER (WHERE action = 'level_changed'),
+                   count(*) FILTER (WHERE action = 'endorsed')
+            FROM events
+            GROUP BY day, category, level
+            ON CONFLICT (day, category, level) DO UPDATE SET
+                skills_created = EXCLUDED.skills_created,
+                level_changes = EXCLUDED.level_changes,
+                endorsements = EXCLUDED.endorsements
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.history.retention-months:24}")
+    private int historyRetentionMonths;
+
+    @Value("${app.skill-growth.reconcile-days:2}")
+    private int reconcileDays;
+
+    /**
+     * Fill the rollup from the source tables the first time it is deployed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            Boolean empty = jdbcTemplate.queryForObject(
+                    "SELECT NOT EXISTS (SELECT 1 FROM skill_growth_daily)", Boolean.class);
+            if (Boolean.TRUE.equals(empty)) {
+                int rows = recompute(EPOCH, LocalDate.now().plusDays(1));
+                log.info("Backfilled skill growth rollup with {} rows", rows);
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not backfill the skill growth rollup", e);
+        }
+    }
+
+    /**
+     * Count the rolled-up actions among freshly drained skill history entries.
+     * Called by {@link AuditHistoryDrainer} inside the transaction that inserts them.
+     */
+    public void apply(List<SkillHistoryEntry> entries) {
+        List<SkillHistoryEntry> relevant = entries.stream()
+                .filter(entry -> ROLLED_UP_ACTIONS.contains(entry.action()))
+                .toList();
+        if (relevant.isEmpty()) {
+            return;
+        }
+
+        Map<Long, String[]> skills = loadSkills(relevant.stream().map(SkillHistoryEntry::skillId).distinct().toList());
+
+        Map<Bucket, long[]> counts = new HashMap<>();
+        for (SkillHistoryEntry entry : relevant) {
+            String[] skill = skills.get(entry.skillId());
+            if (skill == null) {
+                // Deleted before its history was drained; the reconcile job would not count it either
+                continue;
+            }
+            String level = ENDORSED.equals(entry.action()) ? null
+                    : SkillMatrixHistoryService.levelFromHistory(entry.action(), entry.newValue());
+            if (level == null) {
+                level = skill[1];
+            }
+            Bucket bucket = new Bucket(entry.occurredAt().toLocalDate(), skill[0], level.toUpperCase(Locale.ROOT));
+            long[] count = counts.computeIfAbsent(bucket, b -> new long[3]);
+            switch (entry.action()) {
+                case CREATED -> count[0]++;
+                case LEVEL_CHANGED -> count[1]++;
+                default -> count[2]++;
+            }
+        }
+
+        MultiRowInsert.update(jdbcTemplate, UPSERT_PREFIX, ADD_ON_CONFLICT, List.copyOf(counts.entrySet()), entry -> {
+            Bucket bucket = entry.getKey();
+            return new Object[] {Date.valueOf(bucket.day()), bucket.category(), bucket.level(),
+                    entry.getValue()[0], entry.getValue()[1], entry.getValue()[2]};
+        });
+    }
+
+    /**
+     * Recompute the last few days from the source tables.
+     * Scheduled cluster-wide by {@link ScheduledJobs}.
+     */
+    @Transactional
+    public void reconcileRecent() {
+        LocalDate today = LocalDate.now();
+        int rows = recompute(today.minusDays(Math.max(0, reconcileDays - 1)), today.plusDays(1));
+        log.debug("Reconciled {} skill growth rows for the last {} days", rows, reconcileDays);
+    }
+
+    /**
+     * Recompute an inclusive range of days from the source tables. The start is clamped to
+     * the history retention window so archived history is not counted as zero.
+     */
+    @Transactional
+    public Map<String, Object> backfill(LocalDate from, LocalDate to) {
+        LocalDate retained = LocalDate.now().minusMonths(historyRetentionMonths).withDayOfMonth(1);
+        LocalDate start = from == null || from.isBefore(retained) ? retained : from;
+        LocalDate end = to != null ? to : LocalDate.now();
+        if (end.isBefore(start)) {
+            throw new BadRequestException("Nothing to backfill between " + start + " and " + end);
+        }
+
+        int rows = recompute(start, end.plusDays(1));
+        log.info("Backfilled skill growth rollup from {} to {}: {} rows", start, end, rows);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("startDate", start);
+        result.put("endDate", end);
+        result.put("rows", rows);
+        return result;
+    }
+
+    /**
+     * Growth series between two dates, re-bucketed to the given granularity
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getGrowth(LocalDate startDate, LocalDate endDate, String granularity, String category) {
+        String unit = granularity != null ? granularity.trim().toLowerCase(Locale.ROOT) : "month";
+        if (!GRANULARITIES.contains(unit)) {
+            throw new BadRequestException("Granularity must be one of " + GRANULARITIES);
+        }
+        LocalDate start = startDate != null ? startDate : LocalDate.now().minusMonths(6);
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+
+        boolean byCategory = category != null && !category.isBlank();
+        String filter = "day BETWEEN ? AND ?" + (byCategory ? " AND category = ?" : "");
+        Object[] filterArgs = byCategory
+                ? new Object[]{Date.valueOf(start), Date.valueOf(end), category}
+                : new Object[]{Date.valueOf(start), Date.valueOf(end)};
+
+        List<Object> seriesArgs = new ArrayList<>();
+        seriesArgs.add(unit);
+        Collections.addAll(seriesArgs, filterArgs);
+        List<Map<String, Object>> series = jdbcTemplate.query("""
+                SELECT date_trunc(?, day::timestamp)::date AS period,
+                       sum(skills_created) AS skills_created, sum(level_changes) AS level_changes,
+                       sum(endorsements) AS endorsements
+                FROM skill_growth_daily
+                WHERE %s
+                GROUP BY 1
+                ORDER BY 1
+                """.formatted(filter), (rs, rowNum) -> {
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("period", label(rs.getDate("period").toLocalDate(), unit));
+            point.put("skillsCreated", rs.getLong("skills_created"));
+            point.put("levelChanges", rs.getLong("level_changes"));
+            point.put("endorsements", rs.getLong("endorsements"));
+            return point;
+        }, seriesArgs.toArray());
+
+        Map<String, Long> createdByCategory = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                SELECT category, sum(skills_created) AS skills_created
+                FROM skill_growth_daily
+                WHERE %s
+                GROUP BY category
+                ORDER BY 2 DESC, category
+                """.formatted(filter),
+                rs -> {
+                    createdByCategory.put(rs.getString("category"), rs.getLong("skills_created"));
+                }, filterArgs);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("startDate", start);
+        result.put("endDate", end);
+        result.put("granularity", unit);
+        result.put("series", series);
+        result.put("createdByCategory", createdByCategory);
+        return result;
+    }
+
+    private int recompute(LocalDate from, LocalDate toExclusive) {
+        Date start = Date.valueOf(from);
+        Date end = Date.valueOf(toExclusive);
+        jdbcTemplate.update("DELETE FROM skill_growth_daily WHERE day >= ? AND day < ?", start, end);
+        return jdbcTemplate.update(RECOMPUTE_SQL, start, end, start, end);
+    }
+
+    private Map<Long, String[]> loadSkills(List<Long> skillIds) {
+        Map<Long, String[]> skills = new HashMap<>();
+        String placeholders = String.join(", ", Collections.nCopies(skillIds.size(), "?"));
+        jdbcTemplate.query("SELECT id, category, level FROM skills WHERE id IN (" + placeholders + ")",
+                rs -> {
+                    skills.put(rs.getLong("id"), new String[]{rs.getString("category"), rs.getString("level")});
+                }, skillIds.toArray());
+        return skills;
+    }
+
+    private static String label(LocalDate period, String unit) {
+        return switch (unit) {
+            case "month" -> period.format(DateTimeFormatter.ofPattern("yyyy-MM"));
+            case "quarter" -> period.getYear() + "-Q" + ((period.getMonthValue() - 1) / 3 + 1);
+            case "year" -> String.valueOf(period.getYear());
+            default -> period.toString();
+        };
+    }
+
+    private record Bucket(LocalDate day, String category, String level) {
+    }
+}
@@ -0,0 +1,240 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.dto.SkillHeatmapDto;
+import com.skillmetrics.api.exception.BadRequestException;
+import com.skillmetrics.api.exception.ResourceNotFoundException;
+import com.skillmetrics.api.model.enums.SkillLevel;
+import com.skillmetrics.api.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The org skill matrix as a dense users x skills grid of level codes, one byte per cell.
+ *
+ * Rows are users holding at least one matching skill, ordered by name; columns are
+ * distinct skills (case-insensitive name and category), ordered by category and name.
+ * Skills linked to a template are shown under the template's name and category.
+ * Both axes are paged, and only the cells of the requested page are loaded. The grid is
+ * served as compact JSON (one digit per cell) or in the binary layout of {@link #toBinary}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkillHeatmapService {
+
+    public static final int MAX_PAGE_SIZE = 2000;
+
+    private static final int BINARY_MAGIC = 0x534D484D; // "SMHM"
+    private static final byte BINARY_VERSION = 1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProjectRepository projectRepository;
+
+    @Transactional(readOnly = true)
+    public Heatmap getHeatmap(String category, Long projectId, int rowOffset, int rowLimit,
+                              int columnOffset, int columnLimit) {
+        if (rowOffset < 0 || columnOffset < 0 || rowLimit < 1 || columnLimit < 1) {
+            throw new BadRequestException("Offsets must be non-negative and limits positive");
+        }
+        if (projectId != null && !projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+        int rows = Math.min(rowLimit, MAX_PAGE_SIZE);
+        int columns = Math.min(columnLimit, MAX_PAGE_SIZE);
+
+        List<Object> filterArgs = new ArrayList<>();
+        String filter = skillFilter(category, projectId, filterArgs);
+
+        int[] totals = new int[2];
+        List<Long> userIds = new ArrayList<>();
+        List<String> userNames = new ArrayList<>();
+        jdbcTemplate.query("""
+                SELECT u.id, u.first_name, u.last_name, count(*) OVER () AS total
+                FROM users u
+                WHERE EXISTS (SELECT 1 FROM skills s WHERE s.user_id = u.id AND %s)
+                ORDER BY u.last_name, u.first_name, u.id
+                LIMIT ? OFFSET ?
+                """.formatted(filter), rs -> {
+            totals[0] = rs.getInt("total");
+            userIds.add(rs.getLong("id"));
+            userNames.add(rs.getString("first_name") + " " + rs.getString("last_name"));
+        }, with(filterArgs, rows, rowOffset));
+
+        List<String> skillNames = new ArrayList<>();
+        List<String> skillCategories = new ArrayList<>();
+        Map<String, Integer> columnByKey = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT min(coalesce(t.name, s.name)) AS name, min(coalesce(t.category, s.category)) AS category,
+                       count(*) OVER () AS total
+                FROM skills s
+                LEFT JOIN skill_templates t ON t.id = s.template_id
+                WHERE %s
+                GROUP BY lower(trim(coalesce(t.name, s.name))), lower(trim(coalesce(t.category, s.category)))
+                ORDER BY lower(trim(coalesce(t.category, s.category))), lower(trim(coalesce(t.name, s.name)))
+                LIMIT ? OFFSET ?
+                """.formatted(filter), rs -> {
+            totals[1] = rs.getInt("total");
+            columnByKey.put(key(rs.getString("name"), rs.getString("category")), skillNames.size());
+            skillNames.add(rs.getString("name"));
+            skillCategories.add(rs.getString("category"));
+        }, with(filterArgs, columns, columnOffset));
+
+        if (userIds.isEmpty() || skillNames.isEmpty()) {
+            // Past the end of an axis: the window totals came back with no rows
+            totals[0] = countOrZero("SELECT count(*) FROM users u WHERE EXISTS "
+                    + "(SELECT 1 FROM skills s WHERE s.user_id = u.id AND " + filter + ")", filterArgs);
+            totals[1] = countOrZero("SELECT count(DISTINCT (lower(trim(coalesce(t.name, s.name))), "
+                    + "lower(trim(coalesce(t.category, s.category))))) "
+                    + "FROM skills s LEFT JOIN skill_templates t ON t.id = s.template_id WHERE " + filter, filterArgs);
+        }
+
+        byte[] cells = new byte[userIds.size() * skillNames.size()];
+        if (cells.length > 0) {
+            Map<Long, Integer> rowByUser = new HashMap<>();
+            for (int i = 0; i < userIds.size(); i++) {
+                rowByUser.put(userIds.get(i), i);
+            }
+            int width = skillNames.size();
+            List<Object> cellArgs = new ArrayList<>(userIds);
+            cellArgs.addAll(filterArgs);
+            jdbcTemplate.query("""
+                    SELECT s.user_id, coalesce(t.name, s.name) AS name, coalesce(t.category, s.category) AS category,
+                           s.level
+                    FROM skills s
+                    LEFT JOIN skill_templates t ON t.id = s.template_id
+                    WHERE s.user_id IN (%s) AND %s
+                    """.formatted(String.join(", ", Collections.nCopies(userIds.size(), "?")), filter), rs -> {
+                Integer column = columnByKey.get(key(rs.getString("name"), rs.getString("category")));
+                if (column == null) {
+                    return;
+                }
+                int index = rowByUser.get(rs.getLong("user_id")) * width + column;
+                cells[index] = (byte) Math.max(cells[index], SkillPostingsIndex.levelRank(rs.getString("level")));
+            }, cellArgs.toArray());
+        }
+
+        return new Heatmap(totals[0], totals[1], rowOffset, columnOffset,
+                userIds.stream().mapToLong(Long::longValue).toArray(), userNames.toArray(String[]::new),
+                skillNames.toArray(String[]::new), skillCategories.toArray(String[]::new), cells);
+    }
+
+    public SkillHeatmapDto toDto(Heatmap heatmap) {
+        int width = heatmap.skillNames().length;
+        List<String> rows = new ArrayList<>(heatmap.userIds().length);
+        char[] row = new char[width];
+        for (int r = 0; r < heatmap.userIds().length; r++) {
+            for (int c = 0; c < width; c++) {
+                row[c] = (char) ('0' + heatmap.cells()[r * width + c]);
+            }
+            rows.add(new String(row));
+        }
+
+        return SkillHeatmapDto.builder()
+                .totalRows(heatmap.totalRows())
+                .totalColumns(heatmap.totalColumns())
+                .rowOffset(heatmap.rowOffset())
+                .columnOffset(heatmap.columnOffset())
+                .levels(levelNames())
+                .userIds(Arrays.stream(heatmap.userIds()).boxed().toList())
+                .userNames(List.of(heatmap.userNames()))
+                .skillNames(List.of(heatmap.skillNames()))
+                .skillCategories(List.of(heatmap.skillCategories()))
+                .rows(rows)
+                .build();
+    }
+
+    /**
+     * Big-endian binary layout: int magic "SMHM", byte version, int totalRows, int totalColumns,
+     * int rowOffset, int columnOffset, int rows, int columns, byte level count and each level
+     * name, then per row a long user id and name, per column a skill name and category, and
+     * finally rows x columns level-code bytes in row-major order. Strings are length-prefixed
+     * as by {@link DataOutputStream#writeUTF}.
+     */
+    public byte[] toBinary(Heatmap heatmap) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(heatmap.cells().length + 64 * heatmap.userIds().length
+                + 64 * heatmap.skillNames().length);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(BINARY_MAGIC);
+            out.writeByte(BINARY_VERSION);
+            out.writeInt(heatmap.totalRows());
+            out.writeInt(heatmap.totalColumns());
+            out.writeInt(heatmap.rowOffset());
+            out.writeInt(heatmap.columnOffset());
+            out.writeInt(heatmap.userIds().length);
+            out.writeInt(heatmap.skillNames().length);
+
+            List<String> levels = levelNames();
+            out.writeByte(levels.size());
+            for (String level : levels) {
+                out.writeUTF(level);
+            }
+            for (int r = 0; r < heatmap.userIds().length; r++) {
+                out.writeLong(heatmap.userIds()[r]);
+                out.writeUTF(heatmap.userNames()[r]);
+            }
+            for (int c = 0; c < heatmap.skillNames().length; c++) {
+                out.writeUTF(heatmap.skillNames()[c]);
+                out.writeUTF(heatmap.skillCategories()[c]);
+            }
+            out.write(heatmap.cells());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String skillFilter(String category, Long projectId, List<Object> args) {
+        List<String> conditions = new ArrayList<>();
+        if (category != null && !category.isBlank()) {
+            conditions.add("lower(trim(s.category)) = lower(trim(?))");
+            args.add(category);
+        }
+        if (projectId != null) {
+            conditions.add("s.user_id IN (SELECT pr.user_id FROM project_resources pr WHERE pr.project_id = ?)");
+            args.add(projectId);
+        }
+        return conditions.isEmpty() ? "TRUE" : String.join(" AND ", conditions);
+    }
+
+    private int countOrZero(String sql, List<Object> args) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    private static Object[] with(List<Object> args, Object... trailing) {
+        List<Object> all = new ArrayList<>(args);
+        Collections.addAll(all, trailing);
+        return all.toArray();
+    }
+
+    private static String key(String name, String category) {
+        return name.trim().toLowerCase(Locale.ROOT) + '\u0000' + category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> levelNames() {
+        return Arrays.stream(SkillLevel.values()).map(SkillLevel::name).toList();
+    }
+
+    /**
+     * One page of the matrix; {@code cells} holds {@code userIds.length x skillNames.length}
+     * level codes in row-major order
+     */
+    public record Heatmap(int totalRows, int totalColumns, int rowOffset, int columnOffset, long[] userIds,
+                          String[] userNames, String[] skillNames, String[] skillCategories, byte[] cells) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.skillmetrics.api.service;
 
+import com.skillmetrics.api.dto.HistoryPageDto;
 import com.skillmetrics.api.dto.SkillHistoryDto;
 import com.skillmetrics.api.exception.ResourceNotFoundException;
 import com.skillmetrics.api.model.Skill;
@@ -8,9 +9,11 @@ import com.skillmetrics.api.repository.SkillHistoryRepository;
 import com.skillmetrics.api.repository.SkillRepository;
 import com.skillmetrics.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -42,6 +45,22 @@ public class SkillHistoryService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Skill history in {@code [from, to)}, newest first, one keyset page at a time
+     */
+    @Transactional(readOnly = true)
+    public HistoryPageDto<SkillHistoryDto> getHistoryPage(LocalDateTime from, LocalDateTime to,
+                                                          String after, Integer limit) {
+        HistoryPaging.Cursor cursor = HistoryPaging.start(from, to, after);
+        int pageSize = HistoryPaging.pageSize(limit);
+        
+        List<SkillHistory> rows = skillHistoryRepository.findPageBetween(
+                from, cursor.timestamp(), cursor.id(), PageRequest.of(0, pageSize + 1));
+        
+        return HistoryPaging.toPage(rows, pageSize, SkillHistory::getTimestamp, SkillHistory::getId,
+                page -> page.stream().map(this::convertToDto).collect(Collectors.toList()));
+    }
+    
     // Helper methods
     
     private SkillHistoryDto convertToDto(SkillHistory history) {
@@ -0,0 +1,222 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.model.Skill;
+import com.skillmetrics.api.model.SkillMatrixSnapshot;
+import com.skillmetrics.api.model.User;
+import com.skillmetrics.api.repository.SkillHistoryRepository;
+import com.skillmetrics.api.repository.SkillMatrixSnapshotRepository;
+import com.skillmetrics.api.repository.SkillRepository;
+import com.skillmetrics.api.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reconstructs the skill matrix as it was at a past point in time.
+ *
+ * The matrix is the nearest {@link SkillMatrixSnapshot} at or before the requested time,
+ * plus skills created since, with level changes from skill history replayed in order.
+ * With daily snapshots a query replays at most a day of history. A skill deleted after
+ * the snapshot still appears, since deleting a skill also deletes its history.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkillMatrixHistoryService {
+
+    private static final String CREATED_PREFIX = "Created with level ";
+
+    // Replay origin when the requested time predates every snapshot
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final SkillMatrixSnapshotRepository snapshotRepository;
+    private final SkillHistoryRepository skillHistoryRepository;
+    private final SkillRepository skillRepository;
+    private final UserRepository userRepository;
+
+    @Value("${app.skill-matrix.snapshot-retention-days:90}")
+    private int snapshotRetentionDays;
+
+    /**
+     * Skills as they were at {@code asOf}. The returned entities are detached copies
+     * and must not be saved.
+     */
+    @Transactional(readOnly = true)
+    public List<Skill> getSkillsAsOf(LocalDateTime asOf) {
+        SkillMatrixSnapshot snapshot = snapshotRepository.findTopByTakenAtLessThanEqualOrderByTakenAtDesc(asOf)
+                .orElse(null);
+        LocalDateTime replayFrom = snapshot != null ? snapshot.getTakenAt() : BEGINNING;
+        if (snapshot == null) {
+            log.warn("No skill matrix snapshot at or before {}; replaying all skill history", asOf);
+        }
+
+        Map<Long, MatrixEntry> matrix = snapshot != null ? decode(snapshot.getPayload()) : new LinkedHashMap<>();
+
+        // Skills created since the snapshot start at the level they were created with
+        List<Skill> created = skillRepository.findCreatedBetween(replayFrom, asOf).stream()
+                .filter(skill -> !matrix.containsKey(skill.getId()))
+                .collect(Collectors.toList());
+        if (!created.isEmpty()) {
+            Map<Long, String> levelsAtCreation = new HashMap<>();
+            List<Long> createdIds = created.stream().map(Skill::getId).collect(Collectors.toList());
+            for (Object[] row : skillHistoryRepository.findLevelChangesOfSkillsAfter(createdIds, replayFrom)) {
+                levelsAtCreation.putIfAbsent((Long) row[0], (String) row[1]);
+            }
+            for (Skill skill : created) {
+                matrix.put(skill.getId(), new MatrixEntry(skill.getId(), skill.getUser().getId(), skill.getName(),
+                        skill.getCategory(), levelsAtCreation.getOrDefault(skill.getId(), skill.getLevel())));
+            }
+        }
+
+        List<Object[]> changes = skillHistoryRepository.findLevelChangesBetween(replayFrom, asOf);
+        for (Object[] row : changes) {
+            MatrixEntry entry = matrix.get((Long) row[0]);
+            String level = levelFromHistory((String) row[1], (String) row[3]);
+            if (entry != null && level != null) {
+                matrix.put(entry.skillId(), entry.withLevel(level));
+            }
+        }
+
+        log.debug("Rebuilt skill matrix as of {} from {} with {} history entries",
+                asOf, snapshot != null ? "snapshot " + snapshot.getId() : "scratch", changes.size());
+        return toSkills(matrix.values());
+    }
+
+    /**
+     * Store the current skill matrix as a new snapshot.
+     * Scheduled cluster-wide by {@link ScheduledJobs}.
+     */
+    @Transactional
+    public SkillMatrixSnapshot takeSnapshot() {
+        LocalDateTime takenAt = LocalDateTime.now();
+        List<Object[]> rows = skillRepository.findMatrixRows();
+
+        Map<Long, MatrixEntry> matrix = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            matrix.put((Long) row[0], new MatrixEntry((Long) row[0], (Long) row[1],
+                    (String) row[2], (String) row[3], (String) row[4]));
+        }
+
+        SkillMatrixSnapshot snapshot = snapshotRepository.save(SkillMatrixSnapshot.builder()
+                .takenAt(takenAt)
+                .skillCount(matrix.size())
+                .payload(encode(matrix.values()))
+                .build());
+
+        log.info("Took skill matrix snapshot {} with {} skills ({} bytes)",
+                snapshot.getId(), matrix.size(), snapshot.getPayload().length);
+        return snapshot;
+    }
+
+    /**
+     * Thin out old snapshots: keep every snapshot from the last {@code snapshot-retention-days}
+     * days and the first snapshot of each month before that
+     */
+    @Transactional
+    public int purgeSnapshots() {
+        Set<YearMonth> keptMonths = new HashSet<>();
+        List<Long> obsolete = new ArrayList<>();
+        for (Object[] header : snapshotRepository.findHeadersTakenBefore(
+                LocalDateTime.now().minusDays(snapshotRetentionDays))) {
+            if (!keptMonths.add(YearMonth.from((LocalDateTime) header[1]))) {
+                obsolete.add((Long) header[0]);
+            }
+        }
+
+        snapshotRepository.deleteAllByIdInBatch(obsolete);
+        return obsolete.size();
+    }
+
+    private List<Skill> toSkills(Iterable<MatrixEntry> entries) {
+        List<MatrixEntry> list = new ArrayList<>();
+        entries.forEach(list::add);
+
+        Set<Long> userIds = list.stream().map(MatrixEntry::userId).collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return list.stream()
+                .map(entry -> Skill.builder()
+                        .id(entry.skillId())
+                        .user(users.computeIfAbsent(entry.userId(), id -> User.builder().id(id).build()))
+                        .name(entry.name())
+                        .category(entry.category())
+                        .level(entry.level())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The level a created or level_changed history entry records, if any
+     */
+    static String levelFromHistory(String action, String newValue) {
+        if (newValue == null) {
+            return null;
+        }
+        if ("created".equals(action) && newValue.startsWith(CREATED_PREFIX)) {
+            return newValue.substring(CREATED_PREFIX.length());
+        }
+        return newValue;
+    }
+
+    private static byte[] encode(Iterable<MatrixEntry> entries) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            for (MatrixEntry entry : entries) {
+                out.writeBoolean(true);
+                out.writeLong(entry.skillId());
+                out.writeLong(entry.userId());
+                out.writeUTF(entry.name());
+                out.writeUTF(entry.category());
+                out.writeUTF(entry.level());
+            }
+            out.writeBoolean(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Map<Long, MatrixEntry> decode(byte[] payload) {
+        Map<Long, MatrixEntry> matrix = new LinkedHashMap<>();
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(payload)))) {
+            while (in.readBoolean()) {
+                MatrixEntry entry = new MatrixEntry(in.readLong(), in.readLong(),
+                        in.readUTF(), in.readUTF(), in.readUTF());
+                matrix.put(entry.skillId(), entry);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return matrix;
+    }
+
+    private record MatrixEntry(Long skillId, Long userId, String name, String category, String level) {
+
+        MatrixEntry withLevel(String newLevel) {
+            return new MatrixEntry(skillId, userId, name, category, newLevel);
+        }
+    }
+}
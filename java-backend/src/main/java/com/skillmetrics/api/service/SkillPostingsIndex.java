@@ -0,0 +1,276 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.event.SkillChangedEvent;
+import com.skillmetrics.api.model.enums.SkillLevel;
+import com.skillmetrics.api.repository.SkillRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted index from skill name to the users holding that skill, kept in memory.
+ *
+ * Each posting list is sorted by user id so that several skill predicates can be
+ * intersected with a linear merge, starting from the rarest skill. Local changes are
+ * applied after commit; remote ones are picked up through {@link PollingIndexSync}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkillPostingsIndex {
+
+    private final SkillRepository skillRepository;
+
+    @Value("${app.skill-index.refresh-lookback:60000}")
+    private long refreshLookback;
+
+    private volatile IndexState state = IndexState.empty();
+
+    // Local deletions are recorded so a rebuild that raced them cannot resurrect rows
+    private final PollingIndexSync sync = new PollingIndexSync(this);
+
+    @PostConstruct
+    void init() {
+        rebuild();
+    }
+
+    /**
+     * Rank of a skill level, 1 for BEGINNER up to 4 for EXPERT; 0 if unknown
+     */
+    public static int levelRank(String level) {
+        if (level == null) {
+            return 0;
+        }
+        try {
+            return SkillLevel.valueOf(level.trim().toUpperCase(Locale.ROOT)).ordinal() + 1;
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+    }
+
+    public static String normalize(String skillName) {
+        return skillName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Users holding the skill at or above the minimum rank, with the best rank each holds
+     */
+    public Map<Long, Integer> findHolders(String skillName, int minRank) {
+        MatchList list = matching(state.postings().get(normalize(skillName)), minRank);
+        Map<Long, Integer> result = new HashMap<>(list.size() * 2);
+        for (int i = 0; i < list.size(); i++) {
+            result.put(list.userIds()[i], list.ranks()[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Users holding every one of the given skills at or above the matching minimum rank.
+     * Returns user id to the best rank held for each requirement, in requirement order.
+     */
+    public Map<Long, int[]> findUsers(List<String> skillNames, int[] minRanks) {
+        int count = skillNames.size();
+        MatchList[] lists = new MatchList[count];
+        for (int i = 0; i < count; i++) {
+            lists[i] = matching(state.postings().get(normalize(skillNames.get(i))), minRanks[i]);
+            if (lists[i].size() == 0) {
+                return Map.of();
+            }
+        }
+
+        // Intersect from the shortest list so the candidate set only ever shrinks
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> lists[i].size()));
+
+        MatchList first = lists[order[0]];
+        long[] candidates = Arrays.copyOf(first.userIds(), first.size());
+        int[][] ranks = new int[count][];
+        ranks[order[0]] = Arrays.copyOf(first.ranks(), first.size());
+        int size = first.size();
+
+        for (int k = 1; k < count && size > 0; k++) {
+            MatchList next = lists[order[k]];
+            int[] nextRanks = new int[size];
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < size; i++) {
+                while (j < next.size() && next.userIds()[j] < candidates[i]) {
+                    j++;
+                }
+                if (j < next.size() && next.userIds()[j] == candidates[i]) {
+                    for (int p = 0; p < k; p++) {
+                        ranks[order[p]][kept] = ranks[order[p]][i];
+                    }
+                    candidates[kept] = candidates[i];
+                    nextRanks[kept] = next.ranks()[j];
+                    kept++;
+                }
+            }
+            ranks[order[k]] = nextRanks;
+            size = kept;
+        }
+
+        Map<Long, int[]> result = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            int[] userRanks = new int[count];
+            for (int r = 0; r < count; r++) {
+                userRanks[r] = ranks[r][i];
+            }
+            result.put(candidates[i], userRanks);
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        Long skillId = event.getSkillId();
+        if (skillId == null) {
+            return;
+        }
+
+        List<Object[]> rows = skillRepository.findPostingRowById(skillId);
+        if (rows.isEmpty()) {
+            sync.recordLocalChange(skillId);
+            remove(state, skillId);
+        } else {
+            apply(state, toPosting(rows.get(0)));
+        }
+    }
+
+    /**
+     * Pick up skills created or changed on other instances or by bulk paths that do not
+     * publish events
+     */
+    @Scheduled(fixedDelayString = "${app.skill-index.refresh-interval:5000}")
+    public void refresh() {
+        sync.refresh(refreshLookback, since -> {
+            IndexState current = state;
+            skillRepository.findPostingRowsUpdatedAfter(since)
+                    .forEach(row -> apply(current, toPosting(row)));
+        }, this::rebuild);
+    }
+
+    @Scheduled(cron = "${app.skill-index.rebuild-cron:0 */10 * * * ?}")
+    public void rebuildCache() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        sync.rebuild(this::load, this::remove, rebuilt -> state = rebuilt);
+    }
+
+    private IndexState load() {
+        List<Object[]> rows = skillRepository.findPostingRows();
+
+        Map<String, List<Posting>> byName = new HashMap<>();
+        IndexState rebuilt = IndexState.empty();
+        for (Object[] row : rows) {
+            Posting posting = toPosting(row);
+            byName.computeIfAbsent(posting.key(), key -> new ArrayList<>()).add(posting);
+            rebuilt.keyBySkill().put(posting.skillId(), posting.key());
+        }
+        byName.forEach((key, postings) -> {
+            Posting[] sorted = postings.toArray(Posting[]::new);
+            Arrays.sort(sorted, Comparator.comparingLong(Posting::userId));
+            rebuilt.postings().put(key, sorted);
+        });
+
+        log.debug("Indexed {} skills under {} names", rows.size(), byName.size());
+        return rebuilt;
+    }
+
+    private synchronized void apply(IndexState target, Posting posting) {
+        String previousKey = target.keyBySkill().put(posting.skillId(), posting.key());
+        if (previousKey != null && !previousKey.equals(posting.key())) {
+            target.postings().computeIfPresent(previousKey, (key, postings) -> without(postings, posting.skillId()));
+        }
+        target.postings().compute(posting.key(), (key, postings) -> {
+            Posting[] base = postings != null ? without(postings, posting.skillId()) : null;
+            if (base == null) {
+                return new Posting[]{posting};
+            }
+            // Insert keeping the list sorted by user id
+            int index = Arrays.binarySearch(base, posting, Comparator.comparingLong(Posting::userId));
+            int at = index >= 0 ? index : -index - 1;
+            Posting[] updated = new Posting[base.length + 1];
+            System.arraycopy(base, 0, updated, 0, at);
+            updated[at] = posting;
+            System.arraycopy(base, at, updated, at + 1, base.length - at);
+            return updated;
+        });
+    }
+
+    private synchronized void remove(IndexState target, Long skillId) {
+        String key = target.keyBySkill().remove(skillId);
+        if (key != null) {
+            target.postings().computeIfPresent(key, (k, postings) -> without(postings, skillId));
+        }
+    }
+
+    private static Posting[] without(Posting[] postings, Long skillId) {
+        Posting[] remaining = Arrays.stream(postings)
+                .filter(posting -> posting.skillId() != skillId)
+                .toArray(Posting[]::new);
+        return remaining.length == 0 ? null : remaining;
+    }
+
+    /**
+     * Users in a posting list with at least the given rank, one entry per user with their best rank
+     */
+    private static MatchList matching(Posting[] postings, int minRank) {
+        if (postings == null) {
+            return new MatchList(new long[0], new int[0], 0);
+        }
+
+        long[] userIds = new long[postings.length];
+        int[] ranks = new int[postings.length];
+        int size = 0;
+        for (Posting posting : postings) {
+            if (posting.rank() < minRank) {
+                continue;
+            }
+            if (size > 0 && userIds[size - 1] == posting.userId()) {
+                ranks[size - 1] = Math.max(ranks[size - 1], posting.rank());
+            } else {
+                userIds[size] = posting.userId();
+                ranks[size] = posting.rank();
+                size++;
+            }
+        }
+        return new MatchList(userIds, ranks, size);
+    }
+
+    private static Posting toPosting(Object[] row) {
+        return new Posting((Long) row[0], (Long) row[1], normalize((String) row[2]), levelRank((String) row[3]));
+    }
+
+    private record Posting(long skillId, long userId, String key, int rank) {
+    }
+
+    private record MatchList(long[] userIds, int[] ranks, int size) {
+    }
+
+    private record IndexState(Map<String, Posting[]> postings, Map<Long, String> keyBySkill) {
+
+        static IndexState empty() {
+            return new IndexState(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+}
@@ -0,0 +1,508 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.dto.SkillRecommendationDto;
+import com.skillmetrics.api.event.BulkSkillDataChangedEvent;
+import com.skillmetrics.api.event.SkillChangedEvent;
+import com.skillmetrics.api.exception.BadRequestException;
+import com.skillmetrics.api.repository.SkillRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * "People who have X usually also have Y": a resident skill co-occurrence matrix.
+ *
+ * Skills are keyed by normalized name and dictionary-encoded to ints; each skill keeps an
+ * open-addressing int-to-int map of the skills held alongside it and how many users hold
+ * both. The pair counts are built in parallel over partitions of users and merged, then
+ * patched per user as skills change, so related-skill and per-user queries are a scan of
+ * one or a few sparse rows. Changes made on other instances are picked up through
+ * {@link PollingIndexSync}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkillRecommendationService {
+
+    public enum Metric {
+        JACCARD, LIFT, CONFIDENCE;
+
+        public static Metric parse(String name) {
+            if (name == null || name.isBlank()) {
+                return JACCARD;
+            }
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unknown recommendation metric: " + name
+                        + "; expected one of " + Arrays.toString(values()).toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    public static final int MAX_RESULTS = 100;
+
+    private static final int BASED_ON_LIMIT = 3;
+    private static final int RELOAD_BATCH_SIZE = 1000;
+
+    private final SkillRepository skillRepository;
+
+    // Pairs held together by fewer users are too noisy to recommend, lift especially
+    @Value("${app.skill-recommendations.min-support:2}")
+    private int minSupport;
+
+    @Value("${app.skill-recommendations.build-partitions:8}")
+    private int buildPartitions;
+
+    @Value("${app.skill-recommendations.refresh-lookback:60000}")
+    private long refreshLookback;
+
+    // Guarded by this; queries and patches are short in-memory operations
+    private Matrix matrix = new Matrix();
+
+    // Users changed locally are recorded so a rebuild that raced them cannot undo them
+    private final PollingIndexSync sync = new PollingIndexSync(this);
+
+    @PostConstruct
+    void init() {
+        rebuild();
+    }
+
+    /**
+     * Skills most often held alongside the given one, best score first
+     */
+    public List<SkillRecommendationDto> getRelatedSkills(String skillName, int limit, Metric metric) {
+        if (skillName == null || skillName.isBlank()) {
+            throw new BadRequestException("Skill name is required");
+        }
+        int k = clampLimit(limit);
+        synchronized (this) {
+            Integer item = matrix.ids.get(SkillPostingsIndex.normalize(skillName));
+            return item == null ? List.of() : matrix.related(item, k, metric, minSupport());
+        }
+    }
+
+    /**
+     * Skills the user does not hold yet, scored by summing their co-occurrence with every
+     * skill the user does hold. Names in {@code excluded} (e.g. open targets) are skipped.
+     */
+    public List<SkillRecommendationDto> recommendForUser(Long userId, int limit, Metric metric,
+                                                         Collection<String> excluded) {
+        int k = clampLimit(limit);
+        synchronized (this) {
+            int[] held = matrix.itemsByUser.get(userId);
+            if (held == null) {
+                return List.of();
+            }
+            Set<Integer> skipped = new HashSet<>();
+            if (excluded != null) {
+                for (String name : excluded) {
+                    Integer item = name != null ? matrix.ids.get(SkillPostingsIndex.normalize(name)) : null;
+                    if (item != null) {
+                        skipped.add(item);
+                    }
+                }
+            }
+            return matrix.forUser(held, skipped, k, metric, minSupport());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        Long userId = event.getUserId();
+        if (userId == null) {
+            return;
+        }
+        sync.recordLocalChange(userId);
+        reloadUsers(List.of(userId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBulkSkillDataChanged(BulkSkillDataChangedEvent event) {
+        sync.requestRebuild();
+    }
+
+    /**
+     * Pick up skills changed on other instances
+     */
+    @Scheduled(fixedDelayString = "${app.skill-recommendations.refresh-interval:5000}")
+    public void refresh() {
+        sync.refresh(refreshLookback, since -> {
+            Set<Long> userIds = new HashSet<>();
+            skillRepository.findPostingRowsUpdatedAfter(since).forEach(row -> userIds.add((Long) row[1]));
+            reloadUsers(userIds);
+        }, this::rebuild);
+    }
+
+    @Scheduled(cron = "${app.skill-recommendations.rebuild-cron:0 */10 * * * ?}")
+    public void rebuildCache() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        List<Long> raced = new ArrayList<>();
+        sync.rebuild(this::load, (rebuilt, userId) -> raced.add(userId), rebuilt -> matrix = rebuilt);
+        // Users changed while the snapshot was read are re-read into the installed matrix,
+        // outside the lock since it takes a query
+        reloadUsers(raced);
+    }
+
+    private Matrix load() {
+        Map<Long, List<Object[]>> rowsByUser = new HashMap<>();
+        skillRepository.findHolderRows()
+                .forEach(row -> rowsByUser.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(row));
+
+        Matrix rebuilt = new Matrix();
+        rebuilt.load(rowsByUser, Math.max(1, buildPartitions));
+        log.debug("Built skill co-occurrence matrix of {} skills over {} users",
+                rebuilt.names.size(), rebuilt.itemsByUser.size());
+        return rebuilt;
+    }
+
+    /**
+     * Replace the skill sets of the given users with their current rows
+     */
+    private void reloadUsers(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Object[]>> rows = loadRows(userIds);
+        synchronized (this) {
+            userIds.forEach(userId -> matrix.setUser(userId, matrix.items(rows.getOrDefault(userId, List.of()))));
+        }
+    }
+
+    private Map<Long, List<Object[]>> loadRows(Collection<Long> userIds) {
+        Map<Long, List<Object[]>> rowsByUser = new HashMap<>();
+        List<Long> ids = List.copyOf(userIds);
+        for (int from = 0; from < ids.size(); from += RELOAD_BATCH_SIZE) {
+            skillRepository.findLevelRowsByUserIds(ids.subList(from, Math.min(ids.size(), from + RELOAD_BATCH_SIZE)))
+                    .forEach(row -> rowsByUser.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(row));
+        }
+        return rowsByUser;
+    }
+
+    private int minSupport() {
+        return Math.max(1, minSupport);
+    }
+
+    private static int clampLimit(int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be positive");
+        }
+        return Math.min(limit, MAX_RESULTS);
+    }
+
+    private record Scored(int item, double score, int together) {
+    }
+
+    /**
+     * Skill dictionary, per-user skill sets and the sparse pair counts. Not thread-safe.
+     */
+    private static final class Matrix {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private final List<String> categories = new ArrayList<>();
+        private final Map<Long, int[]> itemsByUser = new HashMap<>(); // sorted, distinct item ids
+
+        private int[] holders = new int[16];
+        private IntIntMap[] pairs = new IntIntMap[16];
+
+        /**
+         * Encode every user's skills, then count pairs over strided partitions of users in
+         * parallel and merge the partial counts
+         */
+        void load(Map<Long, List<Object[]>> rowsByUser, int partitions) {
+            rowsByUser.forEach((userId, rows) -> itemsByUser.put(userId, items(rows)));
+            int size = names.size();
+            holders = new int[Math.max(16, size)];
+            for (int[] items : itemsByUser.values()) {
+                for (int item : items) {
+                    holders[item]++;
+                }
+            }
+
+            List<int[]> sets = new ArrayList<>(itemsByUser.values());
+            IntIntMap[] counted = IntStream.range(0, partitions).parallel()
+                    .mapToObj(partition -> countPairs(sets, partition, partitions, size))
+                    .reduce(Matrix::merge)
+                    .orElseGet(() -> new IntIntMap[size]);
+            pairs = Arrays.copyOf(counted, holders.length);
+        }
+
+        /**
+         * Distinct item ids of a user's [userId, name, category, ...] rows, registering new names
+         */
+        int[] items(List<Object[]> rows) {
+            return rows.stream()
+                    .mapToInt(row -> item((String) row[1], (String) row[2]))
+                    .distinct()
+                    .sorted()
+                    .toArray();
+        }
+
+        void setUser(Long userId, int[] items) {
+            int[] previous = items.length > 0 ? itemsByUser.put(userId, items) : itemsByUser.remove(userId);
+            if (previous != null) {
+                apply(previous, -1);
+            }
+            apply(items, 1);
+        }
+
+        List<SkillRecommendationDto> related(int item, int k, Metric metric, int minSupport) {
+            PriorityQueue<Scored> top = new PriorityQueue<>(Comparator.comparingDouble(Scored::score));
+            IntIntMap row = pairs[item];
+            if (row != null) {
+                for (int slot = 0; slot < row.capacity(); slot++) {
+                    int other = row.keyAt(slot);
+                    int together = other >= 0 ? row.valueAt(slot) : 0;
+                    if (together >= minSupport) {
+                        offer(top, k, new Scored(other, score(metric, item, other, together), together));
+                    }
+                }
+            }
+            return drain(top).stream()
+                    .map(scored -> toDto(scored, List.of()))
+                    .toList();
+        }
+
+        List<SkillRecommendationDto> forUser(int[] held, Set<Integer> skipped, int k, Metric metric, int minSupport) {
+            double[] scores = new double[names.size()];
+            int[] together = new int[names.size()];
+            List<Integer> touched = new ArrayList<>();
+            for (int item : held) {
+                IntIntMap row = pairs[item];
+                if (row == null) {
+                    continue;
+                }
+                for (int slot = 0; slot < row.capacity(); slot++) {
+                    int other = row.keyAt(slot);
+                    if (other < 0 || row.valueAt(slot) < minSupport
+                            || Arrays.binarySearch(held, other) >= 0 || skipped.contains(other)) {
+                        continue;
+                    }
+                    if (together[other] == 0) {
+                        touched.add(other);
+                    }
+                    scores[other] += score(metric, item, other, row.valueAt(slot));
+                    together[other] += row.valueAt(slot);
+                }
+            }
+
+            PriorityQueue<Scored> top = new PriorityQueue<>(Comparator.comparingDouble(Scored::score));
+            for (int other : touched) {
+                offer(top, k, new Scored(other, scores[other], together[other]));
+            }
+            return drain(top).stream()
+                    .map(scored -> toDto(scored, basedOn(held, scored.item(), metric, minSupport)))
+                    .toList();
+        }
+
+        private List<String> basedOn(int[] held, int recommended, Metric metric, int minSupport) {
+            PriorityQueue<Scored> top = new PriorityQueue<>(Comparator.comparingDouble(Scored::score));
+            for (int item : held) {
+                int together = pairs[item] != null ? pairs[item].get(recommended) : 0;
+                if (together >= minSupport) {
+                    offer(top, BASED_ON_LIMIT, new Scored(item, score(metric, item, recommended, together), together));
+                }
+            }
+            return drain(top).stream().map(scored -> names.get(scored.item())).toList();
+        }
+
+        /**
+         * Score of recommending {@code other} to holders of {@code item}
+         */
+        private double score(Metric metric, int item, int other, int together) {
+            return switch (metric) {
+                case JACCARD -> together / (double) (holders[item] + holders[other] - together);
+                case LIFT -> together * (double) itemsByUser.size() / ((double) holders[item] * holders[other]);
+                case CONFIDENCE -> together / (double) holders[item];
+            };
+        }
+
+        private SkillRecommendationDto toDto(Scored scored, List<String> basedOn) {
+            return SkillRecommendationDto.builder()
+                    .name(names.get(scored.item()))
+                    .category(categories.get(scored.item()))
+                    .score(scored.score())
+                    .holders(holders[scored.item()])
+                    .coOccurrences(scored.together())
+                    .basedOn(basedOn)
+                    .build();
+        }
+
+        private int item(String name, String category) {
+            return ids.computeIfAbsent(SkillPostingsIndex.normalize(name), key -> {
+                int item = names.size();
+                names.add(name.trim());
+                categories.add(category);
+                if (item >= holders.length) {
+                    holders = Arrays.copyOf(holders, holders.length * 2);
+                    pairs = Arrays.copyOf(pairs, holders.length);
+                }
+                return item;
+            });
+        }
+
+        private void apply(int[] items, int delta) {
+            for (int i = 0; i < items.length; i++) {
+                holders[items[i]] += delta;
+                for (int j = i + 1; j < items.length; j++) {
+                    pair(items[i]).addTo(items[j], delta);
+                    pair(items[j]).addTo(items[i], delta);
+                }
+            }
+        }
+
+        private IntIntMap pair(int item) {
+            if (pairs[item] == null) {
+                pairs[item] = new IntIntMap();
+            }
+            return pairs[item];
+        }
+
+        private static IntIntMap[] countPairs(List<int[]> sets, int partition, int partitions, int size) {
+            IntIntMap[] counts = new IntIntMap[size];
+            for (int s = partition; s < sets.size(); s += partitions) {
+                int[] items = sets.get(s);
+                for (int i = 0; i < items.length; i++) {
+                    for (int j = i + 1; j < items.length; j++) {
+                        if (counts[items[i]] == null) {
+                            counts[items[i]] = new IntIntMap();
+                        }
+                        if (counts[items[j]] == null) {
+                            counts[items[j]] = new IntIntMap();
+                        }
+                        counts[items[i]].addTo(items[j], 1);
+                        counts[items[j]].addTo(items[i], 1);
+                    }
+                }
+            }
+            return counts;
+        }
+
+        private static IntIntMap[] merge(IntIntMap[] into, IntIntMap[] from) {
+            for (int item = 0; item < from.length; item++) {
+                if (from[item] == null) {
+                    continue;
+                }
+                if (into[item] == null) {
+                    into[item] = from[item];
+                } else {
+                    into[item].addAll(from[item]);
+                }
+            }
+            return into;
+        }
+
+        private static void offer(PriorityQueue<Scored> top, int k, Scored scored) {
+            if (top.size() < k) {
+                top.add(scored);
+            } else if (top.peek().score() < scored.score()) {
+                top.poll();
+                top.add(scored);
+            }
+        }
+
+        private static List<Scored> drain(PriorityQueue<Scored> top) {
+            List<Scored> best = new ArrayList<>(top);
+            best.sort(Comparator.comparingDouble(Scored::score).reversed());
+            return best;
+        }
+    }
+
+    /**
+     * Open-addressing int to int map with linear probing. Entries whose count drops to zero
+     * keep their slot until the next rebuild.
+     */
+    private static final class IntIntMap {
+
+        private int[] keys = new int[8]; // key + 1; 0 marks a free slot
+        private int[] values = new int[8];
+        private int size;
+
+        void addTo(int key, int delta) {
+            int slot = slot(key);
+            if (keys[slot] != 0) {
+                values[slot] += delta;
+                return;
+            }
+            keys[slot] = key + 1;
+            values[slot] = delta;
+            if (++size * 4 > keys.length * 3) {
+                resize();
+            }
+        }
+
+        int get(int key) {
+            int slot = slot(key);
+            return keys[slot] != 0 ? values[slot] : 0;
+        }
+
+        void addAll(IntIntMap other) {
+            for (int slot = 0; slot < other.keys.length; slot++) {
+                if (other.keys[slot] != 0) {
+                    addTo(other.keys[slot] - 1, other.values[slot]);
+                }
+            }
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+
+        /**
+         * Key stored in the slot, or -1 if the slot is free
+         */
+        int keyAt(int slot) {
+            return keys[slot] - 1;
+        }
+
+        int valueAt(int slot) {
+            return values[slot];
+        }
+
+        private int slot(int key) {
+            int mask = keys.length - 1;
+            int hash = key * 0x9E3779B9;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (keys[slot] != 0 && keys[slot] != key + 1) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void resize() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldValues.length * 2];
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != 0) {
+                    int target = slot(oldKeys[slot] - 1);
+                    keys[target] = oldKeys[slot];
+                    values[target] = oldValues[slot];
+                }
+            }
+        }
+    }
+}
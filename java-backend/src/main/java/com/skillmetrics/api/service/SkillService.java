@@ -1,7 +1,9 @@
 package com.skillmetrics.api.service;
 
 import com.skillmetrics.api.dto.EndorsementDto;
+import com.skillmetrics.api.dto.SkillCanonicalMatchDto;
 import com.skillmetrics.api.dto.SkillDto;
+import com.skillmetrics.api.event.SkillChangedEvent;
 import com.skillmetrics.api.exception.ResourceNotFoundException;
 import com.skillmetrics.api.model.Endorsement;
 import com.skillmetrics.api.model.Skill;
@@ -12,11 +14,13 @@ import com.skillmetrics.api.repository.SkillRepository;
 import com.skillmetrics.api.repository.SkillTemplateRepository;
 import com.skillmetrics.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,9 +30,12 @@ public class SkillService {
     private final SkillRepository skillRepository;
     private final UserRepository userRepository;
     private final SkillTemplateRepository skillTemplateRepository;
+    private final SkillCanonicalizationService skillCanonicalizationService;
     private final EndorsementRepository endorsementRepository;
     private final NotificationService notificationService;
     private final EmailService emailService;
+    private final AuditHistoryWriter auditHistoryWriter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<SkillDto> getAllSkills() {
@@ -140,9 +147,14 @@ public class SkillService {
             SkillTemplate template = skillTemplateRepository.findById(skillDto.getTemplateId())
                     .orElseThrow(() -> new ResourceNotFoundException("Skill template not found with id " + skillDto.getTemplateId()));
             skill.setTemplate(template);
+        } else {
+            skill.setTemplate(resolveTemplate(skill.getName(), skill.getCategory()));
         }
         
         Skill savedSkill = skillRepository.save(skill);
+        eventPublisher.publishEvent(new SkillChangedEvent(savedSkill.getId(), user.getId()));
+        auditHistoryWriter.recordSkillHistory(savedSkill.getId(), user.getId(), "created",
+                null, savedSkill.getLevel(), null);
         
         return convertToDto(savedSkill);
     }
@@ -163,6 +175,8 @@ public class SkillService {
             }
         }
         
+        String previousLevel = skill.getLevel();
+        
         skill.setName(skillDto.getName());
         skill.setCategory(skillDto.getCategory());
         skill.setLevel(skillDto.getLevel());
@@ -170,6 +184,11 @@ public class SkillService {
         skill.setCertification(skillDto.getCertification());
         skill.setCredlyLink(skillDto.getCredlyLink());
         
+        if (!Objects.equals(previousLevel, skill.getLevel())) {
+            auditHistoryWriter.recordSkillHistory(skill.getId(), skill.getUser().getId(), "level_changed",
+                    previousLevel, skill.getLevel(), null);
+        }
+        
         // Update template if provided
         if (skillDto.getTemplateId() != null) {
             if (skill.getTemplate() == null || !skill.getTemplate().getId().equals(skillDto.getTemplateId())) {
@@ -178,10 +197,11 @@ public class SkillService {
                 skill.setTemplate(template);
             }
         } else {
-            skill.setTemplate(null);
+            skill.setTemplate(resolveTemplate(skill.getName(), skill.getCategory()));
         }
         
         Skill updatedSkill = skillRepository.save(skill);
+        eventPublisher.publishEvent(new SkillChangedEvent(updatedSkill.getId(), updatedSkill.getUser().getId()));
         
         return convertToDto(updatedSkill);
     }
@@ -197,6 +217,7 @@ public class SkillService {
         }
         
         skillRepository.delete(skill);
+        eventPublisher.publishEvent(new SkillChangedEvent(id, skill.getUser().getId()));
     }
     
     @Transactional
@@ -284,8 +305,22 @@ public class SkillService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public List<SkillCanonicalMatchDto> suggestTemplates(String name, String category, int limit) {
+        return skillCanonicalizationService.suggest(name, category, limit);
+    }
+    
     // Helper methods
     
+    /**
+     * Template a skill name confidently maps to, or null to leave the skill unlinked
+     */
+    private SkillTemplate resolveTemplate(String name, String category) {
+        return skillCanonicalizationService.resolveTemplateId(name, category)
+                .flatMap(skillTemplateRepository::findById)
+                .orElse(null);
+    }
+    
     private SkillDto convertToDto(Skill skill) {
         return SkillDto.builder()
                 .id(skill.getId())
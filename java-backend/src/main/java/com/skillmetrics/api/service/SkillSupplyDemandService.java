@@ -0,0 +1,267 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.dto.SkillSupplyDemandDto;
+import com.skillmetrics.api.event.BulkSkillDataChangedEvent;
+import com.skillmetrics.api.event.SkillTemplateChangedEvent;
+import com.skillmetrics.api.exception.BadRequestException;
+import com.skillmetrics.api.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Org-wide skill supply and demand, precomputed in the {@code skill_supply_demand}
+ * materialized view.
+ *
+ * Demand is the number of project skill requirements per skill name and category,
+ * supply the number of matching employee skills, with names and categories compared
+ * case-insensitively. Skills linked to a template count under the template's name and
+ * category, so aliases of one skill are not split across rows. The view is refreshed concurrently, so readers are never blocked:
+ * on a schedule by {@link ScheduledJobs}, and shortly after any bulk write to skills.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkillSupplyDemandService {
+
+    public static final int MAX_RESULTS = 500;
+
+    private static final String VIEW = "skill_supply_demand";
+
+    private static final String COLUMNS = """
+            name, category, required_count, project_count, available_count, holder_count, balance,
+            beginner_count, intermediate_count, advanced_count, expert_count, refreshed_at
+            """;
+
+    // Skills of one drill-down: those linked to the named template, and unlinked skills of that name
+    private static final String SKILL_MATCHES = """
+            (s.template_id IN (SELECT id FROM skill_templates
+                               WHERE lower(trim(name)) = lower(trim(?)) AND lower(trim(category)) = lower(trim(?)))
+             OR s.template_id IS NULL
+                AND lower(trim(s.name)) = lower(trim(?)) AND lower(trim(s.category)) = lower(trim(?)))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AtomicBoolean refreshRequested = new AtomicBoolean();
+
+    /**
+     * Runs after Hibernate has created or updated the schema
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            Integer outdated = jdbcTemplate.queryForObject("SELECT count(*) FROM pg_matviews "
+                    + "WHERE matviewname = ? AND definition NOT LIKE '%skill_templates%'", Integer.class, VIEW);
+            if (outdated != null && outdated > 0) {
+                // Created before skills were grouped by template
+                jdbcTemplate.execute("DROP MATERIALIZED VIEW " + VIEW);
+            }
+            jdbcTemplate.execute("""
+                    CREATE MATERIALIZED VIEW IF NOT EXISTS skill_supply_demand AS
+                    WITH demand AS (
+                        SELECT lower(trim(coalesce(t.name, s.name))) AS skill_key,
+                               lower(trim(coalesce(t.category, s.category))) AS category_key,
+                               min(coalesce(t.name, s.name)) AS name, min(coalesce(t.category, s.category)) AS category,
+                               count(*) AS required_count, count(DISTINCT ps.project_id) AS project_count
+                        FROM project_skills ps
+                        JOIN skills s ON s.id = ps.skill_id
+                        LEFT JOIN skill_templates t ON t.id = s.template_id
+                        GROUP BY 1, 2
+                    ), supply AS (
+                        SELECT lower(trim(coalesce(t.name, s.name))) AS skill_key,
+                               lower(trim(coalesce(t.category, s.category))) AS category_key,
+                               count(*) AS available_count, count(DISTINCT s.user_id) AS holder_count,
+                               count(*) FILTER (WHERE upper(s.level) = 'BEGINNER') AS beginner_count,
+                               count(*) FILTER (WHERE upper(s.level) = 'INTERMEDIATE') AS intermediate_count,
+                               count(*) FILTER (WHERE upper(s.level) = 'ADVANCED') AS advanced_count,
+                               count(*) FILTER (WHERE upper(s.level) = 'EXPERT') AS expert_count
+                        FROM skills s
+                        LEFT JOIN skill_templates t ON t.id = s.template_id
+                        GROUP BY 1, 2
+                    )
+                    SELECT d.skill_key, d.category_key, d.name, d.category, d.required_count, d.project_count,
+                           coalesce(s.available_count, 0) AS available_count,
+                           coalesce(s.holder_count, 0) AS holder_count,
+                           coalesce(s.available_count, 0) - d.required_count AS balance,
+                           coalesce(s.beginner_count, 0) AS beginner_count,
+                           coalesce(s.intermediate_count, 0) AS intermediate_count,
+                           coalesce(s.advanced_count, 0) AS advanced_count,
+                           coalesce(s.expert_count, 0) AS expert_count,
+                           now()::timestamp AS refreshed_at
+                    FROM demand d
+                    LEFT JOIN supply s ON s.skill_key = d.skill_key AND s.category_key = d.category_key
+                    """);
+            // Required for REFRESH ... CONCURRENTLY
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS ux_skill_supply_demand_key "
+                    + "ON skill_supply_demand (skill_key, category_key)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_skill_supply_demand_balance "
+                    + "ON skill_supply_demand (balance)");
+            // Drill-down looks unlinked skills up by the same normalized key
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_skills_name_category_key "
+                    + "ON skills (lower(trim(name)), lower(trim(category)))");
+        } catch (RuntimeException e) {
+            log.error("Could not create the {} materialized view", VIEW, e);
+        }
+    }
+
+    /**
+     * Recompute the view without blocking readers.
+     * Scheduled cluster-wide by {@link ScheduledJobs}.
+     */
+    public void refresh() {
+        long start = System.nanoTime();
+        jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY " + VIEW);
+        log.debug("Refreshed {} in {} ms", VIEW, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Bulk writes only flag a refresh; several in a row are coalesced into one
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBulkSkillDataChanged(BulkSkillDataChangedEvent event) {
+        log.debug("Skill supply/demand refresh requested after {}", event.getSource());
+        refreshRequested.set(true);
+    }
+
+    /**
+     * A renamed template moves its skills to another row
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTemplateChanged(SkillTemplateChangedEvent event) {
+        refreshRequested.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.skill-supply-demand.pending-refresh-delay:10000}")
+    public void refreshIfRequested() {
+        if (!refreshRequested.getAndSet(false)) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.error("Could not refresh {} after a bulk write", VIEW, e);
+        }
+    }
+
+    /**
+     * Precomputed deficits (largest first) and surpluses (largest first), optionally
+     * for one category
+     */
+    public Map<String, Object> getGapAnalysis(String category, int limit) {
+        int maxRows = clampLimit(limit);
+        String categoryFilter = category != null && !category.isBlank() ? " AND category_key = lower(trim(?))" : "";
+        Object[] args = categoryFilter.isEmpty() ? new Object[]{maxRows} : new Object[]{category, maxRows};
+
+        List<SkillSupplyDemandDto> gaps = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM " + VIEW + " WHERE balance < 0" + categoryFilter
+                        + " ORDER BY balance, name LIMIT ?",
+                rowMapper(), args);
+        List<SkillSupplyDemandDto> overlaps = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM " + VIEW + " WHERE balance > 0" + categoryFilter
+                        + " ORDER BY balance DESC, name LIMIT ?",
+                rowMapper(), args);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("gaps", gaps);
+        result.put("overlaps", overlaps);
+        result.put("refreshedAt", jdbcTemplate.queryForObject(
+                "SELECT max(refreshed_at) FROM " + VIEW, LocalDateTime.class));
+        return result;
+    }
+
+    /**
+     * One skill's supply and demand, with the projects requiring it and the people holding it
+     */
+    public Map<String, Object> getSkillDrillDown(String name, String category, int holderLimit) {
+        int maxHolders = clampLimit(holderLimit);
+        List<SkillSupplyDemandDto> summary = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM " + VIEW
+                        + " WHERE skill_key = lower(trim(?)) AND category_key = lower(trim(?))",
+                rowMapper(), name, category);
+        if (summary.isEmpty()) {
+            throw new ResourceNotFoundException("No project requires skill " + name + " in category " + category);
+        }
+
+        List<Map<String, Object>> projects = jdbcTemplate.query("""
+                SELECT p.id, p.name, p.status, ps.required_level
+                FROM project_skills ps
+                JOIN skills s ON s.id = ps.skill_id
+                JOIN projects p ON p.id = ps.project_id
+                WHERE %s
+                ORDER BY p.name
+                """.formatted(SKILL_MATCHES), (rs, rowNum) -> {
+            Map<String, Object> project = new LinkedHashMap<>();
+            project.put("projectId", rs.getLong("id"));
+            project.put("projectName", rs.getString("name"));
+            project.put("status", rs.getString("status"));
+            project.put("requiredLevel", rs.getString("required_level"));
+            return project;
+        }, name, category, name, category);
+
+        List<Map<String, Object>> holders = jdbcTemplate.query("""
+                SELECT u.id, u.first_name, u.last_name, s.level
+                FROM skills s
+                JOIN users u ON u.id = s.user_id
+                WHERE %s
+                ORDER BY CASE upper(s.level) WHEN 'EXPERT' THEN 4 WHEN 'ADVANCED' THEN 3
+                                            WHEN 'INTERMEDIATE' THEN 2 WHEN 'BEGINNER' THEN 1 ELSE 0 END DESC,
+                         u.last_name, u.first_name
+                LIMIT ?
+                """.formatted(SKILL_MATCHES), (rs, rowNum) -> {
+            Map<String, Object> holder = new LinkedHashMap<>();
+            holder.put("userId", rs.getLong("id"));
+            holder.put("name", rs.getString("first_name") + " " + rs.getString("last_name"));
+            holder.put("level", rs.getString("level"));
+            return holder;
+        }, name, category, name, category, maxHolders);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("summary", summary.get(0));
+        result.put("projects", projects);
+        result.put("holders", holders);
+        return result;
+    }
+
+    private static int clampLimit(int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be positive");
+        }
+        return Math.min(limit, MAX_RESULTS);
+    }
+
+    private RowMapper<SkillSupplyDemandDto> rowMapper() {
+        return (rs, rowNum) -> {
+            Map<String, Long> byLevel = new LinkedHashMap<>();
+            byLevel.put("BEGINNER", rs.getLong("beginner_count"));
+            byLevel.put("INTERMEDIATE", rs.getLong("intermediate_count"));
+            byLevel.put("ADVANCED", rs.getLong("advanced_count"));
+            byLevel.put("EXPERT", rs.getLong("expert_count"));
+
+            return SkillSupplyDemandDto.builder()
+                    .name(rs.getString("name"))
+                    .category(rs.getString("category"))
+                    .requiredCount(rs.getLong("required_count"))
+                    .projectCount(rs.getLong("project_count"))
+                    .availableCount(rs.getLong("available_count"))
+                    .holderCount(rs.getLong("holder_count"))
+                    .gap(rs.getLong("balance"))
+                    .availableByLevel(byLevel)
+                    .build();
+        };
+    }
+}
@@ -1,6 +1,11 @@
 package com.skillmetrics.api.service;
 
+import com.skillmetrics.api.dto.NotificationDto;
+import com.skillmetrics.api.dto.SkillRecommendationDto;
 import com.skillmetrics.api.dto.SkillTargetDto;
+import com.skillmetrics.api.event.NotificationCreatedEvent;
+import com.skillmetrics.api.event.SkillChangedEvent;
+import com.skillmetrics.api.event.SkillTargetChangedEvent;
 import com.skillmetrics.api.exception.ResourceNotFoundException;
 import com.skillmetrics.api.model.Skill;
 import com.skillmetrics.api.model.SkillTarget;
@@ -8,17 +13,25 @@ import com.skillmetrics.api.model.User;
 import com.skillmetrics.api.repository.SkillRepository;
 import com.skillmetrics.api.repository.SkillTargetRepository;
 import com.skillmetrics.api.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +43,23 @@ public class SkillTargetService {
     private final UserRepository userRepository;
     private final SkillRepository skillRepository;
     private final NotificationService notificationService;
+    private final SkillRecommendationService skillRecommendationService;
+    private final AuditHistoryWriter auditHistoryWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${app.skill-targets.expiry-sweep.chunk-size:500}")
+    private int expirySweepChunkSize;
+    
+    private final AtomicLong sweepProgress = new AtomicLong();
+    
+    @PostConstruct
+    void registerSweepMetrics() {
+        Gauge.builder("skill.targets.expiry.sweep.progress", sweepProgress, AtomicLong::get)
+                .description("Targets expired so far by the current or last sweep")
+                .register(meterRegistry);
+    }
     
     /**
      * Get all skill targets
@@ -132,6 +162,7 @@ public class SkillTargetService {
         skillTarget.setCreatedAt(LocalDateTime.now());
         
         SkillTarget savedTarget = skillTargetRepository.save(skillTarget);
+        eventPublisher.publishEvent(new SkillTargetChangedEvent(savedTarget.getId(), savedTarget.getUserId()));
         
         // Send notification to user
         String message = "New skill target created: " + savedTarget.getSkillName() + 
@@ -200,6 +231,7 @@ public class SkillTargetService {
         existingTarget.setUpdatedAt(LocalDateTime.now());
         
         SkillTarget updatedTarget = skillTargetRepository.save(existingTarget);
+        eventPublisher.publishEvent(new SkillTargetChangedEvent(updatedTarget.getId(), updatedTarget.getUserId()));
         
         // If status changed to ACHIEVED, check if there's an associated skill to update
         if (statusChangedToAchieved && updatedTarget.getSkillId() != null) {
@@ -207,9 +239,15 @@ public class SkillTargetService {
             
             if (skillOpt.isPresent()) {
                 Skill skill = skillOpt.get();
+                String previousLevel = skill.getLevel();
                 skill.setLevel(updatedTarget.getTargetLevel());
                 skill.setUpdatedAt(LocalDateTime.now());
                 skillRepository.save(skill);
+                eventPublisher.publishEvent(new SkillChangedEvent(skill.getId(), updatedTarget.getUserId()));
+                if (!Objects.equals(previousLevel, skill.getLevel())) {
+                    auditHistoryWriter.recordSkillHistory(skill.getId(), updatedTarget.getUserId(), "level_changed",
+                            previousLevel, skill.getLevel(), null);
+                }
                 
                 // Send notification about skill level update
                 String message = "Your skill " + skill.getName() + 
@@ -236,6 +274,7 @@ public class SkillTargetService {
                 .orElseThrow(() -> new ResourceNotFoundException("Skill target not found with id: " + id));
         
         skillTargetRepository.delete(target);
+        eventPublisher.publishEvent(new SkillTargetChangedEvent(id, target.getUserId()));
     }
     
     /**
@@ -254,33 +293,68 @@ public class SkillTargetService {
     }
     
     /**
-     * Update status of expired targets
-     * This is scheduled to run daily at midnight
+     * Skills worth targeting next: what people with the user's skills also hold,
+     * minus skills the user is already working towards
+     */
+    public List<SkillRecommendationDto> getSuggestedTargets(Long userId, int limit) {
+        List<String> targeted = skillTargetRepository.findByUserIdAndStatus(userId, "IN_PROGRESS").stream()
+                .map(SkillTarget::getSkillName)
+                .collect(Collectors.toList());
+        return skillRecommendationService.recommendForUser(userId, limit,
+                SkillRecommendationService.Metric.JACCARD, targeted);
+    }
+    
+    /**
+     * Mark overdue targets as expired and notify their owners.
+     * Runs in chunks that each commit on their own, so a large backlog never holds
+     * locks for long and an interrupted run simply continues on the next one.
+     * Scheduled cluster-wide by {@link ScheduledJobs}.
      */
-    @Scheduled(cron = "0 0 0 * * ?")
-    @Transactional
     public void updateExpiredTargets() {
         LocalDate currentDate = LocalDate.now();
-        List<SkillTarget> expiredTargets = skillTargetRepository.findExpiredTargets(currentDate);
-        
-        for (SkillTarget target : expiredTargets) {
-            target.setStatus("EXPIRED");
-            target.setUpdatedAt(LocalDateTime.now());
-            skillTargetRepository.save(target);
-            
-            // Send notification
-            String message = "Your skill target for " + target.getSkillName() + 
-                    " at " + target.getTargetLevel() + " level has expired.";
-            
-            notificationService.createNotification(
-                    target.getUserId(),
-                    "Skill Target Expired",
-                    message,
-                    "/skill-targets/" + target.getId()
-            );
+        Timer.Sample sample = Timer.start(meterRegistry);
+        sweepProgress.set(0);
+        
+        int total = 0;
+        int chunks = 0;
+        Integer expired;
+        do {
+            expired = transactionTemplate.execute(status -> expireChunk(currentDate));
+            if (expired == null || expired == 0) {
+                break;
+            }
+            total += expired;
+            chunks++;
+            sweepProgress.addAndGet(expired);
+            meterRegistry.counter("skill.targets.expired").increment(expired);
+        } while (expired >= expirySweepChunkSize);
+        
+        sample.stop(meterRegistry.timer("skill.targets.expiry.sweep"));
+        log.info("Updated {} expired skill targets in {} chunks", total, chunks);
+    }
+    
+    private int expireChunk(LocalDate currentDate) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> notifications = skillTargetRepository.expireTargetsAndNotify(currentDate, now, expirySweepChunkSize);
+        
+        // Live notification streams are updated when this chunk commits
+        for (Object[] row : notifications) {
+            NotificationDto notification = new NotificationDto();
+            notification.setId(((Number) row[0]).longValue());
+            notification.setUserId(((Number) row[1]).longValue());
+            notification.setType("SKILL_TARGET_EXPIRED");
+            notification.setTitle("Skill Target Expired");
+            notification.setMessage((String) row[3]);
+            notification.setEntityType("SKILL_TARGET");
+            notification.setEntityId(((Number) row[2]).longValue());
+            notification.setLink((String) row[4]);
+            notification.setIsRead(false);
+            notification.setCreatedAt(now);
+            eventPublisher.publishEvent(new NotificationCreatedEvent(notification));
+            eventPublisher.publishEvent(new SkillTargetChangedEvent(notification.getEntityId(), notification.getUserId()));
         }
         
-        log.info("Updated {} expired skill targets", expiredTargets.size());
+        return notifications.size();
     }
     
     /**
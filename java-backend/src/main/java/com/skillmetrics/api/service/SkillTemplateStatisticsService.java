@@ -0,0 +1,164 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.event.BulkSkillDataChangedEvent;
+import com.skillmetrics.api.event.SkillChangedEvent;
+import com.skillmetrics.api.event.SkillTemplateChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Usage statistics of every skill template, computed together and cached.
+ *
+ * Usage, certification and level distribution for all templates come from one query
+ * grouped by template and level over {@code skills.template_id}; the catalog overview
+ * comes from one grouped query over the templates. Both are dropped on any local skill
+ * or template write, and expire after {@code cache-ttl} to pick up changes made elsewhere
+ * (including the template backfill, which updates skills directly).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkillTemplateStatisticsService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.template-stats.cache-ttl:300000}")
+    private long cacheTtl;
+
+    // Bumped on every invalidation; a load that raced one is returned but not cached
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public TemplateStats getStats(Long templateId) {
+        return snapshot().stats().getOrDefault(templateId, TemplateStats.EMPTY);
+    }
+
+    public Map<Long, TemplateStats> getAllStats() {
+        return snapshot().stats();
+    }
+
+    public Map<String, Object> getOverallStatistics() {
+        return snapshot().overview();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTemplateChanged(SkillTemplateChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBulkSkillDataChanged(BulkSkillDataChangedEvent event) {
+        invalidate();
+    }
+
+    private synchronized void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.loadedAt() > System.currentTimeMillis() - cacheTtl) {
+            return current;
+        }
+
+        long loadedGeneration = generation.get();
+        Snapshot loaded = new Snapshot(loadStats(), loadOverview(), System.currentTimeMillis());
+        synchronized (this) {
+            if (generation.get() == loadedGeneration) {
+                snapshot = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    private Map<Long, TemplateStats> loadStats() {
+        Map<Long, long[]> totals = new HashMap<>(); // template id -> {skills, certified}
+        Map<Long, Map<String, Long>> levels = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT template_id, level, count(*) AS skills, count(certification) AS certified
+                FROM skills
+                WHERE template_id IS NOT NULL
+                GROUP BY template_id, level
+                """, rs -> {
+            long templateId = rs.getLong("template_id");
+            long[] total = totals.computeIfAbsent(templateId, id -> new long[2]);
+            total[0] += rs.getLong("skills");
+            total[1] += rs.getLong("certified");
+            levels.computeIfAbsent(templateId, id -> new TreeMap<>()).put(rs.getString("level"), rs.getLong("skills"));
+        });
+
+        Map<Long, TemplateStats> stats = new HashMap<>(totals.size() * 2);
+        totals.forEach((templateId, total) -> stats.put(templateId,
+                new TemplateStats(total[0], total[1], Collections.unmodifiableMap(levels.get(templateId)))));
+        return Collections.unmodifiableMap(stats);
+    }
+
+    private Map<String, Object> loadOverview() {
+        long[] counts = new long[3]; // total, active, certification required
+        Map<String, Long> byCategory = new TreeMap<>();
+        Map<String, Long> bySource = new TreeMap<>();
+        jdbcTemplate.query("""
+                SELECT category, coalesce(creation_source, 'UNKNOWN') AS source,
+                       coalesce(is_active, false) AS active,
+                       coalesce(is_certification_required, false) AS certification_required,
+                       count(*) AS templates
+                FROM skill_templates
+                GROUP BY 1, 2, 3, 4
+                """, rs -> {
+            long templates = rs.getLong("templates");
+            counts[0] += templates;
+            if (rs.getBoolean("active")) {
+                counts[1] += templates;
+            }
+            if (rs.getBoolean("certification_required")) {
+                counts[2] += templates;
+            }
+            byCategory.merge(rs.getString("category"), templates, Long::sum);
+            bySource.merge(rs.getString("source"), templates, Long::sum);
+        });
+
+        Map<String, Object> overview = new LinkedHashMap<>();
+        overview.put("totalTemplates", counts[0]);
+        overview.put("activeTemplates", counts[1]);
+        overview.put("templatesByCategory", byCategory);
+        overview.put("templatesBySource", bySource);
+        overview.put("requiresCertification", counts[2]);
+        return Collections.unmodifiableMap(overview);
+    }
+
+    /**
+     * Skills linked to one template: how many, how many with a certification, and per level
+     */
+    public record TemplateStats(long usageCount, long certifiedCount, Map<String, Long> levelDistribution) {
+
+        public static final TemplateStats EMPTY = new TemplateStats(0, 0, Map.of());
+
+        /**
+         * Share of linked skills with a certification, as a percentage
+         */
+        public double certificationRate() {
+            return usageCount > 0 ? (double) certifiedCount / usageCount * 100 : 0;
+        }
+    }
+
+    private record Snapshot(Map<Long, TemplateStats> stats, Map<String, Object> overview, long loadedAt) {
+    }
+}
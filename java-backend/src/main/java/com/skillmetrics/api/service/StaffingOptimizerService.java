@@ -0,0 +1,512 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.dto.StaffingPlanDto;
+import com.skillmetrics.api.dto.StaffingRequest;
+import com.skillmetrics.api.exception.BadRequestException;
+import com.skillmetrics.api.exception.ResourceNotFoundException;
+import com.skillmetrics.api.model.Project;
+import com.skillmetrics.api.model.User;
+import com.skillmetrics.api.model.enums.SkillLevel;
+import com.skillmetrics.api.repository.ProjectRepository;
+import com.skillmetrics.api.repository.ProjectResourceRepository;
+import com.skillmetrics.api.repository.ProjectSkillRepository;
+import com.skillmetrics.api.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Team composition proposals: the smallest set of available people covering every open
+ * skill requirement of a project.
+ *
+ * Requirements are bit positions and each candidate carries a bitset of the requirements
+ * they meet at the required level, taken from {@link SkillPostingsIndex}. Candidates must
+ * have the requested capacity free throughout the window according to {@link AllocationEngine}.
+ * Teams are built by greedy set cover from several starting people, then improved by local
+ * search (dropping redundant members, replacing two members by one, swapping in lighter-loaded
+ * people) until nothing improves or the time budget runs out. The plain greedy team is always
+ * built, so there is an answer even when the budget is exhausted.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StaffingOptimizerService {
+
+    private static final int DEFAULT_WINDOW_DAYS = 90;
+
+    // Greedy starts tried per requested proposal, budget permitting
+    private static final int STARTS_PER_PROPOSAL = 5;
+
+    private static final Comparator<Team> BEST_FIRST = Comparator.comparingInt(Team::covered).reversed()
+            .thenComparingInt(team -> team.members().length)
+            .thenComparingInt(Team::load);
+
+    private final ProjectRepository projectRepository;
+    private final ProjectSkillRepository projectSkillRepository;
+    private final ProjectResourceRepository resourceRepository;
+    private final UserRepository userRepository;
+    private final SkillPostingsIndex skillPostingsIndex;
+    private final AllocationEngine allocationEngine;
+
+    @Value("${app.staffing.time-budget-ms:250}")
+    private long defaultTimeBudgetMs;
+
+    @Transactional(readOnly = true)
+    public StaffingPlanDto propose(Long projectId, StaffingRequest request) {
+        long started = System.nanoTime();
+        StaffingRequest options = request != null ? request : StaffingRequest.builder().build();
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
+
+        LocalDate today = LocalDate.now();
+        LocalDate startDate = options.getStartDate() != null ? options.getStartDate()
+                : project.getStartDate() != null && project.getStartDate().isAfter(today) ? project.getStartDate()
+                : today;
+        LocalDate endDate = options.getEndDate() != null ? options.getEndDate()
+                : project.getEndDate() != null && !project.getEndDate().isBefore(startDate) ? project.getEndDate()
+                : startDate.plusDays(DEFAULT_WINDOW_DAYS);
+        if (endDate.isBefore(startDate)) {
+            throw new BadRequestException("End date must not be before start date");
+        }
+        int allocation = options.getAllocation() != null ? options.getAllocation() : 50;
+        int maxTeamSize = options.getMaxTeamSize() != null ? options.getMaxTeamSize() : 10;
+        int proposalCount = options.getProposals() != null ? options.getProposals() : 3;
+        boolean includeCurrentTeam = !Boolean.FALSE.equals(options.getIncludeCurrentTeam());
+        long budgetMs = options.getTimeBudgetMs() != null ? options.getTimeBudgetMs() : defaultTimeBudgetMs;
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+
+        // One requirement per skill name, at the highest level asked for
+        Map<String, Requirement> byName = new LinkedHashMap<>();
+        for (Object[] row : projectSkillRepository.findRequirementRows(List.of(projectId))) {
+            String name = (String) row[1];
+            Requirement requirement = new Requirement(name, Math.max(1, SkillPostingsIndex.levelRank((String) row[3])));
+            byName.merge(SkillPostingsIndex.normalize(name), requirement, (a, b) -> a.rank() >= b.rank() ? a : b);
+        }
+        if (byName.isEmpty()) {
+            throw new BadRequestException("Project has no skill requirements: " + projectId);
+        }
+        List<Requirement> requirements = List.copyOf(byName.values());
+        int words = (requirements.size() + 63) >>> 6;
+
+        Set<Long> currentMembers = new HashSet<>();
+        resourceRepository.findMemberRows(List.of(projectId)).forEach(row -> currentMembers.add((Long) row[1]));
+        Set<Long> inactive = new HashSet<>(userRepository.findInactiveUserIds());
+
+        long[] open = new long[words];
+        List<String> coveredByCurrentTeam = new ArrayList<>();
+        Map<Long, int[]> ranksByUser = new HashMap<>();
+        for (int r = 0; r < requirements.size(); r++) {
+            Requirement requirement = requirements.get(r);
+            Map<Long, Integer> holders = skillPostingsIndex.findHolders(requirement.name(), requirement.rank());
+            if (includeCurrentTeam && currentMembers.stream().anyMatch(holders::containsKey)) {
+                coveredByCurrentTeam.add(requirement.name());
+                continue;
+            }
+            set(open, r);
+            int bit = r;
+            holders.forEach((userId, rank) -> {
+                if (!currentMembers.contains(userId) && !inactive.contains(userId)) {
+                    ranksByUser.computeIfAbsent(userId, id -> new int[requirements.size()])[bit] = rank;
+                }
+            });
+        }
+
+        // Capacity constraint: the new allocation must fit under the peak throughout the window
+        Pool pool = new Pool(ranksByUser.size());
+        ranksByUser.keySet().stream().sorted().forEach(userId -> {
+            int peak = allocationEngine.summarize(userId, startDate, endDate).peakAllocation();
+            if (peak + allocation <= AllocationEngine.FULL_ALLOCATION) {
+                int[] ranks = ranksByUser.get(userId);
+                long[] mask = new long[words];
+                for (int r = 0; r < ranks.length; r++) {
+                    if (ranks[r] > 0) {
+                        set(mask, r);
+                    }
+                }
+                pool.add(userId, mask, ranks, peak);
+            }
+        });
+
+        long[] coverable = new long[words];
+        for (int c = 0; c < pool.size; c++) {
+            or(coverable, pool.masks[c]);
+        }
+        long[] target = open.clone();
+        for (int w = 0; w < words; w++) {
+            target[w] &= coverable[w];
+        }
+
+        List<Team> teams = new ArrayList<>();
+        boolean complete = true;
+        if (!isEmpty(target)) {
+            Search search = new Search(pool, target, maxTeamSize, deadline);
+            Map<List<Integer>, Team> distinct = new LinkedHashMap<>();
+            Team greedy = search.improve(search.greedy(-1));
+            distinct.put(Arrays.stream(greedy.members()).boxed().toList(), greedy);
+
+            int[] starts = search.startOrder();
+            int tries = Math.min(starts.length, proposalCount * STARTS_PER_PROPOSAL);
+            for (int i = 0; i < tries; i++) {
+                if (System.nanoTime() > deadline) {
+                    complete = false;
+                    break;
+                }
+                Team team = search.improve(search.greedy(starts[i]));
+                distinct.putIfAbsent(Arrays.stream(team.members()).boxed().toList(), team);
+            }
+            complete &= !search.timedOut;
+
+            teams = distinct.values().stream().sorted(BEST_FIRST).limit(proposalCount).toList();
+        }
+
+        Set<Long> proposedIds = new HashSet<>();
+        teams.forEach(team -> Arrays.stream(team.members()).forEach(c -> proposedIds.add(pool.userIds[c])));
+        Map<Long, User> users = userRepository.findAllById(proposedIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<StaffingPlanDto.Proposal> proposals = new ArrayList<>(teams.size());
+        for (Team team : teams) {
+            proposals.add(toProposal(proposals.size() + 1, team, pool, open, requirements,
+                    coveredByCurrentTeam.size(), allocation, users));
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.debug("Staffing search for project {} over {} candidates took {} ms", projectId, pool.size, elapsedMs);
+
+        return StaffingPlanDto.builder()
+                .projectId(project.getId())
+                .projectName(project.getName())
+                .startDate(startDate)
+                .endDate(endDate)
+                .allocation(allocation)
+                .requiredSkillCount(requirements.size())
+                .coveredByCurrentTeam(coveredByCurrentTeam)
+                .uncoverable(names(requirements, open, coverable, false))
+                .candidatePoolSize(pool.size)
+                .searchComplete(complete)
+                .elapsedMs(elapsedMs)
+                .proposals(proposals)
+                .build();
+    }
+
+    private StaffingPlanDto.Proposal toProposal(int rank, Team team, Pool pool, long[] open,
+                                                List<Requirement> requirements, int alreadyCovered,
+                                                int allocation, Map<Long, User> users) {
+        SkillLevel[] levels = SkillLevel.values();
+        long[] covered = new long[open.length];
+        List<StaffingPlanDto.Member> members = new ArrayList<>(team.members().length);
+        for (int c : team.members()) {
+            or(covered, pool.masks[c]);
+
+            Map<String, String> contributed = new LinkedHashMap<>();
+            for (int r = 0; r < requirements.size(); r++) {
+                if (isSet(open, r) && isSet(pool.masks[c], r)) {
+                    contributed.put(requirements.get(r).name(), levels[pool.ranks[c][r] - 1].name());
+                }
+            }
+            User user = users.get(pool.userIds[c]);
+            members.add(new StaffingPlanDto.Member(pool.userIds[c],
+                    user != null ? user.getFirstName() + " " + user.getLastName() : null,
+                    user != null ? user.getJobTitle() : null,
+                    pool.loads[c], pool.loads[c] + allocation, contributed));
+        }
+
+        int size = team.members().length;
+        return new StaffingPlanDto.Proposal(rank, size,
+                (alreadyCovered + team.covered()) / (double) requirements.size(),
+                names(requirements, open, covered, false),
+                size * allocation,
+                size == 0 ? 0 : (team.load() + size * allocation) / (double) size,
+                members);
+    }
+
+    /**
+     * Names of the open requirements that are (or with {@code present} false, are not) in the set
+     */
+    private static List<String> names(List<Requirement> requirements, long[] open, long[] set, boolean present) {
+        return IntStream.range(0, requirements.size())
+                .filter(r -> isSet(open, r) && isSet(set, r) == present)
+                .mapToObj(r -> requirements.get(r).name())
+                .toList();
+    }
+
+    private static void set(long[] bits, int bit) {
+        bits[bit >>> 6] |= 1L << bit;
+    }
+
+    private static boolean isSet(long[] bits, int bit) {
+        return (bits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private static void or(long[] into, long[] bits) {
+        for (int w = 0; w < into.length; w++) {
+            into[w] |= bits[w];
+        }
+    }
+
+    private static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int overlap(long[] a, long[] b) {
+        int count = 0;
+        for (int w = 0; w < a.length; w++) {
+            count += Long.bitCount(a[w] & b[w]);
+        }
+        return count;
+    }
+
+    private static boolean containsAll(long[] bits, long[] required) {
+        for (int w = 0; w < bits.length; w++) {
+            if ((required[w] & ~bits[w]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Requirement(String name, int rank) {
+    }
+
+    /**
+     * A team as sorted candidate indices, with the open requirements it covers and its total current load
+     */
+    private record Team(int[] members, int covered, int load) {
+    }
+
+    /**
+     * Available candidates in parallel arrays: user id, requirement bitset, best rank per
+     * requirement and current peak allocation over the window
+     */
+    private static final class Pool {
+
+        private final long[] userIds;
+        private final long[][] masks;
+        private final int[][] ranks;
+        private final int[] loads;
+        private int size;
+
+        Pool(int capacity) {
+            userIds = new long[capacity];
+            masks = new long[capacity][];
+            ranks = new int[capacity][];
+            loads = new int[capacity];
+        }
+
+        void add(long userId, long[] mask, int[] userRanks, int load) {
+            userIds[size] = userId;
+            masks[size] = mask;
+            ranks[size] = userRanks;
+            loads[size] = load;
+            size++;
+        }
+    }
+
+    /**
+     * Greedy construction and local search over one pool. Not thread-safe.
+     */
+    private static final class Search {
+
+        private final Pool pool;
+        private final long[] target;
+        private final int maxTeamSize;
+        private final long deadline;
+        private boolean timedOut;
+
+        Search(Pool pool, long[] target, int maxTeamSize, long deadline) {
+            this.pool = pool;
+            this.target = target;
+            this.maxTeamSize = maxTeamSize;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Candidates by how much of the target they cover alone, lightest first among equals
+         */
+        int[] startOrder() {
+            int[] gains = new int[pool.size];
+            for (int c = 0; c < pool.size; c++) {
+                gains[c] = overlap(pool.masks[c], target);
+            }
+            return IntStream.range(0, pool.size)
+                    .filter(c -> gains[c] > 0)
+                    .boxed()
+                    .sorted(Comparator.<Integer>comparingInt(c -> gains[c]).reversed()
+                            .thenComparingInt(c -> pool.loads[c])
+                            .thenComparingInt(c -> c))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        /**
+         * Greedy set cover, optionally starting from a given candidate: repeatedly add whoever
+         * covers most of what is still uncovered, preferring the lighter-loaded on ties
+         */
+        List<Integer> greedy(int start) {
+            List<Integer> team = new ArrayList<>();
+            long[] uncovered = target.clone();
+            if (start >= 0) {
+                team.add(start);
+                andNot(uncovered, pool.masks[start]);
+            }
+            while (!isEmpty(uncovered) && team.size() < maxTeamSize) {
+                int best = -1;
+                int bestGain = 0;
+                for (int c = 0; c < pool.size; c++) {
+                    // Members already in the team have nothing uncovered left to add
+                    int gain = overlap(pool.masks[c], uncovered);
+                    if (gain > bestGain || (gain > 0 && gain == bestGain && pool.loads[c] < pool.loads[best])) {
+                        best = c;
+                        bestGain = gain;
+                    }
+                }
+                if (best < 0) {
+                    break;
+                }
+                team.add(best);
+                andNot(uncovered, pool.masks[best]);
+            }
+            return team;
+        }
+
+        /**
+         * Apply improving moves until none applies. Every move shrinks the team or lowers
+         * its total load without losing coverage, so this terminates.
+         */
+        Team improve(List<Integer> team) {
+            while (true) {
+                if (System.nanoTime() > deadline) {
+                    timedOut = true;
+                    break;
+                }
+                if (!dropRedundant(team) && !mergePair(team) && !swapLighter(team)) {
+                    break;
+                }
+            }
+
+            int[] members = team.stream().mapToInt(Integer::intValue).sorted().toArray();
+            long[] covered = new long[target.length];
+            int load = 0;
+            for (int c : members) {
+                or(covered, pool.masks[c]);
+                load += pool.loads[c];
+            }
+            return new Team(members, overlap(covered, target), load);
+        }
+
+        /**
+         * Remove a member covering nothing the others do not, trying the most loaded first
+         */
+        private boolean dropRedundant(List<Integer> team) {
+            List<Integer> byLoad = new ArrayList<>(team);
+            byLoad.sort(Comparator.comparingInt((Integer c) -> pool.loads[c]).reversed());
+            for (Integer member : byLoad) {
+                int position = team.indexOf(member);
+                if (isEmpty(needed(team, position, -1))) {
+                    team.remove(position);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Replace two members by one outsider covering everything only they provided
+         */
+        private boolean mergePair(List<Integer> team) {
+            for (int a = 0; a < team.size(); a++) {
+                for (int b = a + 1; b < team.size(); b++) {
+                    int replacement = lightestCovering(needed(team, a, b), team, -1);
+                    if (replacement >= 0) {
+                        team.remove(b);
+                        team.set(a, replacement);
+                        return true;
+                    }
+                }
+                if (System.nanoTime() > deadline) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Replace a member by a lighter-loaded outsider covering everything only they provided
+         */
+        private boolean swapLighter(List<Integer> team) {
+            for (int a = 0; a < team.size(); a++) {
+                int replacement = lightestCovering(needed(team, a, -1), team, pool.loads[team.get(a)]);
+                if (replacement >= 0) {
+                    team.set(a, replacement);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Target bits provided by the members at positions {@code a} and {@code b} (-1 for none)
+         * and by no other member
+         */
+        private long[] needed(List<Integer> team, int a, int b) {
+            long[] others = new long[target.length];
+            for (int i = 0; i < team.size(); i++) {
+                if (i != a && i != b) {
+                    or(others, pool.masks[team.get(i)]);
+                }
+            }
+            long[] needed = new long[target.length];
+            for (int w = 0; w < target.length; w++) {
+                long provided = pool.masks[team.get(a)][w] | (b >= 0 ? pool.masks[team.get(b)][w] : 0);
+                needed[w] = target[w] & provided & ~others[w];
+            }
+            return needed;
+        }
+
+        /**
+         * Lightest-loaded candidate outside the team covering all needed bits, loaded below
+         * {@code maxLoad} unless it is negative; -1 if there is none
+         */
+        private int lightestCovering(long[] needed, List<Integer> team, int maxLoad) {
+            int best = -1;
+            for (int c = 0; c < pool.size; c++) {
+                if ((maxLoad >= 0 && pool.loads[c] >= maxLoad)
+                        || (best >= 0 && pool.loads[c] >= pool.loads[best])
+                        || !containsAll(pool.masks[c], needed)
+                        || team.contains(c)) {
+                    continue;
+                }
+                best = c;
+            }
+            return best;
+        }
+
+        private static void andNot(long[] bits, long[] removed) {
+            for (int w = 0; w < bits.length; w++) {
+                bits[w] &= ~removed[w];
+            }
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.skillmetrics.api.service;
+
+import com.skillmetrics.api.exception.BadRequestException;
+import com.skillmetrics.api.exception.ResourceNotFoundException;
+import com.skillmetrics.api.model.RevokedToken;
+import com.skillmetrics.api.model.TokenRevocationCutoff;
+import com.skillmetrics.api.model.User;
+import com.skillmetrics.api.repository.RevokedTokenRepository;
+import com.skillmetrics.api.repository.TokenRevocationCutoffRepository;
+import com.skillmetrics.api.repository.UserRepository;
+import com.skillmetrics.api.security.JwtTokenProvider;
+import com.skillmetrics.api.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Rejects JWTs that were revoked before they expired.
+ *
+ * Revocations are persisted and mirrored in memory: a Bloom filter in front of an
+ * exact set of revoked token ids, plus a per-subject "issued before" cutoff used for
+ * forced sign-out. {@link #isRevoked(Claims)} therefore never touches the database.
+ * Each instance polls for revocations made elsewhere every {@code refresh-interval}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationCutoffRepository cutoffRepository;
+    private final UserRepository userRepository;
+    private final JwtTokenProvider tokenProvider;
+    private final JwtUtil jwtUtil;
+
+    @Value("${jwt.refresh-expiration}")
+    private long maxTokenLifetime;
+
+    @Value("${app.security.revocation.expected-revocations:100000}")
+    private int expectedRevocations;
+
+    @Value("${app.security.revocation.refresh-lookback:60000}")
+    private long refreshLookback;
+
+    private volatile RevocationState state = RevocationState.empty(1024);
+    private volatile LocalDateTime lastRefresh = LocalDateTime.now();
+
+    @PostConstruct
+    void init() {
+        rebuild();
+    }
+
+    /**
+     * Whether a verified token has been revoked, either individually or by a
+     * forced sign-out of its subject
+     */
+    public boolean isRevoked(Claims claims) {
+        RevocationState current = state;
+
+        String subject = claims.getSubject();
+        if (subject != null) {
+            Long cutoff = current.cutoffs().get(subject.toLowerCase(Locale.ROOT));
+            if (cutoff != null) {
+                Long issuedAt = issuedAtMillis(claims);
+                if (issuedAt == null || issuedAt < cutoff) {
+                    return true;
+                }
+            }
+        }
+
+        String jti = claims.getId();
+        return jti != null && current.bloom().mightContain(jti) && current.revokedIds().containsKey(jti);
+    }
+
+    /**
+     * Revoke a single token, e.g. on logout
+     */
+    @Transactional
+    public void revokeToken(String token, Long revokedBy, String reason) {
+        // Access tokens come from the login provider, refresh tokens from JwtUtil
+        Claims claims = tokenProvider.parseValidClaims(token);
+        if (claims == null) {
+            claims = jwtUtil.parseValidClaims(token);
+        }
+        if (claims == null) {
+            throw new BadRequestException("Invalid or expired token");
+        }
+        if (claims.getId() == null) {
+            // Tokens issued before jti was added cannot be revoked individually
+            throw new BadRequestException("Token cannot be revoked individually");
+        }
+        if (revokedTokenRepository.existsByJti(claims.getId())) {
+            return;
+        }
+
+        RevokedToken revoked = revokedTokenRepository.save(RevokedToken.builder()
+                .jti(claims.getId())
+                .subject(claims.getSubject())
+                .expiresAt(LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()))
+                .revokedAt(LocalDateTime.now())
+                .revokedBy(revokedBy)
+                .reason(reason)
+                .build());
+
+        apply(state, revoked);
+    }
+
+    /**
+     * Sign a user out everywhere by rejecting every token issued to them so far
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId, Long revokedBy, String reason) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + userId));
+
+        TokenRevocationCutoff cutoff = cutoffRepository.save(TokenRevocationCutoff.builder()
+                .userId(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .issuedBefore(LocalDateTime.now())
+                .revokedBy(revokedBy)
+                .reason(reason)
+                .build());
+
+        apply(state, cutoff);
+        log.info("Revoked all tokens of user {} ({})", userId, reason);
+    }
+
+    /**
+     * Pick up revocations made on other instances. Re-reading a short lookback window
+     * covers clock skew and transactions that committed after the previous poll.
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.refresh-interval:5000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastRefresh.minus(Duration.ofMillis(refreshLookback));
+        RevocationState current = state;
+
+        revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(since, now)
+                .forEach(token -> apply(current, token));
+        cutoffRepository.findByIssuedBeforeAfter(since)
+                .forEach(cutoff -> apply(current, cutoff));
+
+        lastRefresh = now;
+    }
+
+    /**
+     * Delete rows that can no longer match any live token.
+     * Scheduled cluster-wide by {@link ScheduledJobs}.
+     */
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int tokens = revokedTokenRepository.deleteExpired(now);
+        int cutoffs = cutoffRepository.deleteOlderThan(now.minus(Duration.ofMillis(maxTokenLifetime)));
+        if (tokens > 0 || cutoffs > 0) {
+            log.info("Removed {} expired token revocations and {} stale sign-out cutoffs", tokens, cutoffs);
+        }
+    }
+
+    /**
+     * Rebuild this instance's in-memory state from scratch so expired entries stop
+     * occupying the Bloom filter
+     */
+    @Scheduled(cron = "${app.security.revocation.rebuild-cron:0 20 * * * ?}")
+    public void rebuildCache() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> tokens = revokedTokenRepository.findByExpiresAtAfter(now);
+        List<TokenRevocationCutoff> cutoffs =
+                cutoffRepository.findByIssuedBeforeAfter(now.minus(Duration.ofMillis(maxTokenLifetime)));
+
+        RevocationState rebuilt = RevocationState.empty(Math.max(expectedRevocations, tokens.size() * 2));
+        tokens.forEach(token -> apply(rebuilt, token));
+        cutoffs.forEach(cutoff -> apply(rebuilt, cutoff));
+
+        state = rebuilt;
+        lastRefresh = now;
+        log.debug("Loaded {} revoked tokens and {} sign-out cutoffs", tokens.size(), cutoffs.size());
+    }
+
+    private void apply(RevocationState target, RevokedToken token) {
+        target.revokedIds().put(token.getJti(), token.getExpiresAt());
+        target.bloom().add(token.getJti());
+    }
+
+    private void apply(RevocationState target, TokenRevocationCutoff cutoff) {
+        long issuedBefore = cutoff.getIssuedBefore().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        target.cutoffs().merge(cutoff.getUsername().toLowerCase(Locale.ROOT), issuedBefore, Math::max);
+        if (cutoff.getEmail() != null) {
+            target.cutoffs().merge(cutoff.getEmail().toLowerCase(Locale.ROOT), issuedBefore, Math::max);
+        }
+    }
+
+    /**
+     * Issue time in milliseconds, falling back to the whole-second {@code iat} of tokens
+     * issued before the millisecond claim was added
+     */
+    private static Long issuedAtMillis(Claims claims) {
+        Number millis = claims.get(JwtUtil.ISSUED_AT_MILLIS_CLAIM, Number.class);
+        if (millis != null) {
+            return millis.longValue();
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null ? issuedAt.getTime() : null;
+    }
+
+    private record RevocationState(BloomFilter bloom,
+                                   Map<String, LocalDateTime> revokedIds,
+                                   Map<String, Long> cutoffs) {
+
+        static RevocationState empty(int expectedInsertions) {
+            return new RevocationState(new BloomFilter(expectedInsertions, 0.01),
+                    new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Lock-free Bloom filter over token ids. A miss proves the token was never revoked,
+     * which is the answer for almost every request; hits are confirmed against the exact set.
+     */
+    private static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        private BloomFilter(int expectedInsertions, double falsePositiveRate) {
+            long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) ((m + 63) / 64));
+            this.bitCount = bits.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) m / expectedInsertions * Math.log(2)));
+        }
+
+        void add(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long word;
+                do {
+                    word = bits.get(index);
+                } while ((word & mask) == 0 && !bits.compareAndSet(index, word, word | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 64-bit FNV-1a, split into two 32-bit hashes for double hashing
+         */
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
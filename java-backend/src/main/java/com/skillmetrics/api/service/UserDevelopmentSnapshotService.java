@@ -0,0 +1,381 @@
+package com.skillmetrics.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillmetrics.api.event.EndorsementChangedEvent;
+import com.skillmetrics.api.event.SkillChangedEvent;
+import com.skillmetrics.api.event.SkillTargetChangedEvent;
+import com.skillmetrics.api.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Per-user development analytics, precomputed into {@code user_development_snapshots}.
+ *
+ * Users whose skills, targets or endorsements change are marked dirty after commit and
+ * recomputed in small batches shortly afterwards; a profile view of a dirty user on this
+ * instance recomputes it on the spot. The level change count comes from
+ * {@code skill_history}, which {@link AuditHistoryDrainer} writes later, so the drainer
+ * marks users dirty again once their level changes land. Every snapshot is also rebuilt nightly by a fork-join
+ * task that splits the user id space into ranges, each computed with a handful of grouped
+ * queries. A snapshot is only replaced by one computed later, so a slow nightly partition
+ * never overwrites a fresher incremental update.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserDevelopmentSnapshotService {
+
+    private static final int GROWTH_MONTHS = 12;
+
+    private static final String UPSERT_PREFIX = """
+            INSERT INTO user_development_snapshots (user_id, payload, computed_at)
+            VALUES
+            """;
+
+    private static final String REPLACE_IF_NEWER = """
+             ON CONFLICT (user_id) DO UPDATE SET
+                payload = EXCLUDED.payload,
+                computed_at = EXCLUDED.computed_at
+            WHERE user_development_snapshots.computed_at <= EXCLUDED.computed_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.user-development.rebuild-partition-size:500}")
+    private int partitionSize;
+
+    @Value("${app.user-development.rebuild-parallelism:4}")
+    private int parallelism;
+
+    private final Set<Long> dirtyUsers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The user's development analytics from their snapshot, computing it first if it is
+     * missing or known to be out of date
+     */
+    public Map<String, Object> getAnalytics(Long userId) {
+        if (!dirtyUsers.remove(userId)) {
+            List<Map<String, Object>> stored = jdbcTemplate.query(
+                    "SELECT payload, computed_at FROM user_development_snapshots WHERE user_id = ?",
+                    (rs, rowNum) -> toAnalytics(rs.getString("payload"), rs.getTimestamp("computed_at").toLocalDateTime()),
+                    userId);
+            if (!stored.isEmpty()) {
+                return stored.get(0);
+            }
+        }
+
+        Map<Long, Map<String, Object>> computed = compute(UserFilter.of(List.of(userId)), LocalDateTime.now());
+        Map<String, Object> analytics = computed.get(userId);
+        if (analytics == null) {
+            throw new ResourceNotFoundException("User not found with id " + userId);
+        }
+        return analytics;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        markDirty(event.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSkillTargetChanged(SkillTargetChangedEvent event) {
+        markDirty(event.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEndorsementChanged(EndorsementChangedEvent event) {
+        markDirty(event.getSkillOwnerId());
+    }
+
+    /**
+     * Called by the drainer after committing {@code level_changed} history rows of these users
+     */
+    public void onLevelHistoryDrained(Collection<Long> userIds) {
+        if (userIds != null) {
+            userIds.forEach(this::markDirty);
+        }
+    }
+
+    /**
+     * Recompute the snapshots of users changed since the last run
+     */
+    @Scheduled(fixedDelayString = "${app.user-development.flush-interval:2000}")
+    public void refreshDirty() {
+        if (dirtyUsers.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = new ArrayList<>(dirtyUsers);
+        userIds.forEach(dirtyUsers::remove);
+
+        for (int from = 0; from < userIds.size(); from += partitionSize) {
+            List<Long> chunk = userIds.subList(from, Math.min(userIds.size(), from + partitionSize));
+            try {
+                compute(UserFilter.of(chunk), LocalDateTime.now());
+            } catch (RuntimeException e) {
+                log.error("Could not refresh development snapshots of {} users", chunk.size(), e);
+                dirtyUsers.addAll(chunk);
+                return;
+            }
+        }
+        log.debug("Refreshed development snapshots of {} users", userIds.size());
+    }
+
+    /**
+     * Recompute every user's snapshot in parallel, one user id range per task.
+     * Scheduled cluster-wide by {@link ScheduledJobs}.
+     */
+    public void rebuildAll() {
+        Long[] bounds = jdbcTemplate.queryForObject("SELECT min(id), max(id) FROM users",
+                (rs, rowNum) -> new Long[]{rs.getObject(1, Long.class), rs.getObject(2, Long.class)});
+        if (bounds == null || bounds[0] == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        LocalDateTime computedAt = LocalDateTime.now();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        int rebuilt;
+        try {
+            rebuilt = pool.invoke(new RebuildTask(bounds[0], bounds[1], computedAt));
+        } finally {
+            pool.shutdown();
+        }
+
+        int purged = jdbcTemplate.update("""
+                DELETE FROM user_development_snapshots s
+                WHERE NOT EXISTS (SELECT 1 FROM users u WHERE u.id = s.user_id)
+                """);
+        log.info("Rebuilt {} development snapshots in {} ms, purged {}",
+                rebuilt, (System.nanoTime() - start) / 1_000_000, purged);
+    }
+
+    private void markDirty(Long userId) {
+        if (userId != null) {
+            dirtyUsers.add(userId);
+        }
+    }
+
+    /**
+     * Compute and store the snapshots of every existing user matching the filter
+     */
+    private Map<Long, Map<String, Object>> compute(UserFilter filter, LocalDateTime computedAt) {
+        Map<Long, Accumulator> users = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id FROM users WHERE " + filter.on("id") + " ORDER BY id",
+                rs -> {
+                    users.put(rs.getLong("id"), new Accumulator());
+                }, filter.args());
+        if (users.isEmpty()) {
+            return Map.of();
+        }
+
+        jdbcTemplate.query("""
+                SELECT user_id, category, level, count(*) AS skills
+                FROM skills
+                WHERE %s
+                GROUP BY user_id, category, level
+                """.formatted(filter.on("user_id")), rs -> {
+            Accumulator user = users.get(rs.getLong("user_id"));
+            if (user != null) {
+                long skills = rs.getLong("skills");
+                user.totalSkills += skills;
+                user.byCategory.merge(rs.getString("category"), skills, Long::sum);
+                user.byLevel.merge(rs.getString("level"), skills, Long::sum);
+            }
+        }, filter.args());
+
+        jdbcTemplate.query("""
+                SELECT user_id, to_char(created_at, 'YYYY-MM') AS month, count(*) AS skills
+                FROM skills
+                WHERE %s AND created_at >= ?
+                GROUP BY 1, 2
+                ORDER BY 2
+                """.formatted(filter.on("user_id")), rs -> {
+            Accumulator user = users.get(rs.getLong("user_id"));
+            if (user != null) {
+                user.creationByMonth.put(rs.getString("month"), rs.getLong("skills"));
+            }
+        }, filter.argsAnd(Timestamp.valueOf(computedAt.minusMonths(GROWTH_MONTHS))));
+
+        jdbcTemplate.query("""
+                SELECT user_id, count(*) AS changes
+                FROM skill_history
+                WHERE %s AND action = 'level_changed'
+                GROUP BY user_id
+                """.formatted(filter.on("user_id")), rs -> {
+            Accumulator user = users.get(rs.getLong("user_id"));
+            if (user != null) {
+                user.levelChanges = rs.getLong("changes");
+            }
+        }, filter.args());
+
+        jdbcTemplate.query("""
+                SELECT user_id, status, count(*) AS targets
+                FROM skill_targets
+                WHERE %s
+                GROUP BY user_id, status
+                """.formatted(filter.on("user_id")), rs -> {
+            Accumulator user = users.get(rs.getLong("user_id"));
+            if (user != null) {
+                user.targetsByStatus.put(rs.getString("status"), rs.getLong("targets"));
+            }
+        }, filter.args());
+
+        jdbcTemplate.query("""
+                SELECT s.user_id, count(*) AS endorsements
+                FROM endorsements e
+                JOIN skills s ON s.id = e.skill_id
+                WHERE %s
+                GROUP BY s.user_id
+                """.formatted(filter.on("s.user_id")), rs -> {
+            Accumulator user = users.get(rs.getLong("user_id"));
+            if (user != null) {
+                user.endorsements = rs.getLong("endorsements");
+            }
+        }, filter.args());
+
+        Map<Long, Map<String, Object>> snapshots = new LinkedHashMap<>();
+        users.forEach((userId, user) -> snapshots.put(userId, user.toAnalytics(userId)));
+        store(snapshots, computedAt);
+
+        Map<Long, Map<String, Object>> result = new LinkedHashMap<>();
+        snapshots.forEach((userId, analytics) -> {
+            Map<String, Object> withTimestamp = new LinkedHashMap<>(analytics);
+            withTimestamp.put("computedAt", computedAt);
+            result.put(userId, withTimestamp);
+        });
+        return result;
+    }
+
+    private void store(Map<Long, Map<String, Object>> snapshots, LocalDateTime computedAt) {
+        Timestamp timestamp = Timestamp.valueOf(computedAt);
+        MultiRowInsert.update(jdbcTemplate, UPSERT_PREFIX, REPLACE_IF_NEWER, List.copyOf(snapshots.entrySet()),
+                entry -> new Object[] {entry.getKey(), toJson(entry.getValue()), timestamp});
+    }
+
+    private String toJson(Map<String, Object> analytics) {
+        try {
+            return objectMapper.writeValueAsString(analytics);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize development analytics", e);
+        }
+    }
+
+    private Map<String, Object> toAnalytics(String payload, LocalDateTime computedAt) {
+        try {
+            Map<String, Object> analytics = objectMapper.readValue(payload, new TypeReference<LinkedHashMap<String, Object>>() {
+            });
+            analytics.put("computedAt", computedAt);
+            return analytics;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable development snapshot", e);
+        }
+    }
+
+    /**
+     * Splits an inclusive user id range until it fits in one partition
+     */
+    private class RebuildTask extends RecursiveTask<Integer> {
+
+        private final long fromId;
+        private final long toId;
+        private final LocalDateTime computedAt;
+
+        RebuildTask(long fromId, long toId, LocalDateTime computedAt) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.computedAt = computedAt;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (toId - fromId < partitionSize) {
+                try {
+                    return UserDevelopmentSnapshotService.this
+                            .compute(UserFilter.between(fromId, toId), computedAt).size();
+                } catch (RuntimeException e) {
+                    log.error("Could not rebuild development snapshots of users {} to {}", fromId, toId, e);
+                    return 0;
+                }
+            }
+
+            long middle = fromId + (toId - fromId) / 2;
+            RebuildTask lower = new RebuildTask(fromId, middle, computedAt);
+            RebuildTask upper = new RebuildTask(middle + 1, toId, computedAt);
+            lower.fork();
+            int rebuilt = upper.compute();
+            return rebuilt + lower.join();
+        }
+    }
+
+    /**
+     * A predicate on a user id column, either an id range or an explicit list
+     */
+    private record UserFilter(String clause, Object[] args) {
+
+        static UserFilter between(long fromId, long toId) {
+            return new UserFilter("%s BETWEEN ? AND ?", new Object[]{fromId, toId});
+        }
+
+        static UserFilter of(List<Long> userIds) {
+            return new UserFilter("%s IN (" + String.join(", ", Collections.nCopies(userIds.size(), "?")) + ")",
+                    userIds.toArray());
+        }
+
+        String on(String column) {
+            return clause.formatted(column);
+        }
+
+        Object[] argsAnd(Object extra) {
+            Object[] all = new Object[args.length + 1];
+            System.arraycopy(args, 0, all, 0, args.length);
+            all[args.length] = extra;
+            return all;
+        }
+    }
+
+    private static class Accumulator {
+
+        private long totalSkills;
+        private long levelChanges;
+        private long endorsements;
+        private final Map<String, Long> byCategory = new LinkedHashMap<>();
+        private final Map<String, Long> byLevel = new LinkedHashMap<>();
+        private final Map<String, Long> creationByMonth = new LinkedHashMap<>();
+        private final Map<String, Long> targetsByStatus = new LinkedHashMap<>();
+
+        Map<String, Object> toAnalytics(Long userId) {
+            Map<String, Object> analytics = new LinkedHashMap<>();
+            analytics.put("userId", userId);
+            analytics.put("totalSkills", totalSkills);
+            analytics.put("skillsByCategory", byCategory);
+            analytics.put("skillsByLevel", byLevel);
+            analytics.put("skillCreationByMonth", creationByMonth);
+            analytics.put("skillLevelChangeCount", levelChanges);
+            analytics.put("targetsByStatus", targetsByStatus);
+            analytics.put("endorsementsReceived", endorsements);
+            return analytics;
+        }
+    }
+}
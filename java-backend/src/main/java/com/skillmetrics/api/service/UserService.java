@@ -2,10 +2,12 @@ package com.skillmetrics.api.service;
 
 import com.skillmetrics.api.dto.RegisterRequest;
 import com.skillmetrics.api.dto.UserDto;
+import com.skillmetrics.api.event.UserAccountChangedEvent;
 import com.skillmetrics.api.exception.ResourceNotFoundException;
 import com.skillmetrics.api.model.User;
 import com.skillmetrics.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +22,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
@@ -107,6 +110,8 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + id));
         
+        UserAccountChangedEvent changedEvent = new UserAccountChangedEvent(user.getId(), user.getUsername(), user.getEmail());
+        
         // If email is being changed, check if it's already in use
         if (!user.getEmail().equals(userDto.getEmail()) && 
                 userRepository.findByEmail(userDto.getEmail()).isPresent()) {
@@ -143,7 +148,12 @@ public class UserService {
         user.setBio(userDto.getBio());
         user.setProfileImageUrl(userDto.getProfileImageUrl());
         
+        if (userDto.getImmediateNotificationEmails() != null) {
+            user.setImmediateNotificationEmails(userDto.getImmediateNotificationEmails());
+        }
+        
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(changedEvent);
         
         return convertToDto(updatedUser);
     }
@@ -162,6 +172,7 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(newPassword));
         
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId(), user.getUsername(), user.getEmail()));
         
         return convertToDto(updatedUser);
     }
@@ -172,6 +183,7 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + id));
         
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId(), user.getUsername(), user.getEmail()));
     }
     
     // Helper methods
@@ -190,6 +202,7 @@ public class UserService {
                 .jobTitle(user.getJobTitle())
                 .bio(user.getBio())
                 .profileImageUrl(user.getProfileImageUrl())
+                .immediateNotificationEmails(user.getImmediateNotificationEmails())
                 .createdAt(user.getCreatedAt())
                 .updatedAt(user.getUpdatedAt())
                 .build();